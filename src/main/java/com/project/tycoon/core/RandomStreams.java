@@ -0,0 +1,82 @@
+package com.project.tycoon.core;
+
+/**
+ * Counter-based random numbers for the simulation.
+ *
+ * Every value is a pure function of (seed, stream, counter), mixed with the
+ * SplitMix64 finalizer: the counter-th output of a SplitMix64 sequence whose
+ * starting state is derived from the seed and the stream. There is no mutable
+ * state, so draws allocate nothing, never contend between threads and give
+ * the same results whatever order systems or threads run in.
+ *
+ * Entities own their stream (e.g. SkierComponent.randomSeed) and counter;
+ * draws not tied to an entity use one of the fixed stream ids below, keyed by
+ * something they already count (spawns, days).
+ */
+public final class RandomStreams {
+
+    // Streams for draws not owned by an entity
+    public static final long SPAWNER = 1; // Counter = spawn number
+    public static final long VISITORS = 2; // Counter = day number
+    public static final long FLOW = 3; // Aggregate simulation run choices, counter = draws taken
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 64 random bits for a draw; also suitable as the stream of a new entity.
+     */
+    public long hash(long stream, long counter) {
+        long state = mix(seed ^ mix(stream + GOLDEN_GAMMA));
+        return mix(state + (counter + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Uniform float in [0, 1).
+     */
+    public float nextFloat(long stream, long counter) {
+        return toFloat(hash(stream, counter));
+    }
+
+    /**
+     * Uniform double in [0, 1).
+     */
+    public double nextDouble(long stream, long counter) {
+        return (hash(stream, counter) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Uniform int in [0, bound).
+     */
+    public int nextInt(long stream, long counter, int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        return (int) (((hash(stream, counter) >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * SplitMix64 finalizer: a bijective mix of all 64 bits.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Uniform float in [0, 1) from the top 24 bits of a hash.
+     */
+    public static float toFloat(long hash) {
+        return (hash >>> 40) * 0x1.0p-24f;
+    }
+}
@@ -4,11 +4,27 @@ import java.util.*;
 
 /**
  * The ECS Engine managing entities, components, and systems.
+ *
+ * Entities can be put to sleep until a given time (e.g. skiers riding a lift,
+ * whose path is fully determined). Sleeping entities are left out of
+ * getActiveEntities(), so systems that iterate active entities skip them at no
+ * cost; a timer wheel wakes them at the end of the step containing their
+ * wake time, once the clock has reached it, and notifies the WakeListeners.
  */
 public class Engine {
     private final Set<Entity> entities = new HashSet<>();
+    private final Map<UUID, Entity> entitiesById = new HashMap<>();
     private final Map<UUID, Map<Class<? extends Component>, Component>> components = new HashMap<>();
     private final List<System> systems = new ArrayList<>();
+    private final Map<Class<? extends Component>, Long> componentVersions = new HashMap<>();
+
+    // Sleep/wake
+    private final Set<Entity> activeEntities = new HashSet<>();
+    private final Map<UUID, TimerWheel.Timer> sleeping = new HashMap<>();
+    private final TimerWheel timerWheel = new TimerWheel();
+    private final List<WakeListener> wakeListeners = new ArrayList<>();
+    private final List<TimerWheel.Timer> dueTimers = new ArrayList<>();
+    private double time = 0.0; // Simulation seconds of all completed updates
 
     /**
      * Creates and registers a new entity.
@@ -18,6 +34,8 @@ public class Engine {
     public Entity createEntity() {
         Entity entity = new Entity();
         entities.add(entity);
+        entitiesById.put(entity.getId(), entity);
+        activeEntities.add(entity);
         components.put(entity.getId(), new HashMap<>());
         return entity;
     }
@@ -33,7 +51,15 @@ public class Engine {
             throw new IllegalArgumentException("Entity does not exist in this engine.");
         }
         entities.remove(entity);
-        components.remove(entity.getId());
+        entitiesById.remove(entity.getId());
+        activeEntities.remove(entity);
+        TimerWheel.Timer timer = sleeping.remove(entity.getId());
+        if (timer != null) {
+            timer.cancelled = true;
+        }
+        for (Class<? extends Component> componentClass : components.remove(entity.getId()).keySet()) {
+            bumpComponentVersion(componentClass);
+        }
     }
 
     /**
@@ -44,6 +70,7 @@ public class Engine {
             throw new IllegalArgumentException("Entity does not exist in this engine.");
         }
         components.get(entity.getId()).put(component.getClass(), component);
+        bumpComponentVersion(component.getClass());
     }
 
     /**
@@ -59,6 +86,9 @@ public class Engine {
             throw new IllegalArgumentException("Entity does not exist in this engine.");
         }
         Component removed = components.get(entity.getId()).remove(componentClass);
+        if (removed != null) {
+            bumpComponentVersion(componentClass);
+        }
         return componentClass.cast(removed);
     }
 
@@ -81,6 +111,67 @@ public class Engine {
         return components.get(entity.getId()).containsKey(componentClass);
     }
 
+    /**
+     * Returns a counter that changes whenever a component of the given type is
+     * added to or removed from any entity. Lets systems cache derived data
+     * (e.g. lift topology) and rebuild only when that component set changes.
+     */
+    public long getComponentVersion(Class<? extends Component> componentClass) {
+        return componentVersions.getOrDefault(componentClass, 0L);
+    }
+
+    private void bumpComponentVersion(Class<? extends Component> componentClass) {
+        componentVersions.merge(componentClass, 1L, Long::sum);
+    }
+
+    /**
+     * Simulation time in seconds: the sum of all dt passed to update().
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Park an entity until a wake time. It disappears from getActiveEntities()
+     * until then; WakeListeners are notified when it wakes.
+     * Sleeping again replaces the previous wake time.
+     *
+     * @throws IllegalArgumentException if the entity does not exist.
+     */
+    public void sleep(Entity entity, double wakeTime) {
+        if (!entities.contains(entity)) {
+            throw new IllegalArgumentException("Entity does not exist in this engine.");
+        }
+        TimerWheel.Timer previous = sleeping.put(entity.getId(), timerWheel.schedule(entity, wakeTime));
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        activeEntities.remove(entity);
+    }
+
+    /**
+     * Wake a sleeping entity early. Listeners are not notified.
+     *
+     * @return true if the entity was sleeping.
+     */
+    public boolean wake(Entity entity) {
+        TimerWheel.Timer timer = sleeping.remove(entity.getId());
+        if (timer == null) {
+            return false;
+        }
+        timer.cancelled = true;
+        activeEntities.add(entity);
+        return true;
+    }
+
+    public boolean isSleeping(Entity entity) {
+        return sleeping.containsKey(entity.getId());
+    }
+
+    public void addWakeListener(WakeListener listener) {
+        wakeListeners.add(listener);
+    }
+
     /**
      * Registers a system to be updated by the engine.
      */
@@ -94,9 +185,44 @@ public class Engine {
      * @param dt Time delta.
      */
     public void update(double dt) {
+        double endTime = time + dt;
         for (System system : systems) {
             system.update(dt);
         }
+        time = endTime;
+
+        // Wake after the step, so nobody acts before their wake time
+        wakeDue(endTime);
+    }
+
+    /**
+     * Advance the clock without running systems, e.g. while an aggregate
+     * simulation stands in for them. Due sleepers still wake.
+     */
+    public void advanceTime(double dt) {
+        time += dt;
+        wakeDue(time);
+    }
+
+    private void wakeDue(double endTime) {
+        dueTimers.clear();
+        timerWheel.advance(endTime, dueTimers);
+        for (TimerWheel.Timer timer : dueTimers) {
+            sleeping.remove(timer.entity.getId());
+            activeEntities.add(timer.entity);
+            for (WakeListener listener : wakeListeners) {
+                listener.onWake(timer.entity, timer.wakeTime);
+            }
+        }
+    }
+
+    /**
+     * Looks up an entity by id in O(1).
+     *
+     * @return The entity, or null if it does not exist (e.g. was removed).
+     */
+    public Entity getEntity(UUID id) {
+        return id != null ? entitiesById.get(id) : null;
     }
 
     /**
@@ -105,4 +231,12 @@ public class Engine {
     public Set<Entity> getEntities() {
         return Collections.unmodifiableSet(entities);
     }
+
+    /**
+     * Returns a view of all entities that are not sleeping. Per-tick systems
+     * should iterate this instead of getEntities().
+     */
+    public Set<Entity> getActiveEntities() {
+        return Collections.unmodifiableSet(activeEntities);
+    }
 }
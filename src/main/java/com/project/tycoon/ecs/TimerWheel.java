@@ -0,0 +1,93 @@
+package com.project.tycoon.ecs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timer wheel for entity wake-ups.
+ *
+ * Time is cut into ticks of RESOLUTION seconds and each timer lives in the
+ * slot (tick mod SLOTS). Scheduling and cancelling are O(1); advancing only
+ * visits the slots the clock passed over, and timers more than one
+ * revolution ahead simply stay put until their tick comes round.
+ */
+final class TimerWheel {
+
+    private static final int SLOTS = 256; // Power of two
+    private static final double RESOLUTION = 0.25; // Seconds per tick
+
+    static final class Timer {
+        final Entity entity;
+        final double wakeTime;
+        final long tick;
+        final long sequence;
+        boolean cancelled;
+
+        Timer(Entity entity, double wakeTime, long tick, long sequence) {
+            this.entity = entity;
+            this.wakeTime = wakeTime;
+            this.tick = tick;
+            this.sequence = sequence;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final List<Timer>[] slots = new List[SLOTS];
+    private long cursor = 0; // Lowest tick that may still hold due timers
+    private long sequence = 0;
+
+    TimerWheel() {
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new ArrayList<>();
+        }
+    }
+
+    Timer schedule(Entity entity, double wakeTime) {
+        long tick = Math.max(cursor, (long) Math.floor(wakeTime / RESOLUTION));
+        Timer timer = new Timer(entity, wakeTime, tick, sequence++);
+        slots[(int) (tick & (SLOTS - 1))].add(timer);
+        return timer;
+    }
+
+    /**
+     * Remove every timer due at or before a time and add it to out, ordered by
+     * wake time (then scheduling order). Cancelled timers are dropped.
+     */
+    void advance(double time, List<Timer> out) {
+        long endTick = (long) Math.floor(time / RESOLUTION);
+        if (endTick < cursor) {
+            return;
+        }
+
+        int start = out.size();
+        // Each slot only needs one visit, even if the clock jumped several revolutions
+        long lastTick = Math.min(endTick, cursor + SLOTS - 1);
+        for (long t = cursor; t <= lastTick; t++) {
+            List<Timer> slot = slots[(int) (t & (SLOTS - 1))];
+            for (int i = slot.size() - 1; i >= 0; i--) {
+                Timer timer = slot.get(i);
+                if (timer.cancelled) {
+                    removeAt(slot, i);
+                } else if (timer.tick <= endTick && timer.wakeTime <= time) {
+                    out.add(timer);
+                    removeAt(slot, i);
+                }
+            }
+        }
+
+        // Timers in the end tick but after 'time' must be seen again next call
+        cursor = endTick;
+
+        out.subList(start, out.size()).sort((a, b) -> {
+            int byTime = Double.compare(a.wakeTime, b.wakeTime);
+            return byTime != 0 ? byTime : Long.compare(a.sequence, b.sequence);
+        });
+    }
+
+    private static void removeAt(List<Timer> slot, int i) {
+        // Order within a slot doesn't matter; swap-remove keeps it O(1)
+        int last = slot.size() - 1;
+        slot.set(i, slot.get(last));
+        slot.remove(last);
+    }
+}
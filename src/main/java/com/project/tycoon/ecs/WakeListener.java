@@ -0,0 +1,12 @@
+package com.project.tycoon.ecs;
+
+/**
+ * Notified when a sleeping entity's wake time is reached (see Engine.sleep()).
+ */
+public interface WakeListener {
+    /**
+     * @param entity   The entity that just became active again.
+     * @param wakeTime The time it was scheduled to wake (may be slightly before Engine.getTime()).
+     */
+    void onWake(Entity entity, double wakeTime);
+}
@@ -11,6 +11,7 @@ public class LiftComponent implements Component {
     public LiftType type;
     public float speed;
     public int capacity; // Max riders simultaneously
+    public int seatsPerCarrier; // Riders per T-bar, chair or cabin
     public float maintenanceCostPerSec; // Operational cost per second
     public UUID nextPylonId; // For linked list of pylons
 
@@ -22,16 +23,19 @@ public class LiftComponent implements Component {
             case TBAR:
                 this.speed = 2.0f;
                 this.capacity = 8;
+                this.seatsPerCarrier = 2;
                 this.maintenanceCostPerSec = 0.05f;
                 break;
             case CHAIRLIFT:
                 this.speed = 2.5f;
                 this.capacity = 12;
+                this.seatsPerCarrier = 4;
                 this.maintenanceCostPerSec = 0.15f;
                 break;
             case GONDOLA:
                 this.speed = 3.0f;
                 this.capacity = 20;
+                this.seatsPerCarrier = 8;
                 this.maintenanceCostPerSec = 0.30f;
                 break;
         }
@@ -0,0 +1,28 @@
+package com.project.tycoon.ecs.components;
+
+import com.project.tycoon.ecs.Component;
+import com.project.tycoon.ecs.systems.lift.LiftPath;
+
+/**
+ * Attached to a skier while riding a lift. The ride is fully determined by
+ * the path, board time and speed, so the rider sleeps in the Engine and its
+ * position is only computed when someone needs it (e.g. the renderer).
+ */
+public class LiftRideComponent implements Component {
+    public final LiftPath path;
+    public final double boardTime; // Engine time when the skier boarded
+    public final float speed; // Tiles per second along the path
+
+    public LiftRideComponent(LiftPath path, double boardTime, float speed) {
+        this.path = path;
+        this.boardTime = boardTime;
+        this.speed = speed;
+    }
+
+    /**
+     * Position on the lift at a given Engine time.
+     */
+    public void positionAt(double time, TransformComponent out) {
+        path.positionAt((float) ((time - boardTime) * speed), out);
+    }
+}
@@ -5,6 +5,9 @@ import com.project.tycoon.world.model.TrailDifficulty;
 import java.util.UUID;
 
 public class SkierComponent implements Component {
+    public static final int NO_SEEK_TARGET = -1;
+    public static final int SEEK_DOWNHILL = -2; // No trail in range: head for the base
+
     public enum State {
         WAITING, // At base, looking for lift
         QUEUED, // In line for lift
@@ -13,26 +16,40 @@ public class SkierComponent implements Component {
         FINISHED // Completed run, ready to despawn
     }
 
+    public enum Lod {
+        FULL, // Near the camera: carving and slope physics every tick
+        MID, // Around the view: follows the flow field at a reduced tick rate
+        FAR // Off-screen: hops along the flow field, asleep in between
+    }
+
     public State state;
     public SkillLevel skillLevel; // Beginner, Intermediate, Advanced, Expert
     public UUID targetLiftId; // Which lift to ride
-    public int queuePosition; // Position in lift queue
+    public long queueTicket; // Ticket in the lift queue (-1 = not queued), see LiftSystem.getQueuePosition()
+    public double queuedAt; // Engine time the skier joined the lift queue
     public float satisfaction; // 0-100 scale, determines if skier leaves early
     public TrailDifficulty targetTrailDifficulty; // What difficulty they're seeking this run
+    public int currentTrailId; // Registered trail the skier is on (0 = none), see TrailRegistry
+    public int lastRunTrailId; // Trail whose run was last counted this descent (0 = none)
+    public int seekTile; // Trail tile (z * width + x) to head for when off trail, or NO_SEEK_TARGET / SEEK_DOWNHILL
+    public int pendingDecisions; // SkierDecisionScheduler kinds requested but not yet served
+    public Lod lod; // Simulation detail tier, see SkierLod
 
     // Carving/turning state for realistic skiing
     public float carvingDirection = 0.0f; // -1.0 (left turn) to +1.0 (right turn)
     public float carvingPhase = 0.0f; // 0.0 to 2π, controls turn cycle
     public float carvingSpeed = 1.0f; // How fast they complete turns (skill-based)
-    public long randomSeed; // For consistent but varied behavior
+    public long randomSeed; // The skier's RandomStreams stream, set at spawn
+    public int randomDraws; // Counter for the next draw from randomSeed
 
     public SkierComponent() {
         this.state = State.WAITING;
         this.skillLevel = SkillLevel.INTERMEDIATE; // Default, overridden at spawn
         this.targetLiftId = null;
-        this.queuePosition = -1;
+        this.queueTicket = -1;
         this.satisfaction = 50.0f; // Start neutral
         this.targetTrailDifficulty = null; // Chosen when looking for trails
-        this.randomSeed = System.nanoTime(); // Unique per skier
+        this.seekTile = NO_SEEK_TARGET;
+        this.lod = Lod.FULL;
     }
 }
@@ -1,7 +1,5 @@
 package com.project.tycoon.ecs.components;
 
-import java.util.Random;
-
 /**
  * Skier skill level determining trail preferences and behavior.
  * Distribution: 20% Beginner, 30% Intermediate, 30% Advanced, 20% Expert
@@ -25,11 +23,10 @@ public enum SkillLevel {
     /**
      * Generate a random skill level based on realistic distribution.
      * 
-     * @param rand Random number generator
+     * @param r Uniform random value in [0, 1)
      * @return Skill level weighted by spawn probability
      */
-    public static SkillLevel randomSkill(Random rand) {
-        double r = rand.nextDouble();
+    public static SkillLevel randomSkill(double r) {
 
         // Cumulative probability distribution
         if (r < 0.20)
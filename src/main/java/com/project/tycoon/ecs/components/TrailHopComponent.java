@@ -0,0 +1,39 @@
+package com.project.tycoon.ecs.components;
+
+import com.project.tycoon.ecs.Component;
+
+/**
+ * Attached to a FAR (off-screen) skier while it hops along the trail flow
+ * field. The hop is a straight line walked at a fixed speed, so the skier
+ * sleeps in the Engine until it lands and its position in between is only
+ * computed when someone needs it.
+ */
+public class TrailHopComponent implements Component {
+    public final float fromX, fromY, fromZ;
+    public final float toX, toY, toZ;
+    public final double startTime; // Engine time the hop began
+    public final double endTime; // Engine time the skier lands
+
+    public TrailHopComponent(float fromX, float fromY, float fromZ, float toX, float toY, float toZ,
+            double startTime, double endTime) {
+        this.fromX = fromX;
+        this.fromY = fromY;
+        this.fromZ = fromZ;
+        this.toX = toX;
+        this.toY = toY;
+        this.toZ = toZ;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    /**
+     * Position along the hop at a given Engine time.
+     */
+    public void positionAt(double time, TransformComponent out) {
+        double span = endTime - startTime;
+        float t = span > 0 ? (float) Math.max(0.0, Math.min(1.0, (time - startTime) / span)) : 1f;
+        out.x = fromX + (toX - fromX) * t;
+        out.y = fromY + (toY - fromY) * t;
+        out.z = fromZ + (toZ - fromZ) * t;
+    }
+}
@@ -25,7 +25,7 @@ public class PhysicsSystem implements System {
 
     @Override
     public void update(double dt) {
-        for (Entity entity : engine.getEntities()) {
+        for (Entity entity : engine.getActiveEntities()) {
             if (engine.hasComponent(entity, TransformComponent.class) &&
                     engine.hasComponent(entity, VelocityComponent.class)) {
 
@@ -0,0 +1,119 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import com.project.tycoon.world.model.DirtyRegion;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cached trail tiles where riders get off at one lift's top.
+ *
+ * Keeps the few nearest trail tiles within SEARCH_RADIUS of the top, overall
+ * and per difficulty, and hands them out round-robin so riders don't all land
+ * on one tile. Rebuilt only when a trail change from the WorldMap change log
+ * touches the search area (or the lift top moves).
+ */
+final class DropOffPoints {
+
+    static final int SEARCH_RADIUS = 15;
+    private static final int MAX_CANDIDATES = 4;
+    private static final TrailDifficulty[] DIFFICULTIES = TrailDifficulty.values();
+
+    private final WorldMap worldMap;
+    private int topX;
+    private int topZ;
+    private long builtVersion = -1;
+
+    // Packed tile indices (z * width + x), nearest first; index 0 = any difficulty
+    private final int[][] candidates = new int[DIFFICULTIES.length + 1][];
+    private final int[] nextCandidate = new int[DIFFICULTIES.length + 1];
+
+    DropOffPoints(WorldMap worldMap) {
+        this.worldMap = worldMap;
+    }
+
+    /**
+     * Next drop-off tile for a rider, preferring the given difficulty.
+     *
+     * @param topX      Tile x of the lift top
+     * @param topZ      Tile z of the lift top
+     * @param preferred Difficulty the skier is after, or null for any
+     * @return Packed tile index (z * width + x), or -1 if there is no trail nearby
+     */
+    int next(int topX, int topZ, TrailDifficulty preferred) {
+        refresh(topX, topZ);
+
+        int list = 0;
+        if (preferred != null && candidates[preferred.ordinal() + 1].length > 0) {
+            list = preferred.ordinal() + 1;
+        }
+        int[] tiles = candidates[list];
+        if (tiles.length == 0) {
+            return -1;
+        }
+        int tile = tiles[nextCandidate[list] % tiles.length];
+        nextCandidate[list]++;
+        return tile;
+    }
+
+    private void refresh(int x, int z) {
+        long version = worldMap.getVersion();
+        boolean stale = builtVersion < 0 || x != topX || z != topZ;
+        if (!stale) {
+            DirtyRegion changed = worldMap.getChangesSince(builtVersion, WorldMap.CHANGE_TRAIL);
+            stale = changed != null && changed.intersects(
+                    topX - SEARCH_RADIUS, topZ - SEARCH_RADIUS, topX + SEARCH_RADIUS, topZ + SEARCH_RADIUS);
+        }
+        builtVersion = version;
+        if (stale) {
+            topX = x;
+            topZ = z;
+            rebuild();
+        }
+    }
+
+    /**
+     * Collect the nearest trail tiles in expanding square rings around the top.
+     */
+    private void rebuild() {
+        List<List<Integer>> found = new ArrayList<>();
+        for (int i = 0; i < candidates.length; i++) {
+            found.add(new ArrayList<>());
+            nextCandidate[i] = 0;
+        }
+
+        for (int radius = 0; radius <= SEARCH_RADIUS; radius++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                for (int dx = -radius; dx <= radius; dx++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) != radius) {
+                        continue; // Inner rings were already visited
+                    }
+                    int x = topX + dx;
+                    int z = topZ + dz;
+                    if (!worldMap.isValid(x, z) || !worldMap.isTrail(x, z)) {
+                        continue;
+                    }
+                    int tile = z * worldMap.getWidth() + x;
+                    addCandidate(found.get(0), tile);
+                    addCandidate(found.get(worldMap.getTrailDifficulty(x, z).ordinal() + 1), tile);
+                }
+            }
+        }
+
+        for (int i = 0; i < candidates.length; i++) {
+            List<Integer> tiles = found.get(i);
+            candidates[i] = new int[tiles.size()];
+            for (int j = 0; j < tiles.size(); j++) {
+                candidates[i][j] = tiles.get(j);
+            }
+        }
+    }
+
+    private static void addCandidate(List<Integer> list, int tile) {
+        if (list.size() < MAX_CANDIDATES) {
+            list.add(tile);
+        }
+    }
+}
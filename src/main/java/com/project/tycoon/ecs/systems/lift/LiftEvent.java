@@ -0,0 +1,26 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import java.util.UUID;
+
+/**
+ * A scheduled carrier departure from a lift's base. Ordered by time, then by
+ * scheduling order so simultaneous departures always resolve the same way.
+ */
+final class LiftEvent implements Comparable<LiftEvent> {
+
+    final double time;
+    final long sequence;
+    final UUID liftId;
+
+    LiftEvent(double time, long sequence, UUID liftId) {
+        this.time = time;
+        this.sequence = sequence;
+        this.liftId = liftId;
+    }
+
+    @Override
+    public int compareTo(LiftEvent other) {
+        int byTime = Double.compare(time, other.time);
+        return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+    }
+}
@@ -0,0 +1,97 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import com.project.tycoon.ecs.components.TransformComponent;
+
+/**
+ * A lift's cable line as a polyline through its pylons, parameterized by
+ * distance from the base.
+ *
+ * Cumulative segment lengths are computed once when the path is built, so a
+ * rider only has to carry a scalar progress: advancing is an addition and the
+ * world position comes from interpolating one segment.
+ */
+public class LiftPath {
+
+    private final float[] xs;
+    private final float[] ys;
+    private final float[] zs;
+    private final float[] cumulative; // Distance from the base to each point
+
+    /**
+     * @param xs Pylon x positions from base to top (arrays of equal, non-zero length)
+     */
+    public LiftPath(float[] xs, float[] ys, float[] zs) {
+        if (xs.length == 0 || xs.length != ys.length || xs.length != zs.length) {
+            throw new IllegalArgumentException("Lift path needs matching, non-empty point arrays.");
+        }
+        this.xs = xs.clone();
+        this.ys = ys.clone();
+        this.zs = zs.clone();
+        this.cumulative = new float[xs.length];
+        for (int i = 1; i < xs.length; i++) {
+            float dx = xs[i] - xs[i - 1];
+            float dy = ys[i] - ys[i - 1];
+            float dz = zs[i] - zs[i - 1];
+            cumulative[i] = cumulative[i - 1] + (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+    }
+
+    /**
+     * Total cable length from base to top.
+     */
+    public float getLength() {
+        return cumulative[cumulative.length - 1];
+    }
+
+    public int getPointCount() {
+        return xs.length;
+    }
+
+    /**
+     * Index of the segment (start point) containing a distance along the path.
+     */
+    public int segmentAt(float distance) {
+        int lo = 0;
+        int hi = cumulative.length - 2;
+        if (hi < 0) {
+            return 0;
+        }
+        // Last segment whose start is at or before the distance
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (cumulative[mid] <= distance) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * World position at a distance along the path (clamped to base and top).
+     */
+    public void positionAt(float distance, TransformComponent out) {
+        if (xs.length == 1 || distance <= 0) {
+            set(out, 0);
+            return;
+        }
+        if (distance >= getLength()) {
+            set(out, xs.length - 1);
+            return;
+        }
+
+        int i = segmentAt(distance);
+        float segmentLength = cumulative[i + 1] - cumulative[i];
+        float t = segmentLength > 0 ? (distance - cumulative[i]) / segmentLength : 0;
+        out.x = xs[i] + (xs[i + 1] - xs[i]) * t;
+        out.y = ys[i] + (ys[i + 1] - ys[i]) * t;
+        out.z = zs[i] + (zs[i + 1] - zs[i]) * t;
+    }
+
+    private void set(TransformComponent out, int point) {
+        out.x = xs[point];
+        out.y = ys[point];
+        out.z = zs[point];
+    }
+}
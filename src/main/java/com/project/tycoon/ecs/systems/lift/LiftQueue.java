@@ -0,0 +1,107 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * FIFO queue of skiers waiting for one lift.
+ *
+ * Backed by a growable ring buffer plus a membership set, so enqueue, poll
+ * and contains are all O(1). Every enqueued skier gets a ticket number that
+ * increases monotonically; a skier's position in line is its ticket minus
+ * the ticket at the head, so nothing has to be rewritten when the front
+ * skier boards.
+ */
+public class LiftQueue {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private UUID[] slots = new UUID[INITIAL_CAPACITY];
+    private int head = 0;
+    private int size = 0;
+    private long headTicket = 0; // Ticket of the skier at slots[head]
+    private final Set<UUID> members = new HashSet<>();
+
+    /**
+     * Add a skier to the back of the queue.
+     *
+     * @return The skier's ticket, or -1 if they are already queued
+     */
+    public long enqueue(UUID skierId) {
+        if (!members.add(skierId)) {
+            return -1;
+        }
+        if (size == slots.length) {
+            grow();
+        }
+        slots[(head + size) & (slots.length - 1)] = skierId;
+        size++;
+        return headTicket + size - 1;
+    }
+
+    /**
+     * Remove and return the skier at the front, or null if the queue is empty.
+     */
+    public UUID poll() {
+        if (size == 0) {
+            return null;
+        }
+        UUID skierId = slots[head];
+        slots[head] = null;
+        head = (head + 1) & (slots.length - 1);
+        size--;
+        headTicket++;
+        members.remove(skierId);
+        return skierId;
+    }
+
+    /**
+     * The skier at the front, or null if the queue is empty.
+     */
+    public UUID peek() {
+        return size == 0 ? null : slots[head];
+    }
+
+    public boolean contains(UUID skierId) {
+        return members.contains(skierId);
+    }
+
+    /**
+     * Remove everyone. Tickets keep counting up from where they were.
+     */
+    public void clear() {
+        headTicket += size;
+        java.util.Arrays.fill(slots, null);
+        head = 0;
+        size = 0;
+        members.clear();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Position in line for a ticket (0 = next to board), or -1 if that skier
+     * has already left the queue.
+     */
+    public int positionOf(long ticket) {
+        long position = ticket - headTicket;
+        return (ticket < 0 || position < 0 || position >= size) ? -1 : (int) position;
+    }
+
+    private void grow() {
+        // Capacity stays a power of two so indices wrap with a mask
+        UUID[] larger = new UUID[slots.length * 2];
+        for (int i = 0; i < size; i++) {
+            larger[i] = slots[(head + i) & (slots.length - 1)];
+        }
+        slots = larger;
+        head = 0;
+    }
+}
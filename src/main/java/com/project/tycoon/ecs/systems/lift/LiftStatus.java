@@ -0,0 +1,120 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import com.project.tycoon.ecs.components.LiftComponent;
+import com.project.tycoon.world.model.WorldMap;
+
+import java.util.UUID;
+
+/**
+ * Live state of one lift: riders on board, skiers in line and free seats.
+ *
+ * Maintained incrementally by LiftSystem on queue, board and release, so every
+ * getter is O(1). Read-only outside the lift package.
+ */
+public class LiftStatus {
+
+    static final float MIN_DEPARTURE_INTERVAL = 1.0f; // Seconds; keeps very short lifts sane
+
+    private final UUID liftId;
+    private final LiftComponent lift;
+    final LiftQueue queue = new LiftQueue();
+    int riders = 0;
+    int flowQueue = 0; // Skiers in line as counts (flow mode)
+    LiftPath path; // Built by LiftSystem, rebuilt when the lift set changes
+    final DropOffPoints dropOffs;
+    final LiftTelemetry telemetry = new LiftTelemetry();
+
+    LiftStatus(UUID liftId, LiftComponent lift, WorldMap worldMap) {
+        this.liftId = liftId;
+        this.lift = lift;
+        this.dropOffs = new DropOffPoints(worldMap);
+    }
+
+    /**
+     * Entity id of the lift's base pylon.
+     */
+    public UUID getLiftId() {
+        return liftId;
+    }
+
+    public LiftComponent.LiftType getType() {
+        return lift.type;
+    }
+
+    /**
+     * Cable speed in tiles per second.
+     */
+    public float getSpeed() {
+        return lift.speed;
+    }
+
+    /**
+     * Cable line from base to top.
+     */
+    public LiftPath getPath() {
+        return path;
+    }
+
+    /**
+     * Seconds from base to top.
+     */
+    public float getRideTime() {
+        return lift.speed > 0 && path != null ? path.getLength() / lift.speed : 0f;
+    }
+
+    public int getSeatsPerCarrier() {
+        return Math.max(1, lift.seatsPerCarrier);
+    }
+
+    /**
+     * Carriers on the way up: enough to carry the lift's full capacity.
+     */
+    public int getCarrierCount() {
+        return Math.max(1, lift.capacity / getSeatsPerCarrier());
+    }
+
+    /**
+     * Seconds between carrier departures. Carriers are evenly spaced along the
+     * cable, so one leaves the base every rideTime / carrierCount seconds.
+     */
+    public float getDepartureInterval() {
+        return Math.max(MIN_DEPARTURE_INTERVAL, getRideTime() / getCarrierCount());
+    }
+
+    /**
+     * Maximum riders per hour with every seat filled.
+     */
+    public float getThroughputPerHour() {
+        return getSeatsPerCarrier() * 3600f / getDepartureInterval();
+    }
+
+    /**
+     * Boardings, queue length history and wait times.
+     */
+    public LiftTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    public int getRiders() {
+        return riders;
+    }
+
+    /**
+     * Skiers in line, whether queued individually or as counts in flow mode.
+     */
+    public int getQueueLength() {
+        return queue.size() + flowQueue;
+    }
+
+    public int getCapacity() {
+        return lift.capacity;
+    }
+
+    public int getAvailableCapacity() {
+        return Math.max(0, lift.capacity - riders);
+    }
+
+    public boolean isFull() {
+        return riders >= lift.capacity;
+    }
+}
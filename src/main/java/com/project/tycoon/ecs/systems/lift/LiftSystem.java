@@ -4,12 +4,12 @@ import com.project.tycoon.ecs.Engine;
 import com.project.tycoon.ecs.Entity;
 import com.project.tycoon.ecs.System;
 import com.project.tycoon.ecs.components.LiftComponent;
+import com.project.tycoon.ecs.components.LiftRideComponent;
 import com.project.tycoon.ecs.components.SkierComponent;
 import com.project.tycoon.ecs.components.TransformComponent;
 import com.project.tycoon.ecs.components.VelocityComponent;
 import com.project.tycoon.economy.EconomyManager;
-import com.project.tycoon.ecs.systems.skier.LiftPlanner;
-import com.project.tycoon.world.SnapPointManager;
+import com.project.tycoon.ecs.systems.skier.SkierDecisionScheduler;
 import com.project.tycoon.world.model.WorldMap;
 
 import java.util.*;
@@ -17,46 +17,68 @@ import java.util.*;
 /**
  * Manages lift operations: queuing, boarding, transport, and release.
  * Handles the complete lift lifecycle for skiers.
+ *
+ * Boarding is driven by carrier departures scheduled on a priority queue in
+ * Engine time. Each lift type has a number of seats per carrier (T-bar, chair
+ * or cabin); carriers are spaced so the cable holds the lift's capacity, and
+ * each departure boards a batch of up to seatsPerCarrier queued skiers. A
+ * large time step resolves all departures inside it in order, so lift
+ * throughput does not depend on the frame rate or time scale.
+ *
+ * A boarded rider gets a LiftRideComponent and is put to sleep in the Engine
+ * until boardTime + pathLength / speed, so riders cost nothing per tick. When
+ * the Engine wakes them (at the end of the step containing their arrival),
+ * they are released at the lift top.
+ *
+ * Each lift's LiftTelemetry records boardings, queue lengths and wait times
+ * as they happen; see LiftStatus.getTelemetry().
  */
 public class LiftSystem implements System {
 
     private final Engine engine;
     private final EconomyManager economy;
-    private final LiftPlanner liftPlanner;
+    private final SkierDecisionScheduler decisions;
     private final WorldMap worldMap;
 
-    // Queue per lift: Map<liftBaseEntityId, List<skierEntityId>>
-    private final Map<UUID, List<UUID>> liftQueues = new HashMap<>();
+    // Queue and rider count per lift base entity id
+    private final Map<UUID, LiftStatus> liftStatuses = new HashMap<>();
 
-    // Boarding timer per lift
-    private final Map<UUID, Float> boardingTimers = new HashMap<>();
-    private static final float BOARDING_INTERVAL = 2.0f;
+    // Carrier departures, in time order
+    private final PriorityQueue<LiftEvent> events = new PriorityQueue<>();
+    private long eventSequence = 0;
+    private double clock = 0.0; // Engine time of the event being processed
 
     // Detection radius for lift base (increased for better mid-mountain boarding)
     private static final float QUEUE_DETECTION_RADIUS = 15.0f;
 
-    public LiftSystem(Engine engine, EconomyManager economy, SnapPointManager snapPointManager, WorldMap worldMap) {
+    // Lift bases and paths are rebuilt when lift components are added or removed
+    private final Map<UUID, Entity> liftBases = new HashMap<>();
+    private final Set<UUID> hasIncomingLink = new HashSet<>(); // Scratch for findLiftBases()
+    private long basesLiftVersion = -1;
+    private long builtLiftVersion = -1;
+    private final TransformComponent pathPoint = new TransformComponent(0, 0, 0); // Scratch
+
+    public LiftSystem(Engine engine, EconomyManager economy, SkierDecisionScheduler decisions, WorldMap worldMap) {
         this.engine = engine;
         this.economy = economy;
         this.worldMap = worldMap;
-        this.liftPlanner = new LiftPlanner(engine, snapPointManager, worldMap);
+        this.decisions = decisions;
+        engine.addWakeListener((entity, wakeTime) -> arriveAtTop(entity));
     }
 
     @Override
     public void update(double dt) {
+        clock = engine.getTime();
+        double endTime = clock + dt;
+
         // 1. Detect skiers near lift bases, add to queues
         detectAndQueueSkiers();
 
-        // 2. Board skiers from front of queue
-        boardSkiers((float) dt);
-
-        // 3. Transport skiers along lift path
-        transportSkiers((float) dt);
+        // 2. Resolve every carrier departure (boarding) in this step.
+        // Riders are asleep until they arrive; see arriveAtTop().
+        runEvents(endTime);
 
-        // 4. Release skiers at top
-        releaseSkiers();
-
-        // 5. Deduct maintenance costs
+        // 3. Deduct maintenance costs
         deductMaintenanceCosts((float) dt);
     }
 
@@ -64,10 +86,12 @@ public class LiftSystem implements System {
      * Detect skiers in WAITING state near lift bases and add them to queues.
      */
     private void detectAndQueueSkiers() {
-        // Find all lift base entities
-        Map<UUID, Entity> liftBases = findLiftBases();
+        Map<UUID, Entity> liftBases = updateLifts();
+        for (LiftStatus status : liftStatuses.values()) {
+            status.telemetry.recordQueueLength(clock, status.queue.size());
+        }
 
-        for (Entity skierEntity : engine.getEntities()) {
+        for (Entity skierEntity : engine.getActiveEntities()) {
             if (!engine.hasComponent(skierEntity, SkierComponent.class)) {
                 continue;
             }
@@ -87,16 +111,16 @@ public class LiftSystem implements System {
                 if (nearestLift != null) {
                     UUID liftId = nearestLift.getId();
 
-                    // Initialize queue for this lift if needed
-                    liftQueues.putIfAbsent(liftId, new ArrayList<>());
-                    List<UUID> queue = liftQueues.get(liftId);
+                    LiftStatus status = statusFor(nearestLift);
 
                     // Add to queue if not already in it
-                    if (!queue.contains(skierEntity.getId())) {
-                        queue.add(skierEntity.getId());
+                    long ticket = status.queue.enqueue(skierEntity.getId());
+                    if (ticket >= 0) {
                         skier.state = SkierComponent.State.QUEUED;
-                        skier.queuePosition = queue.size() - 1;
+                        skier.queueTicket = ticket;
+                        skier.queuedAt = clock;
                         skier.targetLiftId = liftId;
+                        status.telemetry.recordQueueLength(clock, status.queue.size());
 
                         // Stop movement while in queue
                         VelocityComponent vel = engine.getComponent(skierEntity, VelocityComponent.class);
@@ -111,219 +135,310 @@ public class LiftSystem implements System {
     }
 
     /**
-     * Board skiers from the front of each queue onto their lifts.
+     * Bring lift statuses and cable paths up to date with the lift entities
+     * without moving any skiers (used by the aggregate simulation mode).
      */
-    private void boardSkiers(float dt) {
-        for (Map.Entry<UUID, List<UUID>> entry : liftQueues.entrySet()) {
-            UUID liftId = entry.getKey();
-            List<UUID> queue = entry.getValue();
+    public void refreshLifts() {
+        updateLifts();
+    }
 
-            if (queue.isEmpty()) {
-                continue;
+    /**
+     * Find all lift bases; create statuses for new lifts, drop removed ones and
+     * rebuild paths when lift components changed.
+     */
+    private Map<UUID, Entity> updateLifts() {
+        Map<UUID, Entity> liftBases = liftBases();
+        long liftVersion = engine.getComponentVersion(LiftComponent.class);
+        boolean rebuildPaths = liftVersion != builtLiftVersion;
+        builtLiftVersion = liftVersion;
+        if (rebuildPaths) {
+            liftStatuses.keySet().retainAll(liftBases.keySet()); // Removed lifts stop departing
+        }
+        for (Entity liftBase : liftBases.values()) {
+            LiftStatus status = statusFor(liftBase);
+            if (rebuildPaths) {
+                status.path = buildPath(liftBase);
             }
+        }
+        return liftBases;
+    }
 
-            // Check capacity before boarding
-            Entity liftBase = findEntityById(liftId);
-            if (liftBase == null)
-                continue;
+    /**
+     * Empty every queue and forget all riders, e.g. when skier entities are
+     * removed wholesale on a switch to the aggregate simulation mode.
+     */
+    public void clearSkiers() {
+        for (LiftStatus status : liftStatuses.values()) {
+            status.queue.clear();
+            status.riders = 0;
+            status.flowQueue = 0;
+        }
+    }
 
-            LiftComponent liftComp = engine.getComponent(liftBase, LiftComponent.class);
-            if (liftComp == null)
-                continue;
+    // ==== FLOW MODE ====
+    // The aggregate simulation moves counts instead of entities; these keep
+    // lift statuses and telemetry reading the same as in agent mode.
 
-            int currentRiders = countRidersOnLift(liftId);
-            if (currentRiders >= liftComp.capacity) {
-                // Lift is at capacity, cannot board more
-                continue;
-            }
+    /**
+     * The number of skiers counted in line at a lift changed.
+     */
+    public void recordFlowQueue(LiftStatus status, double time, int length) {
+        status.flowQueue = length;
+        status.telemetry.recordQueueLength(time, length);
+    }
 
-            // Update boarding timer
-            float timer = boardingTimers.getOrDefault(liftId, 0f);
-            timer += dt;
+    /**
+     * A counted skier boarded after waiting in line.
+     */
+    public void recordFlowBoarding(LiftStatus status, double time, float waitSeconds) {
+        status.riders++;
+        status.telemetry.recordBoarding(time, waitSeconds);
+    }
 
-            if (timer >= BOARDING_INTERVAL) {
-                // Board the front skier
-                UUID skierId = queue.remove(0);
-                Entity skierEntity = findEntityById(skierId);
+    /**
+     * A counted rider got off at the top.
+     */
+    public void recordFlowArrival(LiftStatus status) {
+        status.riders = Math.max(0, status.riders - 1);
+    }
 
-                if (skierEntity != null && engine.hasComponent(skierEntity, SkierComponent.class)) {
-                    SkierComponent skier = engine.getComponent(skierEntity, SkierComponent.class);
-                    TransformComponent skierPos = engine.getComponent(skierEntity, TransformComponent.class);
+    /**
+     * Process scheduled events up to (and including) a time.
+     */
+    private void runEvents(double endTime) {
+        while (!events.isEmpty() && events.peek().time <= endTime) {
+            LiftEvent event = events.poll();
+            clock = event.time;
+            departCarrier(event);
+        }
+        clock = endTime;
+    }
 
-                    if (liftBase != null) {
-                        TransformComponent liftPos = engine.getComponent(liftBase, TransformComponent.class);
+    private void scheduleDeparture(double time, UUID liftId) {
+        events.add(new LiftEvent(time, eventSequence++, liftId));
+    }
 
-                        // Position skier at lift base
-                        if (skierPos != null && liftPos != null) {
-                            skierPos.x = liftPos.x;
-                            skierPos.y = liftPos.y;
-                            skierPos.z = liftPos.z;
-                        }
+    /**
+     * A carrier leaves the base: board a batch from the front of the queue,
+     * up to its seat count and the lift's free capacity.
+     */
+    private void departCarrier(LiftEvent event) {
+        UUID liftId = event.liftId;
+        LiftStatus status = liftStatuses.get(liftId);
+        Entity liftBase = engine.getEntity(liftId);
+        if (status == null || liftBase == null) {
+            return; // Lift removed; stop its departures
+        }
 
-                        // Transition to RIDING_LIFT
-                        skier.state = SkierComponent.State.RIDING_LIFT;
-                        skier.targetLiftId = liftId;
+        // Next carrier comes round regardless of whether this one was used
+        scheduleDeparture(event.time + status.getDepartureInterval(), liftId);
 
-                        // Charge ticket revenue
-                        economy.recordTicketSale();
-                    }
-                }
+        // Board from the front (positions of the rest follow from their tickets)
+        int seats = Math.min(status.getSeatsPerCarrier(), status.getAvailableCapacity());
+        TransformComponent liftPos = engine.getComponent(liftBase, TransformComponent.class);
+        float rideTime = status.getRideTime();
+        for (int seat = 0; seat < seats; seat++) {
+            Entity skierEntity = pollBoardableSkier(status.queue, liftId);
+            if (skierEntity == null) {
+                break;
+            }
+            board(skierEntity, liftId, liftPos, status, event.time, rideTime);
+        }
+        status.telemetry.recordQueueLength(event.time, status.queue.size());
+    }
 
-                // Update queue positions
-                for (int i = 0; i < queue.size(); i++) {
-                    Entity queuedSkier = findEntityById(queue.get(i));
-                    if (queuedSkier != null && engine.hasComponent(queuedSkier, SkierComponent.class)) {
-                        SkierComponent sc = engine.getComponent(queuedSkier, SkierComponent.class);
-                        sc.queuePosition = i;
-                    }
-                }
+    private void board(Entity skierEntity, UUID liftId, TransformComponent liftPos, LiftStatus status,
+            double boardTime, float rideTime) {
+        SkierComponent skier = engine.getComponent(skierEntity, SkierComponent.class);
+        TransformComponent skierPos = engine.getComponent(skierEntity, TransformComponent.class);
 
-                // Reset timer
-                boardingTimers.put(liftId, 0f);
-            } else {
-                boardingTimers.put(liftId, timer);
-            }
+        // Position skier at lift base
+        if (skierPos != null && liftPos != null) {
+            skierPos.x = liftPos.x;
+            skierPos.y = liftPos.y;
+            skierPos.z = liftPos.z;
         }
+
+        // Transition to RIDING_LIFT
+        skier.state = SkierComponent.State.RIDING_LIFT;
+        skier.targetLiftId = liftId;
+        skier.queueTicket = -1;
+        status.riders++;
+        status.telemetry.recordBoarding(boardTime, (float) (boardTime - skier.queuedAt));
+
+        // Charge ticket revenue
+        economy.recordTicketSale();
+
+        // The ride is fully determined now: park the rider until it reaches the top
+        engine.addComponent(skierEntity, new LiftRideComponent(status.path, boardTime, status.getSpeed()));
+        engine.sleep(skierEntity, boardTime + rideTime);
     }
 
     /**
-     * Transport skiers along their lift paths.
+     * A rider woke up at the top: release them onto the mountain.
      */
-    private void transportSkiers(float dt) {
-        for (Entity skierEntity : engine.getEntities()) {
-            if (!engine.hasComponent(skierEntity, SkierComponent.class)) {
-                continue;
-            }
+    private void arriveAtTop(Entity skierEntity) {
+        LiftRideComponent ride = engine.removeComponent(skierEntity, LiftRideComponent.class);
+        SkierComponent skier = engine.getComponent(skierEntity, SkierComponent.class);
+        TransformComponent skierPos = engine.getComponent(skierEntity, TransformComponent.class);
+        if (ride == null || skier == null || skierPos == null || skier.state != SkierComponent.State.RIDING_LIFT) {
+            return; // Not one of our riders
+        }
 
-            SkierComponent skier = engine.getComponent(skierEntity, SkierComponent.class);
-            TransformComponent skierPos = engine.getComponent(skierEntity, TransformComponent.class);
+        ride.path.positionAt(ride.path.getLength(), pathPoint);
+        LiftStatus status = liftStatuses.get(skier.targetLiftId);
+        releaseSkier(skierEntity, skier, skierPos, pathPoint, status);
+    }
 
-            if (skier.state != SkierComponent.State.RIDING_LIFT || skierPos == null) {
+    /**
+     * Pop skiers off the front of a queue until one can still board (skiers
+     * that despawned or left the line are skipped).
+     */
+    private Entity pollBoardableSkier(LiftQueue queue, UUID liftId) {
+        UUID skierId;
+        while ((skierId = queue.poll()) != null) {
+            Entity skierEntity = engine.getEntity(skierId);
+            if (skierEntity == null) {
                 continue;
             }
-
-            // Find current and next pylon
-            Entity currentPylon = findNearestPylonOnLift(skierPos, skier.targetLiftId);
-            if (currentPylon == null) {
-                continue;
+            SkierComponent skier = engine.getComponent(skierEntity, SkierComponent.class);
+            if (skier != null && skier.state == SkierComponent.State.QUEUED && liftId.equals(skier.targetLiftId)) {
+                return skierEntity;
             }
+        }
+        return null;
+    }
 
-            LiftComponent lift = engine.getComponent(currentPylon, LiftComponent.class);
-            TransformComponent currentPos = engine.getComponent(currentPylon, TransformComponent.class);
+    /**
+     * Position of a queued skier in their lift's line (0 = boards next),
+     * or -1 if the skier is not queued.
+     */
+    public int getQueuePosition(SkierComponent skier) {
+        if (skier.state != SkierComponent.State.QUEUED || skier.targetLiftId == null) {
+            return -1;
+        }
+        LiftStatus status = liftStatuses.get(skier.targetLiftId);
+        return status != null ? status.queue.positionOf(skier.queueTicket) : -1;
+    }
 
-            if (lift == null || currentPos == null) {
-                continue;
-            }
+    /**
+     * Live status of a lift (by base pylon id), or null if it is not a known lift.
+     */
+    public LiftStatus getLiftStatus(UUID liftId) {
+        return liftStatuses.get(liftId);
+    }
 
-            // Check if there's a next pylon
-            if (lift.nextPylonId != null) {
-                Entity nextPylon = findEntityById(lift.nextPylonId);
-                if (nextPylon != null) {
-                    TransformComponent nextPos = engine.getComponent(nextPylon, TransformComponent.class);
-                    if (nextPos != null) {
-                        // Move toward next pylon
-                        float dx = nextPos.x - skierPos.x;
-                        float dy = nextPos.y - skierPos.y;
-                        float dz = nextPos.z - skierPos.z;
-                        float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
-
-                        if (distance > 0.5f) {
-                            // Normalize and apply speed
-                            float moveDistance = lift.speed * dt;
-                            skierPos.x += (dx / distance) * moveDistance;
-                            skierPos.y += (dy / distance) * moveDistance;
-                            skierPos.z += (dz / distance) * moveDistance;
-                        }
-                    }
-                }
-            }
+    /**
+     * Live status of every lift.
+     */
+    public Collection<LiftStatus> getLiftStatuses() {
+        return Collections.unmodifiableCollection(liftStatuses.values());
+    }
+
+    private LiftStatus statusFor(Entity liftBase) {
+        LiftStatus status = liftStatuses.get(liftBase.getId());
+        if (status == null) {
+            status = new LiftStatus(liftBase.getId(), engine.getComponent(liftBase, LiftComponent.class), worldMap);
+            status.path = buildPath(liftBase);
+            liftStatuses.put(liftBase.getId(), status);
+            scheduleDeparture(clock + status.getDepartureInterval(), liftBase.getId());
         }
+        return status;
     }
 
     /**
-     * Release skiers at the top of the lift.
+     * Build the cable polyline by walking the pylon chain from the base.
      */
-    private void releaseSkiers() {
-        for (Entity skierEntity : engine.getEntities()) {
-            if (!engine.hasComponent(skierEntity, SkierComponent.class)) {
-                continue;
+    private LiftPath buildPath(Entity liftBase) {
+        List<TransformComponent> points = new ArrayList<>();
+        Set<UUID> visited = new HashSet<>();
+
+        Entity current = liftBase;
+        while (current != null && visited.add(current.getId())) {
+            TransformComponent pylonPos = engine.getComponent(current, TransformComponent.class);
+            if (pylonPos != null) {
+                points.add(pylonPos);
             }
+            LiftComponent lift = engine.getComponent(current, LiftComponent.class);
+            current = (lift != null) ? engine.getEntity(lift.nextPylonId) : null;
+        }
 
-            SkierComponent skier = engine.getComponent(skierEntity, SkierComponent.class);
-            TransformComponent skierPos = engine.getComponent(skierEntity, TransformComponent.class);
+        if (points.isEmpty()) {
+            points.add(new TransformComponent(0, 0, 0));
+        }
+        float[] xs = new float[points.size()];
+        float[] ys = new float[points.size()];
+        float[] zs = new float[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            xs[i] = points.get(i).x;
+            ys[i] = points.get(i).y;
+            zs[i] = points.get(i).z;
+        }
+        return new LiftPath(xs, ys, zs);
+    }
 
-            if (skier.state != SkierComponent.State.RIDING_LIFT || skierPos == null) {
-                continue;
-            }
+    /**
+     * Release a skier at the top of the lift.
+     */
+    private void releaseSkier(Entity skierEntity, SkierComponent skier, TransformComponent skierPos,
+            TransformComponent topPos, LiftStatus status) {
+        // Position skier ON a trail near the top pylon (cached candidates, handed out in turn)
+        int tile = (status != null)
+                ? status.dropOffs.next((int) Math.floor(topPos.x), (int) Math.floor(topPos.z),
+                        skier.targetTrailDifficulty)
+                : -1;
+
+        if (tile >= 0) {
+            int tileX = tile % worldMap.getWidth();
+            int tileZ = tile / worldMap.getWidth();
+            skierPos.x = tileX + 0.5f;
+            skierPos.y = worldMap.getHeight(tileX, tileZ);
+            skierPos.z = tileZ + 0.5f;
+        } else {
+            // Fallback: no trail near the lift top
+            skierPos.x = topPos.x + 2;
+            skierPos.y = topPos.y;
+            skierPos.z = topPos.z + 2;
+        }
 
-            // Find current pylon
-            Entity currentPylon = findNearestPylonOnLift(skierPos, skier.targetLiftId);
-            if (currentPylon == null) {
-                continue;
-            }
+        // Transition to SKIING
+        skier.state = SkierComponent.State.SKIING;
+        if (status != null) {
+            status.riders--;
+        }
 
-            LiftComponent lift = engine.getComponent(currentPylon, LiftComponent.class);
-
-            // Check if at top (last pylon has no next)
-            if (lift != null && lift.nextPylonId == null) {
-                TransformComponent topPos = engine.getComponent(currentPylon, TransformComponent.class);
-                if (topPos != null) {
-                    // Position skier ON a trail near the top pylon
-                    boolean foundTrail = false;
-                    
-                    // Search for nearest trail tile near lift top
-                    for (int radius = 1; radius <= 15 && !foundTrail; radius++) {
-                        for (int dz = -radius; dz <= radius && !foundTrail; dz++) {
-                            for (int dx = -radius; dx <= radius && !foundTrail; dx++) {
-                                int testX = (int)Math.floor(topPos.x) + dx;
-                                int testZ = (int)Math.floor(topPos.z) + dz;
-                                
-                                if (worldMap.isValid(testX, testZ)) {
-                                    com.project.tycoon.world.model.Tile tile = worldMap.getTile(testX, testZ);
-                                    if (tile != null && tile.isTrail()) {
-                                        skierPos.x = testX + 0.5f;
-                                        skierPos.y = tile.getHeight();
-                                        skierPos.z = testZ + 0.5f;
-                                        foundTrail = true;
-                                        java.lang.System.out.println("✅ LIFT RELEASE: Placed skier on trail at (" + testX + "," + testZ + ")");
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    
-                    // Fallback: if no trail found, use old position
-                    if (!foundTrail) {
-                    skierPos.x = topPos.x + 2;
-                    skierPos.y = topPos.y;
-                    skierPos.z = topPos.z + 2;
-                        java.lang.System.out.println("⚠️  LIFT RELEASE: No trail found near lift top, using default position");
-                    }
-                }
+        // Plan next lift target based on skill level. A full carrier releases a
+        // batch at once, so this is time-sliced; until then targetLiftId stays as is.
+        decisions.request(skierEntity, skier, SkierDecisionScheduler.CHOOSE_LIFT);
+    }
 
-                // Transition to SKIING
-                skier.state = SkierComponent.State.SKIING;
-                
-                // ⭐ NEW: Plan next lift target based on skill level
-                UUID nextLiftTarget = liftPlanner.chooseNextLift(skier, skierPos);
-                skier.targetLiftId = nextLiftTarget;
-            }
+    /**
+     * All lift base entities (first pylon in each lift chain). Cached, so the
+     * entity list (sleeping riders included) is only scanned after lift
+     * components were added or removed.
+     */
+    private Map<UUID, Entity> liftBases() {
+        long liftVersion = engine.getComponentVersion(LiftComponent.class);
+        if (liftVersion != basesLiftVersion) {
+            findLiftBases();
+            basesLiftVersion = liftVersion;
         }
+        return liftBases;
     }
 
     /**
-     * Find all lift base entities (first pylon in each lift chain).
+     * Rebuild the lift base cache.
      */
-    private Map<UUID, Entity> findLiftBases() {
-        Map<UUID, Entity> bases = new HashMap<>();
-        Set<UUID> hasIncoming = new HashSet<>();
+    private void findLiftBases() {
+        liftBases.clear();
+        hasIncomingLink.clear();
 
         // First pass: identify all pylons that are pointed to
         for (Entity entity : engine.getEntities()) {
             if (engine.hasComponent(entity, LiftComponent.class)) {
                 LiftComponent lift = engine.getComponent(entity, LiftComponent.class);
                 if (lift.nextPylonId != null) {
-                    hasIncoming.add(lift.nextPylonId);
+                    hasIncomingLink.add(lift.nextPylonId);
                 }
             }
         }
@@ -331,13 +446,11 @@ public class LiftSystem implements System {
         // Second pass: bases are pylons with no incoming links
         for (Entity entity : engine.getEntities()) {
             if (engine.hasComponent(entity, LiftComponent.class)) {
-                if (!hasIncoming.contains(entity.getId())) {
-                    bases.put(entity.getId(), entity);
+                if (!hasIncomingLink.contains(entity.getId())) {
+                    liftBases.put(entity.getId(), entity);
                 }
             }
         }
-
-        return bases;
     }
 
     /**
@@ -366,80 +479,11 @@ public class LiftSystem implements System {
         return nearest;
     }
 
-    /**
-     * Find the nearest pylon on the specified lift.
-     */
-    private Entity findNearestPylonOnLift(TransformComponent skierPos, UUID liftId) {
-        if (liftId == null) {
-            return null;
-        }
-
-        Entity nearest = null;
-        float minDistance = Float.MAX_VALUE;
-
-        // Start from the base pylon
-        Entity current = findEntityById(liftId);
-        while (current != null) {
-            TransformComponent pylonPos = engine.getComponent(current, TransformComponent.class);
-            if (pylonPos != null) {
-                float dx = pylonPos.x - skierPos.x;
-                float dy = pylonPos.y - skierPos.y;
-                float dz = pylonPos.z - skierPos.z;
-                float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
-
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    nearest = current;
-                }
-            }
-
-            // Move to next pylon
-            LiftComponent lift = engine.getComponent(current, LiftComponent.class);
-            if (lift != null && lift.nextPylonId != null) {
-                current = findEntityById(lift.nextPylonId);
-            } else {
-                break;
-            }
-        }
-
-        return nearest;
-    }
-
-    /**
-     * Find entity by UUID.
-     */
-    private Entity findEntityById(UUID id) {
-        for (Entity entity : engine.getEntities()) {
-            if (entity.getId().equals(id)) {
-                return entity;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Count how many skiers are currently riding a specific lift.
-     */
-    private int countRidersOnLift(UUID liftId) {
-        int count = 0;
-        for (Entity entity : engine.getEntities()) {
-            if (engine.hasComponent(entity, SkierComponent.class)) {
-                SkierComponent skier = engine.getComponent(entity, SkierComponent.class);
-                if (skier.state == SkierComponent.State.RIDING_LIFT &&
-                        liftId.equals(skier.targetLiftId)) {
-                    count++;
-                }
-            }
-        }
-        return count;
-    }
-
     /**
      * Deduct maintenance costs from all active lifts.
      */
-    private void deductMaintenanceCosts(float dt) {
-        Map<UUID, Entity> liftBases = findLiftBases();
-        for (Entity liftBase : liftBases.values()) {
+    public void deductMaintenanceCosts(float dt) {
+        for (Entity liftBase : liftBases().values()) {
             LiftComponent lift = engine.getComponent(liftBase, LiftComponent.class);
             if (lift != null) {
                 float cost = lift.maintenanceCostPerSec * dt;
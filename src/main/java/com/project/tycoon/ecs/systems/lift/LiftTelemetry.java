@@ -0,0 +1,142 @@
+package com.project.tycoon.ecs.systems.lift;
+
+/**
+ * Operating metrics for one lift: boardings and queue length over a rolling
+ * window, and the distribution of queue wait times.
+ *
+ * The window is a ring of fixed time buckets in Engine seconds; advancing the
+ * clock clears the buckets it passes, so every record call is O(1) and nothing
+ * is allocated after construction. Written by LiftSystem, read-only outside
+ * the lift package.
+ */
+public final class LiftTelemetry {
+
+    public static final float BUCKET_SECONDS = 2.0f;
+    public static final int BUCKETS = 60; // Two minutes: one game day at 1x
+
+    private final int[] boardings = new int[BUCKETS];
+    private final int[] maxQueue = new int[BUCKETS]; // Longest queue in each bucket, incl. the length carried in
+    private final WaitHistogram waitTimes = new WaitHistogram();
+
+    private boolean started = false;
+    private double startTime;
+    private double lastTime;
+    private long bucket; // Absolute index of the current bucket
+    private int queueLength; // Carried into buckets with no events
+    private long totalBoardings = 0;
+
+    /**
+     * Sample the queue length at a time.
+     */
+    void recordQueueLength(double time, int length) {
+        advance(time);
+        queueLength = length;
+        int slot = slot(bucket);
+        maxQueue[slot] = Math.max(maxQueue[slot], length);
+    }
+
+    /**
+     * A skier boarded after waiting in line.
+     */
+    void recordBoarding(double time, float waitSeconds) {
+        advance(time);
+        boardings[slot(bucket)]++;
+        totalBoardings++;
+        waitTimes.record(waitSeconds);
+    }
+
+    private void advance(double time) {
+        long target = (long) Math.floor(time / BUCKET_SECONDS);
+        if (!started) {
+            started = true;
+            startTime = time;
+            lastTime = time;
+            bucket = target;
+            return;
+        }
+        lastTime = Math.max(lastTime, time);
+        if (target <= bucket) {
+            return;
+        }
+
+        // Clear the buckets we skip (at most a full lap)
+        long steps = Math.min(target - bucket, BUCKETS);
+        for (long b = target - steps + 1; b <= target; b++) {
+            int slot = slot(b);
+            boardings[slot] = 0;
+            maxQueue[slot] = queueLength;
+        }
+        bucket = target;
+    }
+
+    private static int slot(long absoluteBucket) {
+        return (int) Math.floorMod(absoluteBucket, (long) BUCKETS);
+    }
+
+    /**
+     * Boardings per hour (Engine seconds) over the rolling window, comparable
+     * with LiftStatus.getThroughputPerHour().
+     */
+    public float getRidersPerHour() {
+        if (!started) {
+            return 0f;
+        }
+        double windowStart = Math.max(startTime, (bucket - BUCKETS + 1) * (double) BUCKET_SECONDS);
+        double covered = Math.max(BUCKET_SECONDS, lastTime - windowStart);
+        return (float) (getWindowBoardings() * 3600.0 / covered);
+    }
+
+    /**
+     * Boardings in the rolling window.
+     */
+    public int getWindowBoardings() {
+        int total = 0;
+        for (int count : boardings) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Boardings since the lift opened.
+     */
+    public long getTotalBoardings() {
+        return totalBoardings;
+    }
+
+    /**
+     * Longest queue in the rolling window.
+     */
+    public int getMaxQueueLength() {
+        int longest = 0;
+        for (int length : maxQueue) {
+            longest = Math.max(longest, length);
+        }
+        return longest;
+    }
+
+    /**
+     * Copy the longest queue length per bucket, oldest first, into a caller buffer.
+     *
+     * @param out Receives up to BUCKETS values
+     * @return Number of values written
+     */
+    public int getQueueLengthHistory(int[] out) {
+        if (!started) {
+            return 0;
+        }
+        int count = (int) Math.min(Math.min(BUCKETS, out.length),
+                bucket - (long) Math.floor(startTime / BUCKET_SECONDS) + 1);
+        for (int i = 0; i < count; i++) {
+            out[i] = maxQueue[slot(bucket - count + 1 + i)];
+        }
+        return count;
+    }
+
+    /**
+     * Distribution of time from joining the queue to boarding, since the lift opened.
+     */
+    public WaitHistogram getWaitTimes() {
+        return waitTimes;
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.tycoon.ecs.systems.lift;
+
+/**
+ * Streaming histogram of queue wait times.
+ *
+ * Samples go into fixed-width bins (the last bin also catches everything
+ * beyond the range), so recording is O(1) with no allocation and memory is
+ * fixed no matter how many skiers board. Percentiles are resolved to the
+ * upper edge of their bin.
+ */
+public final class WaitHistogram {
+
+    public static final float BIN_SECONDS = 2.0f;
+    public static final int BINS = 128; // 0 - 256s, last bin open-ended
+
+    private final long[] bins = new long[BINS];
+    private long count = 0;
+    private double sum = 0.0;
+    private float max = 0f;
+
+    void record(float seconds) {
+        seconds = Math.max(0f, seconds);
+        int bin = Math.min(BINS - 1, (int) (seconds / BIN_SECONDS));
+        bins[bin]++;
+        count++;
+        sum += seconds;
+        max = Math.max(max, seconds);
+    }
+
+    /**
+     * Number of recorded waits.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Mean wait in seconds (0 with no samples).
+     */
+    public float getMean() {
+        return count > 0 ? (float) (sum / count) : 0f;
+    }
+
+    /**
+     * Longest recorded wait in seconds.
+     */
+    public float getMax() {
+        return max;
+    }
+
+    /**
+     * Wait in seconds that the given fraction of skiers did not exceed.
+     *
+     * @param fraction 0..1 (e.g. 0.95 for the 95th percentile)
+     */
+    public float getPercentile(float fraction) {
+        if (count == 0) {
+            return 0f;
+        }
+        long rank = (long) Math.ceil(Math.max(0f, Math.min(1f, fraction)) * count);
+        rank = Math.max(1, rank);
+        long seen = 0;
+        for (int i = 0; i < BINS - 1; i++) {
+            seen += bins[i];
+            if (seen >= rank) {
+                return Math.min(max, (i + 1) * BIN_SECONDS);
+            }
+        }
+        return max; // Overflow bin
+    }
+}
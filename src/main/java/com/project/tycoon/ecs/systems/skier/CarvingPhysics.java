@@ -1,6 +1,7 @@
 package com.project.tycoon.ecs.systems.skier;
 
 import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.SkillLevel;
 import com.project.tycoon.ecs.components.TransformComponent;
 import com.project.tycoon.ecs.components.VelocityComponent;
 import com.project.tycoon.world.model.WorldMap;
@@ -49,7 +50,7 @@ public class CarvingPhysics {
         // Get downhill direction from flow field
         int x = (int) Math.floor(pos.x);
         int z = (int) Math.floor(pos.z);
-        TrailFlowFieldCalculator.TrailStep next = flowField.getFlowStep(x, z, map.getTile(x, z).getHeight());
+        TrailFlowFieldCalculator.TrailStep next = flowField.getFlowStep(x, z, map.getHeight(x, z));
         
         if (next == null) {
             // No flow, seek trail
@@ -93,6 +94,23 @@ public class CarvingPhysics {
         vel.dz = lerp(vel.dz, desiredDz, TURN_LERP);
     }
     
+    /**
+     * Average speed of a carving skier along the fall line: the base speed for
+     * their skill, with the turn slowdown averaged over a full S-turn.
+     */
+    public static float cruiseSpeed(SkierComponent skier) {
+        return cruiseSpeed(skier.skillLevel);
+    }
+
+    /**
+     * Cruise speed for a skill level (see cruiseSpeed(SkierComponent)).
+     */
+    public static float cruiseSpeed(SkillLevel skill) {
+        float averageSlowdown = 0.3f * (float) (2.0 / Math.PI); // Mean of 0.3 * |sin|
+        float baseSpeed = BASE_SKI_SPEED + skill.ordinal() * 0.8f;
+        return Math.min(baseSpeed * (1.0f - averageSlowdown), MAX_SKI_SPEED);
+    }
+    
     private float lerp(float from, float to, float alpha) {
         return from + (to - from) * alpha;
     }
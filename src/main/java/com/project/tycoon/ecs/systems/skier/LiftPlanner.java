@@ -1,5 +1,6 @@
 package com.project.tycoon.ecs.systems.skier;
 
+import com.project.tycoon.core.RandomStreams;
 import com.project.tycoon.ecs.Engine;
 import com.project.tycoon.ecs.Entity;
 import com.project.tycoon.ecs.components.LiftComponent;
@@ -7,9 +8,9 @@ import com.project.tycoon.ecs.components.SkierComponent;
 import com.project.tycoon.ecs.components.SkillLevel;
 import com.project.tycoon.ecs.components.TransformComponent;
 import com.project.tycoon.world.SnapPointManager;
-import com.project.tycoon.world.model.SnapPoint;
+import com.project.tycoon.world.TrailDensityMap;
+import com.project.tycoon.world.TrailNetwork;
 import com.project.tycoon.world.model.TrailDifficulty;
-import com.project.tycoon.world.model.Tile;
 import com.project.tycoon.world.model.WorldMap;
 
 import java.util.*;
@@ -17,194 +18,288 @@ import java.util.*;
 /**
  * Plans which lift a skier should target next based on their skill level
  * and available terrain.
+ *
+ * A lift is scored by the trail difficulties reachable from its top through
+ * the TrailNetwork; lifts whose top leads onto no trail fall back to the
+ * dominant difficulty around their base.
+ *
+ * Lift candidates and their static attributes are cached and only rebuilt when
+ * the lift topology or the trail network changes. Per-skier work is reduced to
+ * distance scoring over a per-skill ranking of the cached candidates.
  */
 public class LiftPlanner {
-    
+
+    private static final int TERRAIN_ASSESSMENT_RADIUS = 15;
+    private static final int TOP_SEARCH_RADIUS = 15; // Max tiles from a lift top to a trail node
+    private static final float PREFERENCE_WEIGHT = 10f;
+    private static final float DISTANCE_WEIGHT = 2f;
+    private static final float RANDOM_WEIGHT = 0.5f;
+    private static final SkillLevel[] SKILL_LEVELS = SkillLevel.values();
+
     private final Engine engine;
-    private final WorldMap worldMap;
-    private final Random random = new Random();
-    
-    public LiftPlanner(Engine engine, SnapPointManager snapPointManager, WorldMap worldMap) {
+    private final TrailDensityMap trailDensity;
+    private final TrailNetwork trailNetwork;
+    private final RandomStreams random;
+
+    // Candidate cache, valid for the recorded lift/network versions
+    private LiftCandidate[] candidates = new LiftCandidate[0];
+    private float[][] preferenceScores = new float[SKILL_LEVELS.length][0]; // [skill][candidate]
+    private int[][] rankings = new int[SKILL_LEVELS.length][0]; // [skill] -> candidate indices, best first
+    private long cachedLiftVersion = -1;
+    private long cachedNetworkVersion = -1; // Bumped on trail and snap point changes
+    private long cachedPreferenceVersion = -1;
+
+    public LiftPlanner(Engine engine, SnapPointManager snapPointManager, WorldMap worldMap, RandomStreams random) {
         this.engine = engine;
-        this.worldMap = worldMap;
-        // snapPointManager kept for future use if needed
+        this.random = random;
+        this.trailDensity = new TrailDensityMap(worldMap);
+        this.trailNetwork = new TrailNetwork(worldMap, snapPointManager);
     }
-    
+
     /**
      * Choose the next lift for a skier to target based on their skill level.
      * Called when a skier exits a lift and starts skiing.
-     * 
+     *
      * @param skier The skier component
      * @param currentPos The skier's current position
      * @return UUID of the target lift base entity, or null if no suitable lift found
      */
     public UUID chooseNextLift(SkierComponent skier, TransformComponent currentPos) {
-        // Find all available lift bases
-        List<LiftCandidate> candidates = findLiftCandidates(currentPos);
-        
-        if (candidates.isEmpty()) {
+        refreshCandidates();
+
+        if (candidates.length == 0) {
             return null;
         }
-        
-        // Score each lift based on skier preferences
+
+        int skill = skier.skillLevel.ordinal();
+        float[] scores = preferenceScores[skill];
+
+        // Walk candidates from best to worst preference. Distance only ever lowers
+        // a score, so once the preference (plus max random bonus) can't beat the
+        // best score found so far, no later candidate can either.
         LiftCandidate bestLift = null;
         float bestScore = -1f;
-        
-        for (LiftCandidate candidate : candidates) {
-            float score = scoreLift(candidate, skier);
-            
+
+        for (int index : rankings[skill]) {
+            if (scores[index] + RANDOM_WEIGHT <= bestScore) {
+                break;
+            }
+
+            LiftCandidate candidate = candidates[index];
+            float score = scores[index] - distancePenalty(candidate, currentPos) + random.nextFloat(skier.randomSeed, skier.randomDraws++) * RANDOM_WEIGHT;
+
             if (score > bestScore) {
                 bestScore = score;
                 bestLift = candidate;
             }
         }
-        
+
         if (bestLift != null) {
             return bestLift.liftEntityId;
         }
-        
+
         return null;
     }
-    
+
     /**
-     * Find all lift bases that could be reached.
+     * Rebuild the candidate cache if lifts were added/removed, the trail
+     * network was rebuilt or trail preferences were reloaded.
      */
-    private List<LiftCandidate> findLiftCandidates(TransformComponent currentPos) {
-        List<LiftCandidate> candidates = new ArrayList<>();
-        
+    private void refreshCandidates() {
+        long liftVersion = engine.getComponentVersion(LiftComponent.class);
+        long preferenceVersion = TrailPreferences.getVersion();
+        long networkVersion = trailNetwork.getVersion(); // Rebuilt on every trail change
+        if (liftVersion == cachedLiftVersion && networkVersion == cachedNetworkVersion
+                && preferenceVersion == cachedPreferenceVersion) {
+            return;
+        }
+
+        candidates = findLiftCandidates().toArray(new LiftCandidate[0]);
+
+        // Precompute per-skill preference scores and rank candidates by them
+        for (SkillLevel skill : SKILL_LEVELS) {
+            float[] scores = new float[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                scores[i] = preferenceScore(candidates[i], skill);
+            }
+
+            Integer[] order = new Integer[candidates.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+
+            int[] ranking = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                ranking[i] = order[i];
+            }
+
+            preferenceScores[skill.ordinal()] = scores;
+            rankings[skill.ordinal()] = ranking;
+        }
+
+        cachedLiftVersion = liftVersion;
+        cachedPreferenceVersion = preferenceVersion;
+        cachedNetworkVersion = networkVersion;
+    }
+
+    /**
+     * Find all lift bases and compute their static attributes.
+     */
+    private List<LiftCandidate> findLiftCandidates() {
+        List<LiftCandidate> result = new ArrayList<>();
+
         // Find all lift base entities (first pylon in each chain - no other pylon points to them)
         Set<UUID> hasIncomingLink = new HashSet<>();
-        
+
         // First pass: identify all pylons that have something pointing to them
         for (Entity entity : engine.getEntities()) {
             if (!engine.hasComponent(entity, LiftComponent.class)) {
                 continue;
             }
-            
+
             LiftComponent lift = engine.getComponent(entity, LiftComponent.class);
             if (lift.nextPylonId != null) {
                 hasIncomingLink.add(lift.nextPylonId);
             }
         }
-        
+
         // Second pass: find bases (pylons with no incoming links) and assess them
         for (Entity entity : engine.getEntities()) {
             if (!engine.hasComponent(entity, LiftComponent.class)) {
                 continue;
             }
-            
+
             // Only consider bases (no incoming link)
             if (hasIncomingLink.contains(entity.getId())) {
                 continue;
             }
-            
+
             TransformComponent liftPos = engine.getComponent(entity, TransformComponent.class);
             if (liftPos == null) {
                 continue;
             }
-            
+
             // Calculate terrain difficulty near this lift base
             TrailDifficulty nearbyDifficulty = assessNearbyTrailDifficulty(liftPos);
-            
-            candidates.add(new LiftCandidate(
-                entity.getId(),
-                liftPos,
-                nearbyDifficulty,
-                calculateDistance(currentPos, liftPos)
-            ));
+            Set<TrailDifficulty> reachable = findReachableDifficulties(findLiftTop(entity, liftPos));
+
+            result.add(new LiftCandidate(entity.getId(), liftPos.x, liftPos.z, nearbyDifficulty, reachable));
         }
-        
-        return candidates;
+
+        return result;
     }
-    
+
     /**
-     * Score a lift based on how well it matches the skier's preferences.
+     * Static part of a lift's score: how well its terrain matches a skill level.
      */
-    private float scoreLift(LiftCandidate candidate, SkierComponent skier) {
-        float score = 0f;
-        
-        // 1. Trail difficulty match (most important)
-        if (candidate.nearbyDifficulty != null) {
-            float difficultyPreference = TrailPreferences.getPreference(
-                skier.skillLevel, 
-                candidate.nearbyDifficulty
-            );
-            score += difficultyPreference * 10f; // Weight heavily
+    private float preferenceScore(LiftCandidate candidate, SkillLevel skill) {
+        if (!candidate.reachableDifficulties.isEmpty()) {
+            // The skier picks the run they like best from the top
+            float best = 0f;
+            for (TrailDifficulty difficulty : candidate.reachableDifficulties) {
+                best = Math.max(best, TrailPreferences.getPreference(skill, difficulty));
+            }
+            return best * PREFERENCE_WEIGHT;
+        }
+        if (candidate.nearbyDifficulty == null) {
+            return 0f;
         }
-        
-        // 2. Distance penalty (prefer closer lifts, but not too heavily)
+        return TrailPreferences.getPreference(skill, candidate.nearbyDifficulty) * PREFERENCE_WEIGHT;
+    }
+
+    /**
+     * Per-skier part of a lift's score (prefer closer lifts, but not too heavily).
+     */
+    private float distancePenalty(LiftCandidate candidate, TransformComponent currentPos) {
+        float dx = candidate.x - currentPos.x;
+        float dz = candidate.z - currentPos.z;
+        float distance = (float) Math.sqrt(dx * dx + dz * dz);
+
         // Normalize distance so it doesn't dominate the score
-        float distancePenalty = Math.min(candidate.distance / 100f, 1.0f); // Cap at 1.0
-        score -= distancePenalty * 2f;
-        
-        // 3. Add some randomness for variety (small factor)
-        score += random.nextFloat() * 0.5f;
-        
-        return score;
+        return Math.min(distance / 100f, 1.0f) * DISTANCE_WEIGHT; // Cap at 1.0
     }
-    
+
     /**
-     * Check what trail difficulty is near a lift base by sampling tiles.
+     * Check what trail difficulty is near a lift base using the summed-area tables.
      */
     private TrailDifficulty assessNearbyTrailDifficulty(TransformComponent pos) {
         int x = (int) Math.floor(pos.x);
         int z = (int) Math.floor(pos.z);
-        
-        // Count trail difficulties in a radius
-        Map<TrailDifficulty, Integer> difficultyCounts = new HashMap<>();
-        
-        for (int dz = -15; dz <= 15; dz++) {
-            for (int dx = -15; dx <= 15; dx++) {
-                int nx = x + dx;
-                int nz = z + dz;
-                
-                if (!worldMap.isValid(nx, nz)) {
-                    continue;
-                }
-                
-                Tile tile = worldMap.getTile(nx, nz);
-                if (tile != null && tile.isTrail()) {
-                    TrailDifficulty diff = tile.getTrailDifficulty();
-                    difficultyCounts.put(diff, difficultyCounts.getOrDefault(diff, 0) + 1);
-                }
+
+        return trailDensity.dominantDifficulty(x, z, TERRAIN_ASSESSMENT_RADIUS);
+    }
+
+    /**
+     * Last pylon of the chain starting at a lift base.
+     */
+    private TransformComponent findLiftTop(Entity base, TransformComponent basePos) {
+        TransformComponent top = basePos;
+        LiftComponent lift = engine.getComponent(base, LiftComponent.class);
+        Set<UUID> seen = new HashSet<>();
+        while (lift.nextPylonId != null && seen.add(lift.nextPylonId)) {
+            Entity next = engine.getEntity(lift.nextPylonId);
+            if (next == null || !engine.hasComponent(next, LiftComponent.class)) {
+                break;
             }
-        }
-        
-        // Return the most common difficulty
-        TrailDifficulty mostCommon = null;
-        int maxCount = 0;
-        for (Map.Entry<TrailDifficulty, Integer> entry : difficultyCounts.entrySet()) {
-            if (entry.getValue() > maxCount) {
-                maxCount = entry.getValue();
-                mostCommon = entry.getKey();
+            TransformComponent pos = engine.getComponent(next, TransformComponent.class);
+            if (pos != null) {
+                top = pos;
             }
+            lift = engine.getComponent(next, LiftComponent.class);
         }
-        
-        return mostCommon;
+        return top;
     }
-    
-    private float calculateDistance(TransformComponent a, TransformComponent b) {
-        float dx = b.x - a.x;
-        float dz = b.z - a.z;
-        return (float) Math.sqrt(dx * dx + dz * dz);
+
+    /**
+     * Difficulties of every trail section that can be skied downhill from the
+     * trail nodes near a lift top.
+     */
+    private Set<TrailDifficulty> findReachableDifficulties(TransformComponent top) {
+        Set<TrailDifficulty> reachable = EnumSet.noneOf(TrailDifficulty.class);
+        List<TrailNetwork.Node> nodes = trailNetwork.getNodes();
+        boolean[] visited = new boolean[nodes.size()];
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (TrailNetwork.Node node : nodes) {
+            float dx = node.x - top.x;
+            float dz = node.z - top.z;
+            if (dx * dx + dz * dz <= TOP_SEARCH_RADIUS * TOP_SEARCH_RADIUS) {
+                visited[node.id] = true;
+                stack.push(node.id);
+            }
+        }
+
+        while (!stack.isEmpty()) {
+            for (TrailNetwork.Edge edge : trailNetwork.getOutgoingEdges(stack.pop())) {
+                if (edge.difficulty != null) {
+                    reachable.add(edge.difficulty);
+                }
+                if (!visited[edge.to]) {
+                    visited[edge.to] = true;
+                    stack.push(edge.to);
+                }
+            }
+        }
+        return reachable;
     }
-    
+
     /**
-     * Internal class to hold lift candidate information.
+     * Cached lift candidate with attributes that only change when lifts or trails change.
      */
     private static class LiftCandidate {
-        UUID liftEntityId;
-        TransformComponent position;
-        TrailDifficulty nearbyDifficulty;
-        float distance;
-        
-        LiftCandidate(UUID liftEntityId, TransformComponent position, 
-                     TrailDifficulty nearbyDifficulty, float distance) {
+        final UUID liftEntityId;
+        final float x;
+        final float z;
+        final TrailDifficulty nearbyDifficulty;
+        final Set<TrailDifficulty> reachableDifficulties; // Downhill from the lift top
+
+        LiftCandidate(UUID liftEntityId, float x, float z, TrailDifficulty nearbyDifficulty,
+                Set<TrailDifficulty> reachableDifficulties) {
             this.liftEntityId = liftEntityId;
-            this.position = position;
+            this.x = x;
+            this.z = z;
             this.nearbyDifficulty = nearbyDifficulty;
-            this.distance = distance;
+            this.reachableDifficulties = reachableDifficulties;
         }
     }
 }
-
@@ -79,13 +79,7 @@ public class LiftProximityDetector {
         }
         
         // Find the target lift entity
-        Entity targetLift = null;
-        for (Entity entity : engine.getEntities()) {
-            if (entity.getId().equals(targetLiftId)) {
-                targetLift = entity;
-                break;
-            }
-        }
+        Entity targetLift = engine.getEntity(targetLiftId);
         
         if (targetLift == null || !engine.hasComponent(targetLift, TransformComponent.class)) {
             return false;
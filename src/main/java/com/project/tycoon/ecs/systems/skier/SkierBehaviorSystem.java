@@ -4,20 +4,37 @@ import com.project.tycoon.ecs.Engine;
 import com.project.tycoon.ecs.Entity;
 import com.project.tycoon.ecs.System;
 import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.TrailHopComponent;
 import com.project.tycoon.ecs.components.TransformComponent;
 import com.project.tycoon.ecs.components.VelocityComponent;
-import com.project.tycoon.world.model.Tile;
 import com.project.tycoon.world.model.TrailDifficulty;
 import com.project.tycoon.world.model.WorldMap;
 
-import java.util.Random;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
 
 /**
  * Main orchestrator for skier behavior.
  * Delegates to specialized components for flow field, trail seeking, carving, etc.
+ *
+ * Costly choices (trail difficulty, which trail to head for when off trail)
+ * are requested from the SkierDecisionScheduler; skiers keep their previous
+ * intent until it serves them.
+ *
+ * Skiers are simulated at the detail tier SkierLod assigns them: FULL skiers
+ * carve every tick, MID skiers follow the flow field every MID_TICK_INTERVAL
+ * ticks, and FAR skiers hop along the flow field for up to FAR_HOP_SECONDS
+ * at their cruise speed, asleep in the Engine until they land. A hop ends
+ * early at the base or near the target lift, so state changes happen on
+ * the normal path; a hopper that comes into view is woken mid-hop.
  */
 public class SkierBehaviorSystem implements System {
 
+    private static final int MID_TICK_INTERVAL = 4; // Power of two
+    private static final float FAR_HOP_SECONDS = 5.0f;
+    private static final float DIAGONAL_STEP = (float) Math.sqrt(2.0);
+
     private final Engine engine;
     private final WorldMap map;
 
@@ -27,10 +44,19 @@ public class SkierBehaviorSystem implements System {
     private final TrailSeeker trailSeeker;
     private final CarvingPhysics carvingPhysics;
     private final LiftProximityDetector liftDetector;
+    private final SkierDecisionScheduler decisions;
+    private final SkierLod lod;
+
+    private final Set<Entity> hopping = new HashSet<>(); // FAR skiers asleep mid-hop
+    private long hoppingViewVersion = -1;
+    private long tick = 0;
+    private final TransformComponent probe = new TransformComponent(0, 0, 0); // Scratch
 
-    public SkierBehaviorSystem(Engine engine, WorldMap map) {
+    public SkierBehaviorSystem(Engine engine, WorldMap map, SkierDecisionScheduler decisions, SkierLod lod) {
         this.engine = engine;
         this.map = map;
+        this.decisions = decisions;
+        this.lod = lod;
         
         // Initialize components
         this.flowField = new TrailFlowFieldCalculator(map);
@@ -38,15 +64,18 @@ public class SkierBehaviorSystem implements System {
         this.trailSeeker = new TrailSeeker(map);
         this.carvingPhysics = new CarvingPhysics(map, flowField, trailScanner, trailSeeker);
         this.liftDetector = new LiftProximityDetector(engine);
+        engine.addWakeListener((entity, wakeTime) -> land(entity));
     }
 
     @Override
     public void update(double dt) {
         // Update flow field if map changed
         flowField.update();
+        tick++;
+        wakeVisibleHoppers();
         
         // Update all skiers
-        for (Entity entity : engine.getEntities()) {
+        for (Entity entity : engine.getActiveEntities()) {
             if (engine.hasComponent(entity, SkierComponent.class) &&
                     engine.hasComponent(entity, TransformComponent.class) &&
                     engine.hasComponent(entity, VelocityComponent.class)) {
@@ -56,10 +85,18 @@ public class SkierBehaviorSystem implements System {
                 VelocityComponent vel = engine.getComponent(entity, VelocityComponent.class);
 
                 if (skier.state == SkierComponent.State.SKIING) {
-                    handleSkiingState(skier, pos, vel, dt);
+                    skier.lod = lod.tierFor(pos.x, pos.z);
+                    if (skier.lod == SkierComponent.Lod.FULL) {
+                        handleSkiingState(entity, skier, pos, vel, dt);
+                    } else if (skier.lod == SkierComponent.Lod.FAR && startHop(entity, skier, pos, vel)) {
+                        continue;
+                    } else if (((tick + skier.randomSeed) & (MID_TICK_INTERVAL - 1)) == 0) {
+                        // Staggered so MID skiers spread evenly over the ticks
+                        handleSkiingState(entity, skier, pos, vel, dt * MID_TICK_INTERVAL);
+                    }
 
                     // Check if reached bottom
-                    if (pos.z >= SkierSpawnerSystem.BASE_Z - 2) {
+                    if (pos.z >= map.getBaseZ() - 2) {
                         vel.dx = 0;
                         vel.dz = 0;
                         skier.state = SkierComponent.State.FINISHED;
@@ -74,7 +111,8 @@ public class SkierBehaviorSystem implements System {
         }
     }
 
-    private void handleSkiingState(SkierComponent skier, TransformComponent pos, VelocityComponent vel, double dt) {
+    private void handleSkiingState(Entity entity, SkierComponent skier, TransformComponent pos, VelocityComponent vel,
+            double dt) {
         int x = (int) Math.floor(pos.x);
         int z = (int) Math.floor(pos.z);
 
@@ -82,11 +120,6 @@ public class SkierBehaviorSystem implements System {
             return;
         }
 
-        Tile current = map.getTile(x, z);
-        if (current == null) {
-            return;
-        }
-
         // ⭐ FIRST: Check if near target lift (before base check!)
         if (liftDetector.isNearTargetLift(pos, skier.targetLiftId)) {
             vel.dx = 0;
@@ -96,12 +129,12 @@ public class SkierBehaviorSystem implements System {
         }
 
         // Check if reached base area (only if no target lift or past target)
-        if (z >= SkierSpawnerSystem.BASE_Z - 2) {
+        if (z >= map.getBaseZ() - 2) {
             vel.dx = 0;
             vel.dz = 0;
             
-            if (current.isTrail()) {
-            skier.state = SkierComponent.State.FINISHED;
+            if (map.isTrail(x, z)) {
+                skier.state = SkierComponent.State.FINISHED;
             } else {
                 skier.state = SkierComponent.State.WAITING;
             }
@@ -110,29 +143,38 @@ public class SkierBehaviorSystem implements System {
 
         // Choose target difficulty if not already chosen
         if (skier.targetTrailDifficulty == null) {
-            skier.targetTrailDifficulty = chooseTrailDifficulty(skier);
+            decisions.request(entity, skier, SkierDecisionScheduler.CHOOSE_DIFFICULTY);
         }
 
-        if (current.isTrail()) {
+        if (map.isTrail(x, z)) {
+            skier.seekTile = SkierComponent.NO_SEEK_TARGET; // Back on trail; seek afresh next time
+
             // On trail: update satisfaction and apply carving
-            TrailDifficulty currentDifficulty = current.getTrailDifficulty();
+            TrailDifficulty currentDifficulty = map.getTrailDifficulty(x, z);
             updateSatisfaction(skier, currentDifficulty, dt);
 
             // ⭐ NEW: Steer toward target lift while skiing
             if (skier.targetLiftId != null) {
                 steerTowardTargetLift(skier, pos, vel, dt);
             } else {
-                carvingPhysics.applyCarving(skier, pos, vel, dt);
+                ski(skier, pos, vel, dt);
             }
         } else {
-            // Off trail: seek back to trails
-            if (!trailSeeker.seekPreferredTrail(pos, vel, skier)) {
-                trailSeeker.seekNearestTrail(pos, vel);
+            // Off trail: head back to the chosen trail tile, re-planning when it is gone
+            if (!decisions.isValidSeekTarget(skier.seekTile)) {
+                decisions.request(entity, skier, SkierDecisionScheduler.SEEK_TRAIL);
+            }
+            if (skier.seekTile >= 0) {
+                trailSeeker.steerTowardTile(pos, vel, skier.seekTile % map.getWidth(),
+                        skier.seekTile / map.getWidth());
+            } else if (skier.seekTile == SkierComponent.SEEK_DOWNHILL) {
+                trailSeeker.moveDownhill(vel);
             }
+            // NO_SEEK_TARGET: keep the current heading until the scheduler answers
         }
 
         // Keep skier snapped to terrain height
-        pos.y = current.getHeight();
+        pos.y = map.getHeight(x, z);
     }
 
     /**
@@ -140,23 +182,17 @@ public class SkierBehaviorSystem implements System {
      */
     private void steerTowardTargetLift(SkierComponent skier, TransformComponent pos, VelocityComponent vel, double dt) {
         // Find target lift position
-        Entity targetLift = null;
-        for (Entity entity : engine.getEntities()) {
-            if (entity.getId().equals(skier.targetLiftId)) {
-                targetLift = entity;
-                break;
-            }
-        }
+        Entity targetLift = engine.getEntity(skier.targetLiftId);
         
         if (targetLift == null) {
             // Target lift not found, just ski normally
-            carvingPhysics.applyCarving(skier, pos, vel, dt);
+            ski(skier, pos, vel, dt);
             return;
         }
 
         TransformComponent liftPos = engine.getComponent(targetLift, TransformComponent.class);
         if (liftPos == null) {
-            carvingPhysics.applyCarving(skier, pos, vel, dt);
+            ski(skier, pos, vel, dt);
             return;
         }
 
@@ -166,7 +202,7 @@ public class SkierBehaviorSystem implements System {
         float distance = (float) Math.sqrt(dx * dx + dz * dz);
 
         if (distance < 0.1f) {
-            carvingPhysics.applyCarving(skier, pos, vel, dt);
+            ski(skier, pos, vel, dt);
             return;
         }
 
@@ -175,7 +211,7 @@ public class SkierBehaviorSystem implements System {
         float targetDz = dz / distance;
         
         // Get current carving velocity
-        carvingPhysics.applyCarving(skier, pos, vel, dt);
+        ski(skier, pos, vel, dt);
         
         // Blend toward target (70% carving, 30% steering toward target)
         float steerWeight = 0.3f;
@@ -184,32 +220,143 @@ public class SkierBehaviorSystem implements System {
     }
 
     /**
-     * Choose a trail difficulty based on skier's skill level and preferences.
+     * Move along the trail at the skier's detail tier: carving for FULL,
+     * straight down the flow field at cruise speed otherwise.
      */
-    private TrailDifficulty chooseTrailDifficulty(SkierComponent skier) {
-        Random rand = new Random();
-        float r = rand.nextFloat();
-
-        // Use preference weights for weighted random selection
-        float greenWeight = TrailPreferences.getPreference(skier.skillLevel, TrailDifficulty.GREEN);
-        float blueWeight = TrailPreferences.getPreference(skier.skillLevel, TrailDifficulty.BLUE);
-        float blackWeight = TrailPreferences.getPreference(skier.skillLevel, TrailDifficulty.BLACK);
-        float doubleBlackWeight = TrailPreferences.getPreference(skier.skillLevel, TrailDifficulty.DOUBLE_BLACK);
-
-        float total = greenWeight + blueWeight + blackWeight + doubleBlackWeight;
-
-        // Normalize and use cumulative distribution
-        float greenThreshold = greenWeight / total;
-        float blueThreshold = greenThreshold + (blueWeight / total);
-        float blackThreshold = blueThreshold + (blackWeight / total);
-
-        if (r < greenThreshold)
-            return TrailDifficulty.GREEN;
-        if (r < blueThreshold)
-            return TrailDifficulty.BLUE;
-        if (r < blackThreshold)
-            return TrailDifficulty.BLACK;
-        return TrailDifficulty.DOUBLE_BLACK;
+    private void ski(SkierComponent skier, TransformComponent pos, VelocityComponent vel, double dt) {
+        if (skier.lod == SkierComponent.Lod.FULL) {
+            carvingPhysics.applyCarving(skier, pos, vel, dt);
+            return;
+        }
+
+        int x = (int) Math.floor(pos.x);
+        int z = (int) Math.floor(pos.z);
+        TrailFlowFieldCalculator.TrailStep next = flowField.getFlowStep(x, z, map.getHeight(x, z));
+        if (next == null) {
+            trailSeeker.seekNearestTrail(pos, vel);
+            return;
+        }
+        float dx = next.x + 0.5f - pos.x;
+        float dz = next.z + 0.5f - pos.z;
+        float dist = (float) Math.sqrt(dx * dx + dz * dz);
+        if (dist < 0.05f) {
+            return;
+        }
+        float speed = CarvingPhysics.cruiseSpeed(skier);
+        vel.dx = dx / dist * speed;
+        vel.dz = dz / dist * speed;
+    }
+
+    /**
+     * Send a FAR skier down the flow field in one hop and put it to sleep
+     * until it lands.
+     *
+     * @return false if the skier can't hop from here (off trail, at the base,
+     *         next to its lift); it is then simulated as MID
+     */
+    private boolean startHop(Entity entity, SkierComponent skier, TransformComponent pos, VelocityComponent vel) {
+        int x = (int) Math.floor(pos.x);
+        int z = (int) Math.floor(pos.z);
+        if (!map.isValid(x, z) || !map.isTrail(x, z) || z >= map.getBaseZ() - 2
+                || liftDetector.isNearTargetLift(pos, skier.targetLiftId)) {
+            return false;
+        }
+
+        float speed = CarvingPhysics.cruiseSpeed(skier);
+        float maxDistance = speed * FAR_HOP_SECONDS;
+        float distance = 0f;
+        int cx = x;
+        int cz = z;
+        while (cz < map.getBaseZ() - 2) {
+            TrailFlowFieldCalculator.TrailStep next = flowField.getFlowStep(cx, cz, map.getHeight(cx, cz));
+            if (next == null) {
+                break;
+            }
+            float step = (next.x != cx && next.z != cz) ? DIAGONAL_STEP : 1f;
+            if (distance + step > maxDistance) {
+                break;
+            }
+            distance += step;
+            cx = next.x;
+            cz = next.z;
+
+            probe.x = cx + 0.5f;
+            probe.z = cz + 0.5f;
+            if (liftDetector.isNearTargetLift(probe, skier.targetLiftId)) {
+                break; // Land here and queue on the normal path
+            }
+        }
+        if (distance == 0f) {
+            return false;
+        }
+
+        if (skier.targetTrailDifficulty == null) {
+            decisions.request(entity, skier, SkierDecisionScheduler.CHOOSE_DIFFICULTY);
+        }
+        skier.seekTile = SkierComponent.NO_SEEK_TARGET;
+        float duration = distance / speed;
+        updateSatisfaction(skier, map.getTrailDifficulty(x, z), duration);
+
+        double now = engine.getTime();
+        engine.addComponent(entity, new TrailHopComponent(pos.x, pos.y, pos.z,
+                cx + 0.5f, map.getHeight(cx, cz), cz + 0.5f, now, now + duration));
+        vel.dx = 0;
+        vel.dz = 0;
+        engine.sleep(entity, now + duration);
+        hopping.add(entity);
+        return true;
+    }
+
+    /**
+     * A hop ended: put the skier where it landed.
+     */
+    private void land(Entity entity) {
+        TrailHopComponent hop = engine.removeComponent(entity, TrailHopComponent.class);
+        if (hop == null) {
+            return; // Not a hopper
+        }
+        hopping.remove(entity);
+        TransformComponent pos = engine.getComponent(entity, TransformComponent.class);
+        if (pos != null) {
+            hop.positionAt(hop.endTime, pos);
+        }
+    }
+
+    /**
+     * When the view moves, wake hoppers that are now in sight mid-hop so
+     * they continue at full or mid detail from where they would be.
+     */
+    private void wakeVisibleHoppers() {
+        long viewVersion = lod.getVersion();
+        if (viewVersion == hoppingViewVersion) {
+            return;
+        }
+        hoppingViewVersion = viewVersion;
+
+        double now = engine.getTime();
+        Iterator<Entity> it = hopping.iterator();
+        while (it.hasNext()) {
+            Entity entity = it.next();
+            if (engine.getEntity(entity.getId()) == null) {
+                it.remove(); // Removed while asleep (e.g. handed over to flow mode)
+                continue;
+            }
+            TrailHopComponent hop = engine.getComponent(entity, TrailHopComponent.class);
+            TransformComponent pos = engine.getComponent(entity, TransformComponent.class);
+            if (hop == null || pos == null) {
+                it.remove(); // Hop component taken off elsewhere
+                continue;
+            }
+            hop.positionAt(now, probe);
+            if (lod.tierFor(probe.x, probe.z) != SkierComponent.Lod.FAR) {
+                engine.wake(entity);
+                engine.removeComponent(entity, TrailHopComponent.class);
+                pos.x = probe.x;
+                pos.y = probe.y;
+                pos.z = probe.z;
+                it.remove();
+            }
+        }
     }
 
     /**
@@ -0,0 +1,137 @@
+package com.project.tycoon.ecs.systems.skier;
+
+import com.project.tycoon.core.RandomStreams;
+import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.Entity;
+import com.project.tycoon.ecs.System;
+import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.TransformComponent;
+import com.project.tycoon.world.SnapPointManager;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+
+/**
+ * Time-slices skier AI decisions: choosing the next lift, choosing a trail
+ * difficulty and finding a trail to head for.
+ *
+ * Systems request decisions instead of making them inline; requests are
+ * served FIFO, at most decisionsPerTick skiers per tick, so a release wave
+ * off a full lift costs the same per frame as a trickle. Pending kinds are a
+ * bitmask on the SkierComponent, so repeat requests are free and a skier is
+ * queued at most once. Until served, a skier keeps acting on its previous
+ * intent (targetLiftId, targetTrailDifficulty, seekTile).
+ */
+public class SkierDecisionScheduler implements System {
+
+    public static final int CHOOSE_LIFT = 1;
+    public static final int CHOOSE_DIFFICULTY = 2;
+    public static final int SEEK_TRAIL = 4;
+
+    public static final int DEFAULT_DECISIONS_PER_TICK = 64;
+
+    private final Engine engine;
+    private final WorldMap map;
+    private final RandomStreams random;
+    private final LiftPlanner liftPlanner;
+    private final TrailSeeker trailSeeker;
+
+    private final ArrayDeque<UUID> pending = new ArrayDeque<>();
+    private int decisionsPerTick = DEFAULT_DECISIONS_PER_TICK;
+
+    public SkierDecisionScheduler(Engine engine, SnapPointManager snapPointManager, WorldMap map,
+            RandomStreams random) {
+        this.engine = engine;
+        this.map = map;
+        this.random = random;
+        this.liftPlanner = new LiftPlanner(engine, snapPointManager, map, random);
+        this.trailSeeker = new TrailSeeker(map);
+    }
+
+    /**
+     * Ask for decisions to be made for a skier on a later tick.
+     *
+     * @param kinds Bitwise OR of CHOOSE_LIFT, CHOOSE_DIFFICULTY, SEEK_TRAIL
+     */
+    public void request(Entity entity, SkierComponent skier, int kinds) {
+        if (skier.pendingDecisions == 0) {
+            pending.add(entity.getId());
+        }
+        skier.pendingDecisions |= kinds;
+    }
+
+    @Override
+    public void update(double dt) {
+        int served = 0;
+        while (served < decisionsPerTick && !pending.isEmpty()) {
+            Entity entity = engine.getEntity(pending.poll());
+            if (entity == null) {
+                continue; // Despawned while waiting
+            }
+            SkierComponent skier = engine.getComponent(entity, SkierComponent.class);
+            if (skier == null || skier.pendingDecisions == 0) {
+                continue;
+            }
+            decide(entity, skier);
+            served++;
+        }
+    }
+
+    private void decide(Entity entity, SkierComponent skier) {
+        int kinds = skier.pendingDecisions;
+        skier.pendingDecisions = 0;
+        TransformComponent pos = engine.getComponent(entity, TransformComponent.class);
+
+        if ((kinds & CHOOSE_DIFFICULTY) != 0) {
+            skier.targetTrailDifficulty = chooseTrailDifficulty(skier);
+        }
+        if ((kinds & CHOOSE_LIFT) != 0 && pos != null) {
+            skier.targetLiftId = liftPlanner.chooseNextLift(skier, pos);
+        }
+        if ((kinds & SEEK_TRAIL) != 0 && pos != null) {
+            int x = (int) Math.floor(pos.x);
+            int z = (int) Math.floor(pos.z);
+            int tile = trailSeeker.findPreferredTrail(x, z, skier);
+            if (tile < 0) {
+                tile = trailSeeker.findNearestTrail(x, z);
+            }
+            skier.seekTile = tile >= 0 ? tile : SkierComponent.SEEK_DOWNHILL;
+        }
+    }
+
+    /**
+     * Choose a trail difficulty based on skier's skill level and preferences.
+     */
+    private TrailDifficulty chooseTrailDifficulty(SkierComponent skier) {
+        return TrailPreferences.sampleDifficulty(skier.skillLevel,
+                random.nextFloat(skier.randomSeed, skier.randomDraws++));
+    }
+
+    /**
+     * Maximum skiers served per tick.
+     */
+    public void setDecisionsPerTick(int decisionsPerTick) {
+        this.decisionsPerTick = Math.max(1, decisionsPerTick);
+    }
+
+    public int getDecisionsPerTick() {
+        return decisionsPerTick;
+    }
+
+    /**
+     * Skiers waiting for a decision.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Whether a trail tile chosen by SEEK_TRAIL is still worth heading for.
+     */
+    boolean isValidSeekTarget(int tile) {
+        return tile >= 0 && tile < map.getWidth() * map.getDepth()
+                && map.isTrail(tile % map.getWidth(), tile / map.getWidth());
+    }
+}
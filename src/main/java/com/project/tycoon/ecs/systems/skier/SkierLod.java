@@ -0,0 +1,78 @@
+package com.project.tycoon.ecs.systems.skier;
+
+import com.project.tycoon.ecs.components.SkierComponent;
+
+/**
+ * Decides how much simulation detail each skier gets, from the part of the
+ * map the camera currently shows.
+ *
+ * Skiers on or near the screen get FULL detail (carving, slope physics) unless
+ * the view is zoomed out so far that individual turns can't be seen; skiers
+ * in a wider band around the view are MID (flow-field following at a reduced
+ * tick rate); everyone else is FAR (hops along the trail flow field with
+ * analytic timing). With no view set (headless runs, tests) every skier is FULL.
+ */
+public class SkierLod {
+
+    private static final float FULL_MARGIN = 16f; // Tiles around the view that stay FULL
+    private static final float MID_MARGIN = 64f; // Tiles around the view that stay MID
+    private static final float MAX_DETAIL_VIEW_SIZE = 192f; // Wider views drop on-screen skiers to MID
+
+    private boolean hasView = false;
+    private float minX, minZ, maxX, maxZ;
+    private boolean zoomedOut;
+    private long version = 0; // Bumped whenever the view changes
+
+    /**
+     * Set the visible ground rectangle in tile coordinates.
+     */
+    public void setView(float minX, float minZ, float maxX, float maxZ) {
+        if (hasView && minX == this.minX && minZ == this.minZ && maxX == this.maxX && maxZ == this.maxZ) {
+            return;
+        }
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxZ = maxZ;
+        this.zoomedOut = Math.max(maxX - minX, maxZ - minZ) > MAX_DETAIL_VIEW_SIZE;
+        this.hasView = true;
+        version++;
+    }
+
+    /**
+     * Forget the view: every skier goes back to FULL.
+     */
+    public void clearView() {
+        if (hasView) {
+            hasView = false;
+            version++;
+        }
+    }
+
+    /**
+     * Changes whenever the view does.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Detail tier for a skier at a position.
+     */
+    public SkierComponent.Lod tierFor(float x, float z) {
+        if (!hasView) {
+            return SkierComponent.Lod.FULL;
+        }
+        if (!zoomedOut && within(x, z, FULL_MARGIN)) {
+            return SkierComponent.Lod.FULL;
+        }
+        if (within(x, z, MID_MARGIN)) {
+            return SkierComponent.Lod.MID;
+        }
+        return SkierComponent.Lod.FAR;
+    }
+
+    private boolean within(float x, float z, float margin) {
+        return x >= minX - margin && x <= maxX + margin && z >= minZ - margin && z <= maxZ + margin;
+    }
+}
@@ -7,6 +7,7 @@ import com.project.tycoon.ecs.components.LiftComponent;
 import com.project.tycoon.ecs.components.SkierComponent;
 import com.project.tycoon.ecs.components.TransformComponent;
 import com.project.tycoon.ecs.components.VelocityComponent;
+import com.project.tycoon.world.model.WorldMap;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -19,17 +20,20 @@ import java.util.UUID;
 public class SkierNavigationSystem implements System {
 
     private final Engine engine;
+    private final WorldMap worldMap;
     private static final float NAVIGATION_SPEED = 3.0f;
     private static final float LIFT_DETECTION_RADIUS = 15.0f;
 
-    public SkierNavigationSystem(Engine engine, com.project.tycoon.world.SnapPointManager snapPointManager) {
+    public SkierNavigationSystem(Engine engine, com.project.tycoon.world.SnapPointManager snapPointManager,
+            WorldMap worldMap) {
         this.engine = engine;
+        this.worldMap = worldMap;
         // snapPointManager kept for API compatibility but not used
     }
 
     @Override
     public void update(double dt) {
-        for (Entity entity : engine.getEntities()) {
+        for (Entity entity : engine.getActiveEntities()) {
             if (!engine.hasComponent(entity, SkierComponent.class)) {
                 continue;
             }
@@ -62,7 +66,7 @@ public class SkierNavigationSystem implements System {
         }
         
         // Only allow walking navigation from BASE area
-        if (pos.z < SkierSpawnerSystem.BASE_Z - 20) {
+        if (pos.z < worldMap.getBaseZ() - 20) {
             // Mid-mountain! Force back to skiing
             vel.dx = 0;
             vel.dz = 0;
@@ -6,36 +6,43 @@ import com.project.tycoon.ecs.System;
 import com.project.tycoon.ecs.components.SkierComponent;
 import com.project.tycoon.ecs.components.TransformComponent;
 import com.project.tycoon.ecs.components.VelocityComponent;
-import com.project.tycoon.world.model.Tile;
+import com.project.tycoon.world.SlopeField;
 import com.project.tycoon.world.model.WorldMap;
 
 /**
  * Applies slope-based physics to skiing entities.
- * Calculates terrain gradients and applies gravity-based acceleration downhill.
+ * Samples the precomputed terrain gradient and applies gravity-based
+ * acceleration downhill.
  */
 public class SkierPhysicsSystem implements System {
 
     private final Engine engine;
     private final WorldMap map;
+    private final SlopeField slopeField;
+    private final float[] gradient = new float[2]; // Scratch {gradX, gradZ}
 
     private static final float GRAVITY = 5.0f;
 
-    public SkierPhysicsSystem(Engine engine, WorldMap map) {
+    public SkierPhysicsSystem(Engine engine, WorldMap map, SlopeField slopeField) {
         this.engine = engine;
         this.map = map;
+        this.slopeField = slopeField;
     }
 
     @Override
     public void update(double dt) {
-        for (Entity entity : engine.getEntities()) {
+        slopeField.refresh();
+
+        for (Entity entity : engine.getActiveEntities()) {
             if (engine.hasComponent(entity, SkierComponent.class) &&
                     engine.hasComponent(entity, TransformComponent.class) &&
                     engine.hasComponent(entity, VelocityComponent.class)) {
 
                 SkierComponent skier = engine.getComponent(entity, SkierComponent.class);
 
-                // Only apply physics to skiing entities
-                if (skier.state == SkierComponent.State.SKIING) {
+                // Only apply physics to skiing entities at full detail; MID skiers
+                // follow the flow field directly (see SkierBehaviorSystem)
+                if (skier.state == SkierComponent.State.SKIING && skier.lod == SkierComponent.Lod.FULL) {
                     TransformComponent pos = engine.getComponent(entity, TransformComponent.class);
                     VelocityComponent vel = engine.getComponent(entity, VelocityComponent.class);
                     applySlopePhysics(pos, vel, dt);
@@ -54,26 +61,13 @@ public class SkierPhysicsSystem implements System {
         if (!map.isValid(x, z))
             return;
 
-        // Calculate Local Gradient
-        // Compare height with neighbors to find "Downhill" direction
-        Tile current = map.getTile(x, z);
-
-        // Sample neighbors in ALL directions for accurate gradient (central difference)
-        Tile left = map.getTile(x - 1, z);
-        Tile right = map.getTile(x + 1, z);
-        Tile up = map.getTile(x, z - 1);
-        Tile down = map.getTile(x, z + 1);
-
-        float h = current.getHeight();
-        float hLeft = (left != null) ? left.getHeight() : h;
-        float hRight = (right != null) ? right.getHeight() : h;
-        float hUp = (up != null) ? up.getHeight() : h;
-        float hDown = (down != null) ? down.getHeight() : h;
+        float h = map.getHeight(x, z);
 
-        // Central difference gradient (more accurate and bidirectional)
-        // Positive gradient = uphill in that direction
-        float gradientX = (hRight - hLeft) / 2.0f;
-        float gradientZ = (hDown - hUp) / 2.0f;
+        // Local gradient, bilinearly blended between tile centers so the force
+        // doesn't jump at tile borders. Positive gradient = uphill in that direction
+        slopeField.sampleGradient(pos.x, pos.z, gradient);
+        float gradientX = gradient[0];
+        float gradientZ = gradient[1];
 
         // Apply forces downhill (opposite of gradient direction)
         // Negative gradient = downhill = accelerate in that direction
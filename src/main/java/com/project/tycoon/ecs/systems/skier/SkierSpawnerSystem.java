@@ -1,5 +1,6 @@
 package com.project.tycoon.ecs.systems.skier;
 
+import com.project.tycoon.core.RandomStreams;
 import com.project.tycoon.ecs.Engine;
 import com.project.tycoon.ecs.Entity;
 import com.project.tycoon.ecs.System;
@@ -22,20 +23,21 @@ public class SkierSpawnerSystem implements System {
 
     private final Engine engine;
     private final WorldMap worldMap;
+    private final RandomStreams random;
     private VisitorManager visitorManager; // Injected after construction
 
     // Spawning configuration
-    private static final int TARGET_POPULATION = 75;
-    private static final int SPAWN_X = 128; // Center of map
-    public static final int BASE_Z = 250; // Bottom of map (base lodge)
-    private static final float SPAWN_INTERVAL = 2.0f; // seconds between spawns
+    public static final int TARGET_POPULATION = 75;
+    public static final float SPAWN_INTERVAL = 2.0f; // seconds between spawns
     private static final int SPAWN_SPREAD = 5; // Random spread around spawn point
 
     private float timeSinceLastSpawn = 0.0f;
+    private long spawnCount = 0; // Counter into the SPAWNER stream
 
-    public SkierSpawnerSystem(Engine engine, WorldMap worldMap) {
+    public SkierSpawnerSystem(Engine engine, WorldMap worldMap, RandomStreams random) {
         this.engine = engine;
         this.worldMap = worldMap;
+        this.random = random;
     }
 
     /**
@@ -94,10 +96,31 @@ public class SkierSpawnerSystem implements System {
     }
 
     private void spawnSkier() {
+        // Skill is draw 0 of the stream the new skier will own
+        long skierSeed = random.hash(RandomStreams.SPAWNER, spawnCount);
+        spawnSkier(SkillLevel.randomSkill(random.nextDouble(skierSeed, 0))); // Use realistic distribution
+    }
+
+    /**
+     * Take the next spawn from the SPAWNER stream and return the seed of the
+     * stream that skier owns (draw 0 picks the skill). Shared with the
+     * aggregate simulation, so spawns are never numbered twice across modes.
+     */
+    public long nextSkierSeed() {
+        return random.hash(RandomStreams.SPAWNER, spawnCount++);
+    }
+
+    /**
+     * Spawn a skier of a given skill at the base (also used to hand skiers
+     * over from the aggregate simulation mode). Does not count as a new visitor.
+     */
+    public Entity spawnSkier(SkillLevel skillLevel) {
+        long skierSeed = nextSkierSeed();
+        int draw = 1;
+
         // Random position around spawn point
-        java.util.Random rand = new java.util.Random();
-        int spawnX = SPAWN_X + rand.nextInt(SPAWN_SPREAD * 2) - SPAWN_SPREAD;
-        int spawnZ = BASE_Z + rand.nextInt(SPAWN_SPREAD * 2) - SPAWN_SPREAD;
+        int spawnX = worldMap.getBaseX() + random.nextInt(skierSeed, draw++, SPAWN_SPREAD * 2) - SPAWN_SPREAD;
+        int spawnZ = worldMap.getBaseZ() + random.nextInt(skierSeed, draw++, SPAWN_SPREAD * 2) - SPAWN_SPREAD;
 
         // Clamp to map bounds
         spawnX = Math.max(0, Math.min(spawnX, worldMap.getWidth() - 1));
@@ -114,7 +137,7 @@ public class SkierSpawnerSystem implements System {
 
         SkierComponent skierComp = new SkierComponent();
         skierComp.state = SkierComponent.State.WAITING;
-        skierComp.skillLevel = SkillLevel.randomSkill(rand); // Use realistic distribution
+        skierComp.skillLevel = skillLevel;
         skierComp.satisfaction = 50.0f; // Start neutral
 
         // Initialize carving parameters based on skill level
@@ -134,10 +157,12 @@ public class SkierSpawnerSystem implements System {
         }
 
         // Add randomness so not all same-skill skiers are identical
-        skierComp.carvingSpeed *= (0.8f + rand.nextFloat() * 0.4f); // ±20% variation
-        skierComp.carvingPhase = rand.nextFloat() * (float) (2 * Math.PI); // Start at random phase
-        skierComp.randomSeed = rand.nextLong(); // Unique seed per skier
+        skierComp.carvingSpeed *= (0.8f + random.nextFloat(skierSeed, draw++) * 0.4f); // ±20% variation
+        skierComp.carvingPhase = random.nextFloat(skierSeed, draw++) * (float) (2 * Math.PI); // Start at random phase
+        skierComp.randomSeed = skierSeed; // Unique stream per skier
+        skierComp.randomDraws = draw;
 
         engine.addComponent(skier, skierComp);
+        return skier;
     }
 }
@@ -1,33 +1,49 @@
 package com.project.tycoon.ecs.systems.skier;
 
-import com.project.tycoon.world.model.Tile;
+import com.project.tycoon.world.model.DirtyRegion;
 import com.project.tycoon.world.model.WorldMap;
 
 /**
  * Calculates a flow field for trails using BFS from the base area.
  * This provides downhill navigation for skiers.
+ *
+ * Unlike the other change-log consumers this is a full rebuild over the trail
+ * bounding box rather than a dirty-region update: distances are measured to
+ * the base, so one painted or erased tile can change the distance, and the
+ * next step, of every tile upstream of it. The arrays are reused between
+ * rebuilds, and only trail changes trigger one.
  */
 public class TrailFlowFieldCalculator {
     
     private final WorldMap map;
     
-    private int[][] trailDistance;
-    private int[][] trailNextX;
-    private int[][] trailNextZ;
+    // Field covers only the trail bounding box [originX, originX + boxWidth) x [originZ, originZ + boxDepth),
+    // stored as 1D arrays indexed by (z - originZ) * boxWidth + (x - originX)
+    private int originX;
+    private int originZ;
+    private int boxWidth;
+    private int boxDepth;
+    private int[] trailDistance;
+    private int[] trailNextX;
+    private int[] trailNextZ;
     private boolean flowReady = false;
+    private long builtVersion = -1; // Last WorldMap version the field was computed for
     
     public TrailFlowFieldCalculator(WorldMap map) {
         this.map = map;
     }
     
     /**
-     * Rebuild the flow field if the map has changed.
+     * Rebuild the flow field if trails have changed.
+     * Height and decoration edits don't affect the trail graph, so they are ignored.
      */
     public void update() {
-        if (flowReady && !map.isDirty()) {
+        long version = map.getVersion(); // Read first, see WorldMap
+        if (map.getChangesSince(builtVersion, WorldMap.CHANGE_TRAIL) == null) {
             return;
         }
         
+        builtVersion = version;
         calculateFlowField();
     }
     
@@ -37,26 +53,19 @@ public class TrailFlowFieldCalculator {
      * @return TrailStep with next coordinates and height drop, or null if no path
      */
     public TrailStep getFlowStep(int x, int z, int currentHeight) {
-        if (!flowReady || trailNextX == null || trailNextZ == null) {
-            return null;
-        }
-        if (!map.isValid(x, z)) {
+        if (!flowReady || !inBox(x, z)) {
             return null;
         }
         
-        int nx = trailNextX[x][z];
-        int nz = trailNextZ[x][z];
+        int index = boxIndex(x, z);
+        int nx = trailNextX[index];
+        int nz = trailNextZ[index];
         
         if (nx < 0 || nz < 0) {
             return null;
         }
         
-        Tile next = map.getTile(nx, nz);
-        if (next == null) {
-            return null;
-        }
-        
-        int heightDrop = currentHeight - next.getHeight();
+        int heightDrop = currentHeight - map.getHeight(nx, nz);
         return new TrailStep(nx, nz, heightDrop);
     }
     
@@ -64,58 +73,53 @@ public class TrailFlowFieldCalculator {
         return flowReady;
     }
     
+    private boolean inBox(int x, int z) {
+        return x >= originX && x < originX + boxWidth && z >= originZ && z < originZ + boxDepth;
+    }
+    
+    private int boxIndex(int x, int z) {
+        return (z - originZ) * boxWidth + (x - originX);
+    }
+    
     /**
      * Calculate the flow field using BFS from base area.
      */
     private void calculateFlowField() {
-        int width = map.getWidth();
-        int depth = map.getDepth();
-        
-        trailDistance = new int[width][depth];
-        trailNextX = new int[width][depth];
-        trailNextZ = new int[width][depth];
-        
-        // Initialize arrays
-        for (int x = 0; x < width; x++) {
-            for (int z = 0; z < depth; z++) {
-                trailDistance[x][z] = -1;
-                trailNextX[x][z] = -1;
-                trailNextZ[x][z] = -1;
-            }
+        DirtyRegion bounds = map.getTrailBounds();
+        if (bounds == null) {
+            flowReady = false;
+            trailDistance = null;
+            trailNextX = null;
+            trailNextZ = null;
+            return;
         }
         
-        java.util.ArrayDeque<int[]> queue = new java.util.ArrayDeque<>();
-        int maxTrailZ = -1;
-        boolean hasTrail = false;
-        
-        // Find max trail Z (lowest on mountain)
-        for (int z = 0; z < depth; z++) {
-            for (int x = 0; x < width; x++) {
-                Tile tile = map.getTile(x, z);
-                if (tile != null && tile.isTrail()) {
-                    hasTrail = true;
-                    if (z > maxTrailZ) {
-                        maxTrailZ = z;
-                    }
-                }
-            }
+        // Trail tiles only connect to trail tiles, so the bounding box holds the whole graph
+        originX = bounds.minX;
+        originZ = bounds.minZ;
+        boxWidth = bounds.maxX - bounds.minX + 1;
+        boxDepth = bounds.maxZ - bounds.minZ + 1;
+        int maxTrailZ = bounds.maxZ; // Lowest trail row on the mountain
+        
+        int size = boxWidth * boxDepth;
+        if (trailDistance == null || trailDistance.length < size) {
+            trailDistance = new int[size];
+            trailNextX = new int[size];
+            trailNextZ = new int[size];
         }
+        java.util.Arrays.fill(trailDistance, 0, size, -1);
+        java.util.Arrays.fill(trailNextX, 0, size, -1);
+        java.util.Arrays.fill(trailNextZ, 0, size, -1);
         
-        if (!hasTrail) {
-            flowReady = false;
-            return;
-        }
+        java.util.ArrayDeque<int[]> queue = new java.util.ArrayDeque<>();
+        int baseRowZ = map.getBaseZ() - 2;
         
         // Seed BFS from base area trails
         boolean seeded = false;
-        for (int z = 0; z < depth; z++) {
-            for (int x = 0; x < width; x++) {
-                Tile tile = map.getTile(x, z);
-                if (tile == null || !tile.isTrail()) {
-                    continue;
-                }
-                if (z >= SkierSpawnerSystem.BASE_Z - 2) {
-                    trailDistance[x][z] = 0;
+        for (int z = Math.max(originZ, baseRowZ); z <= maxTrailZ; z++) {
+            for (int x = originX; x < originX + boxWidth; x++) {
+                if (map.isTrail(x, z)) {
+                    trailDistance[boxIndex(x, z)] = 0;
                     queue.add(new int[] { x, z });
                     seeded = true;
                 }
@@ -123,17 +127,11 @@ public class TrailFlowFieldCalculator {
         }
         
         // Fallback: seed from max Z if no base trails found
-        if (!seeded && maxTrailZ >= 0) {
-            for (int z = 0; z < depth; z++) {
-                for (int x = 0; x < width; x++) {
-                    Tile tile = map.getTile(x, z);
-                    if (tile == null || !tile.isTrail()) {
-                        continue;
-                    }
-                    if (z == maxTrailZ) {
-                        trailDistance[x][z] = 0;
-                        queue.add(new int[] { x, z });
-                    }
+        if (!seeded) {
+            for (int x = originX; x < originX + boxWidth; x++) {
+                if (map.isTrail(x, maxTrailZ)) {
+                    trailDistance[boxIndex(x, maxTrailZ)] = 0;
+                    queue.add(new int[] { x, maxTrailZ });
                 }
             }
         }
@@ -146,49 +144,50 @@ public class TrailFlowFieldCalculator {
             int[] cur = queue.removeFirst();
             int cx = cur[0];
             int cz = cur[1];
-            int dist = trailDistance[cx][cz];
+            int dist = trailDistance[boxIndex(cx, cz)];
             
             for (int i = 0; i < dxs.length; i++) {
                 int nx = cx + dxs[i];
                 int nz = cz + dzs[i];
                 
-                if (!map.isValid(nx, nz)) {
+                if (!inBox(nx, nz)) {
                     continue;
                 }
-                if (trailDistance[nx][nz] != -1) {
+                int nIndex = boxIndex(nx, nz);
+                if (trailDistance[nIndex] != -1) {
                     continue;
                 }
                 
-                Tile neighbor = map.getTile(nx, nz);
-                if (neighbor == null || !neighbor.isTrail()) {
+                if (!map.isTrail(nx, nz)) {
                     continue;
                 }
                 
-                trailDistance[nx][nz] = dist + 1;
+                trailDistance[nIndex] = dist + 1;
                 queue.add(new int[] { nx, nz });
             }
         }
         
         // Calculate next steps (gradient descent)
-        for (int z = 0; z < depth; z++) {
-            for (int x = 0; x < width; x++) {
-                if (trailDistance[x][z] <= 0) {
+        for (int z = originZ; z < originZ + boxDepth; z++) {
+            for (int x = originX; x < originX + boxWidth; x++) {
+                int index = boxIndex(x, z);
+                if (trailDistance[index] <= 0) {
                     continue;
                 }
                 
                 int bestNx = -1;
                 int bestNz = -1;
-                int bestDist = trailDistance[x][z];
+                int bestDist = trailDistance[index];
                 
                 for (int i = 0; i < dxs.length; i++) {
                     int nx = x + dxs[i];
                     int nz = z + dzs[i];
                     
-                    if (!map.isValid(nx, nz)) {
+                    if (!inBox(nx, nz)) {
                         continue;
                     }
                     
-                    int nDist = trailDistance[nx][nz];
+                    int nDist = trailDistance[boxIndex(nx, nz)];
                     if (nDist >= 0 && nDist < bestDist) {
                         bestDist = nDist;
                         bestNx = nx;
@@ -197,8 +196,8 @@ public class TrailFlowFieldCalculator {
                 }
                 
                 if (bestNx != -1) {
-                    trailNextX[x][z] = bestNx;
-                    trailNextZ[x][z] = bestNz;
+                    trailNextX[index] = bestNx;
+                    trailNextZ[index] = bestNz;
                 }
             }
         }
@@ -3,82 +3,59 @@ package com.project.tycoon.ecs.systems.skier;
 import com.project.tycoon.ecs.components.SkillLevel;
 import com.project.tycoon.world.model.TrailDifficulty;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+
 /**
  * Defines trail preferences for each skill level.
  * Higher weight = stronger preference for that difficulty.
+ *
+ * Weights are compiled into flat [skill][difficulty] tables together with the
+ * satisfaction changes, the cumulative distribution and an alias table for
+ * sampling, so every query is an array lookup. A reload compiles new tables
+ * and swaps them in whole; callers that cache derived values compare
+ * getVersion().
+ *
+ * Designers can override weights in a properties file (see configFile()),
+ * one key per skill and difficulty, e.g. {@code beginner.green = 0.7} or
+ * {@code expert.double_black = 0.6}. Missing keys keep their defaults.
  */
 public class TrailPreferences {
 
+    private static final SkillLevel[] SKILLS = SkillLevel.values();
+    private static final TrailDifficulty[] DIFFICULTIES = TrailDifficulty.values();
+
+    // [skill][difficulty]: GREEN, BLUE, BLACK, DOUBLE_BLACK
+    private static final float[][] DEFAULT_WEIGHTS = {
+            { 0.70f, 0.30f, 0.00f, 0.00f }, // Beginner: love greens, try some blues
+            { 0.20f, 0.60f, 0.20f, 0.00f }, // Intermediate: mostly blues
+            { 0.05f, 0.25f, 0.50f, 0.20f }, // Advanced: mostly blacks
+            { 0.02f, 0.08f, 0.30f, 0.60f }, // Expert: mostly double blacks
+    };
+
+    private static volatile Tables tables = new Tables(DEFAULT_WEIGHTS, 0);
+    private static long loadedModified = -1; // Config file timestamp, -1 = not loaded
+
     /**
      * Get preference weight for a skill level on a specific trail difficulty.
-     * 
+     *
      * @param skill      Skier's skill level
      * @param difficulty Trail difficulty
      * @return Preference weight (0.0 = avoid, 0.5 = acceptable, 1.0 = perfect
      *         match)
      */
     public static float getPreference(SkillLevel skill, TrailDifficulty difficulty) {
-        switch (skill) {
-            case BEGINNER:
-                switch (difficulty) {
-                    case GREEN:
-                        return 0.70f; // Love greens
-                    case BLUE:
-                        return 0.30f; // Try some blues
-                    case BLACK:
-                        return 0.00f; // Avoid blacks
-                    case DOUBLE_BLACK:
-                        return 0.00f; // Avoid double blacks
-                }
-                break;
-
-            case INTERMEDIATE:
-                switch (difficulty) {
-                    case GREEN:
-                        return 0.20f; // Some greens
-                    case BLUE:
-                        return 0.60f; // Mostly blues
-                    case BLACK:
-                        return 0.20f; // Some blacks
-                    case DOUBLE_BLACK:
-                        return 0.00f; // Avoid double blacks
-                }
-                break;
-
-            case ADVANCED:
-                switch (difficulty) {
-                    case GREEN:
-                        return 0.05f; // Few greens
-                    case BLUE:
-                        return 0.25f; // Some blues
-                    case BLACK:
-                        return 0.50f; // Mostly blacks
-                    case DOUBLE_BLACK:
-                        return 0.20f; // Some double blacks
-                }
-                break;
-
-            case EXPERT:
-                switch (difficulty) {
-                    case GREEN:
-                        return 0.02f; // Very few greens
-                    case BLUE:
-                        return 0.08f; // Few blues
-                    case BLACK:
-                        return 0.30f; // Some blacks
-                    case DOUBLE_BLACK:
-                        return 0.60f; // Mostly double blacks
-                }
-                break;
-        }
-
-        // Default fallback
-        return 0.10f;
+        return tables.weights[skill.ordinal()][difficulty.ordinal()];
     }
 
     /**
      * Check if a skill level would accept a trail difficulty.
-     * 
+     *
      * @param skill      Skier's skill level
      * @param difficulty Trail difficulty
      * @return true if preference >= 0.15 (reasonable match)
@@ -89,7 +66,7 @@ public class TrailPreferences {
 
     /**
      * Check if a skill level strongly prefers a trail difficulty.
-     * 
+     *
      * @param skill      Skier's skill level
      * @param difficulty Trail difficulty
      * @return true if preference >= 0.5 (strong match)
@@ -100,22 +77,238 @@ public class TrailPreferences {
 
     /**
      * Get satisfaction gain/loss for skiing a trail.
-     * 
+     *
      * @param skill      Skier's skill level
      * @param difficulty Trail they skied
-     * @return Satisfaction change (-20 to +15)
+     * @return Satisfaction change (-15 to +15)
      */
     public static float getSatisfactionChange(SkillLevel skill, TrailDifficulty difficulty) {
-        float preference = getPreference(skill, difficulty);
-
-        if (preference >= 0.5f) {
-            return 15.0f; // Perfect match - big satisfaction boost
-        } else if (preference >= 0.2f) {
-            return 8.0f; // Acceptable - moderate boost
-        } else if (preference >= 0.1f) {
-            return 0.0f; // Barely acceptable - neutral
-        } else {
-            return -15.0f; // Wrong difficulty - satisfaction loss
+        return tables.satisfaction[skill.ordinal()][difficulty.ordinal()];
+    }
+
+    /**
+     * Probability that a skier of this skill picks a difficulty at or below
+     * the given one (weights normalized per skill).
+     */
+    public static float getCumulativeProbability(SkillLevel skill, TrailDifficulty difficulty) {
+        return tables.cumulative[skill.ordinal()][difficulty.ordinal()];
+    }
+
+    /**
+     * Pick a difficulty in proportion to the skill's weights, in O(1) with
+     * the alias method.
+     *
+     * @param u Uniform random value in [0, 1)
+     */
+    public static TrailDifficulty sampleDifficulty(SkillLevel skill, float u) {
+        Tables current = tables;
+        int s = skill.ordinal();
+        float scaled = u * DIFFICULTIES.length;
+        int column = Math.min((int) scaled, DIFFICULTIES.length - 1);
+        boolean keep = scaled - column < current.aliasProbability[s][column];
+        return DIFFICULTIES[keep ? column : current.alias[s][column]];
+    }
+
+    /**
+     * Incremented on every load, for callers caching values derived from the weights.
+     */
+    public static long getVersion() {
+        return tables.version;
+    }
+
+    // ==== CONFIGURATION ====
+
+    /**
+     * Designer overrides: -Dtycoon.trailPreferences=path, or
+     * ~/.ski-resort-tycoon/trail-preferences.properties.
+     */
+    public static Path configFile() {
+        String override = System.getProperty("tycoon.trailPreferences");
+        return override != null ? Paths.get(override)
+                : Paths.get(System.getProperty("user.home"), ".ski-resort-tycoon", "trail-preferences.properties");
+    }
+
+    /**
+     * Load the config file if it was created or changed since the last call.
+     * A broken file is reported and leaves the current tables in place.
+     *
+     * @return true if new weights were loaded
+     */
+    public static synchronized boolean reloadIfModified() {
+        Path file = configFile();
+        long modified;
+        try {
+            modified = Files.isRegularFile(file) ? Files.getLastModifiedTime(file).toMillis() : -1;
+        } catch (IOException e) {
+            modified = -1;
+        }
+        if (modified == loadedModified || modified < 0) {
+            return false;
+        }
+        loadedModified = modified;
+
+        try {
+            load(file);
+            System.out.println("Loaded trail preferences from " + file);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring trail preferences in " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Load weights from a properties file (see class comment for keys).
+     */
+    public static void load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        load(properties);
+    }
+
+    /**
+     * Compile weights over the defaults and swap them in.
+     *
+     * @throws IllegalArgumentException For unknown keys, bad numbers, negative
+     *                                  weights or a skill with no positive weight
+     *                                  (the current tables are kept)
+     */
+    public static synchronized void load(Properties properties) {
+        float[][] weights = new float[SKILLS.length][];
+        for (int s = 0; s < SKILLS.length; s++) {
+            weights[s] = DEFAULT_WEIGHTS[s].clone();
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            SkillLevel skill = dot > 0 ? parse(SkillLevel.class, key.substring(0, dot)) : null;
+            TrailDifficulty difficulty = dot > 0 ? parse(TrailDifficulty.class, key.substring(dot + 1)) : null;
+            if (skill == null || difficulty == null) {
+                throw new IllegalArgumentException("Unknown key '" + key + "'");
+            }
+
+            float weight;
+            try {
+                weight = Float.parseFloat(properties.getProperty(key).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("'" + key + "' is not a number");
+            }
+            if (!(weight >= 0f) || Float.isInfinite(weight)) {
+                throw new IllegalArgumentException("'" + key + "' must be a non-negative number");
+            }
+            weights[skill.ordinal()][difficulty.ordinal()] = weight;
+        }
+
+        tables = new Tables(weights, tables.version + 1);
+    }
+
+    /**
+     * Back to the built-in weights.
+     */
+    public static synchronized void resetToDefaults() {
+        tables = new Tables(DEFAULT_WEIGHTS, tables.version + 1);
+        loadedModified = -1;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Immutable compiled tables; replaced as a whole on reload.
+     */
+    private static final class Tables {
+        final long version;
+        final float[][] weights = new float[SKILLS.length][DIFFICULTIES.length];
+        final float[][] satisfaction = new float[SKILLS.length][DIFFICULTIES.length];
+        final float[][] cumulative = new float[SKILLS.length][DIFFICULTIES.length];
+        final float[][] aliasProbability = new float[SKILLS.length][DIFFICULTIES.length];
+        final int[][] alias = new int[SKILLS.length][DIFFICULTIES.length];
+
+        Tables(float[][] source, long version) {
+            this.version = version;
+            for (int s = 0; s < SKILLS.length; s++) {
+                float total = 0f;
+                for (int d = 0; d < DIFFICULTIES.length; d++) {
+                    weights[s][d] = source[s][d];
+                    satisfaction[s][d] = satisfactionFor(source[s][d]);
+                    total += source[s][d];
+                }
+                if (!(total > 0f)) {
+                    throw new IllegalArgumentException(SKILLS[s] + " needs at least one positive weight");
+                }
+
+                float running = 0f;
+                for (int d = 0; d < DIFFICULTIES.length; d++) {
+                    running += source[s][d] / total;
+                    cumulative[s][d] = running;
+                }
+                cumulative[s][DIFFICULTIES.length - 1] = 1f; // No rounding gap at the top
+                buildAlias(s, source[s], total);
+            }
+        }
+
+        /**
+         * Vose's alias method: each column keeps its own difficulty with
+         * aliasProbability, otherwise it yields alias.
+         */
+        private void buildAlias(int s, float[] source, float total) {
+            int n = DIFFICULTIES.length;
+            float[] scaled = new float[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int d = 0; d < n; d++) {
+                scaled[d] = source[d] / total * n;
+                if (scaled[d] < 1f) {
+                    small[smallCount++] = d;
+                } else {
+                    large[largeCount++] = d;
+                }
+            }
+
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                aliasProbability[s][less] = scaled[less];
+                alias[s][less] = more;
+                scaled[more] = (scaled[more] + scaled[less]) - 1f;
+                if (scaled[more] < 1f) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // Leftovers are 1 up to rounding
+            while (largeCount > 0) {
+                int d = large[--largeCount];
+                aliasProbability[s][d] = 1f;
+                alias[s][d] = d;
+            }
+            while (smallCount > 0) {
+                int d = small[--smallCount];
+                aliasProbability[s][d] = 1f;
+                alias[s][d] = d;
+            }
+        }
+
+        private static float satisfactionFor(float preference) {
+            if (preference >= 0.5f) {
+                return 15.0f; // Perfect match - big satisfaction boost
+            } else if (preference >= 0.2f) {
+                return 8.0f; // Acceptable - moderate boost
+            } else if (preference >= 0.1f) {
+                return 0.0f; // Barely acceptable - neutral
+            } else {
+                return -15.0f; // Wrong difficulty - satisfaction loss
+            }
         }
     }
 }
@@ -1,6 +1,5 @@
 package com.project.tycoon.ecs.systems.skier;
 
-import com.project.tycoon.world.model.Tile;
 import com.project.tycoon.world.model.WorldMap;
 
 /**
@@ -46,8 +45,7 @@ public class TrailScanner {
                 break;
             }
             
-            Tile t = map.getTile(checkX, iz);
-            if (t == null || !t.isTrail()) {
+            if (!map.isTrail(checkX, iz)) {
                 leftEdge = checkX + 1;
                 break;
             }
@@ -70,8 +68,7 @@ public class TrailScanner {
                 break;
             }
             
-            Tile t = map.getTile(checkX, iz);
-            if (t == null || !t.isTrail()) {
+            if (!map.isTrail(checkX, iz)) {
                 rightEdge = checkX - 1;
                 break;
             }
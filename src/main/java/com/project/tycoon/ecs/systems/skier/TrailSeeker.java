@@ -3,8 +3,6 @@ package com.project.tycoon.ecs.systems.skier;
 import com.project.tycoon.ecs.components.SkierComponent;
 import com.project.tycoon.ecs.components.TransformComponent;
 import com.project.tycoon.ecs.components.VelocityComponent;
-import com.project.tycoon.world.model.Tile;
-import com.project.tycoon.world.model.TrailDifficulty;
 import com.project.tycoon.world.model.WorldMap;
 
 /**
@@ -28,8 +26,20 @@ public class TrailSeeker {
      * @return true if found preferred trail, false otherwise
      */
     public boolean seekPreferredTrail(TransformComponent pos, VelocityComponent vel, SkierComponent skier) {
-        int x = (int) Math.floor(pos.x);
-        int z = (int) Math.floor(pos.z);
+        int tile = findPreferredTrail((int) Math.floor(pos.x), (int) Math.floor(pos.z), skier);
+        if (tile < 0) {
+            return false;
+        }
+        steerTowardTile(pos, vel, tile % map.getWidth(), tile / map.getWidth());
+        return true;
+    }
+
+    /**
+     * Best trail tile within SEARCH_RADIUS for the skier's preferences.
+     *
+     * @return Packed tile index (z * width + x), or -1 if there is none
+     */
+    public int findPreferredTrail(int x, int z, SkierComponent skier) {
         
         int bestX = -1;
         int bestZ = -1;
@@ -49,13 +59,12 @@ public class TrailSeeker {
                     continue;
                 }
                 
-                Tile tile = map.getTile(nx, nz);
-                if (tile == null || !tile.isTrail()) {
+                if (!map.isTrail(nx, nz)) {
                     continue;
                 }
                 
                 // Calculate score based on preference and distance
-                float preference = TrailPreferences.getPreference(skier.skillLevel, tile.getTrailDifficulty());
+                float preference = TrailPreferences.getPreference(skier.skillLevel, map.getTrailDifficulty(nx, nz));
                 float distSq = dx * dx + dz * dz;
                 float score = preference / (1 + distSq * 0.1f); // Prefer close trails
                 
@@ -67,12 +76,7 @@ public class TrailSeeker {
             }
         }
         
-        if (bestX == -1) {
-            return false;
-        }
-        
-        steerTowardTile(pos, vel, bestX, bestZ);
-        return true;
+        return bestX == -1 ? -1 : bestZ * map.getWidth() + bestX;
     }
     
     /**
@@ -81,8 +85,22 @@ public class TrailSeeker {
      * @return true if trail found, false otherwise
      */
     public boolean seekNearestTrail(TransformComponent pos, VelocityComponent vel) {
-        int x = (int) Math.floor(pos.x);
-        int z = (int) Math.floor(pos.z);
+        int tile = findNearestTrail((int) Math.floor(pos.x), (int) Math.floor(pos.z));
+        if (tile < 0) {
+            moveDownhill(vel);
+            return false;
+        }
+        steerTowardTile(pos, vel, tile % map.getWidth(), tile / map.getWidth());
+        return true;
+    }
+
+    /**
+     * Nearest trail tile of any difficulty, widening the search to 30 tiles
+     * if nothing is within SEARCH_RADIUS.
+     *
+     * @return Packed tile index (z * width + x), or -1 if there is none
+     */
+    public int findNearestTrail(int x, int z) {
         
         int bestX = -1;
         int bestZ = -1;
@@ -102,8 +120,7 @@ public class TrailSeeker {
                     continue;
                 }
                 
-                Tile tile = map.getTile(nx, nz);
-                if (tile == null || !tile.isTrail()) {
+                if (!map.isTrail(nx, nz)) {
                     continue;
                 }
                 
@@ -131,8 +148,7 @@ public class TrailSeeker {
                         continue;
                     }
                     
-                    Tile tile = map.getTile(nx, nz);
-                    if (tile == null || !tile.isTrail()) {
+                    if (!map.isTrail(nx, nz)) {
                         continue;
                     }
                     
@@ -146,21 +162,21 @@ public class TrailSeeker {
             }
         }
         
-        // LAST RESORT: If still no trail, just move downhill (toward base)
-        if (bestX == -1) {
-            vel.dx = 0;
-            vel.dz = 2.0f; // Move downhill slowly
-            return false;
-        }
-        
-        steerTowardTile(pos, vel, bestX, bestZ);
-        return true;
+        return bestX == -1 ? -1 : bestZ * map.getWidth() + bestX;
+    }
+
+    /**
+     * Last resort when there is no trail in range: move downhill (toward base).
+     */
+    public void moveDownhill(VelocityComponent vel) {
+        vel.dx = 0;
+        vel.dz = 2.0f; // Move downhill slowly
     }
     
     /**
      * Steer toward a specific tile with smooth lerping.
      */
-    private void steerTowardTile(TransformComponent pos, VelocityComponent vel, int tileX, int tileZ) {
+    public void steerTowardTile(TransformComponent pos, VelocityComponent vel, int tileX, int tileZ) {
         float targetX = tileX + 0.5f;
         float targetZ = tileZ + 0.5f;
         
@@ -0,0 +1,72 @@
+package com.project.tycoon.ecs.systems.skier;
+
+import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.Entity;
+import com.project.tycoon.ecs.System;
+import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.TransformComponent;
+import com.project.tycoon.ecs.components.VelocityComponent;
+import com.project.tycoon.world.TrailRegistry;
+
+/**
+ * Tracks which registered trail each skier is on and feeds the per-trail
+ * counters in TrailRegistry. One trail-id lookup per skier per tick; counters
+ * only change when a skier moves between trails. A run is counted the first
+ * time a skier enters a trail on each descent (from leaving a lift until
+ * queuing or finishing).
+ *
+ * Must run before SkierSpawnerSystem so finished skiers are taken off their
+ * trail before they are despawned.
+ */
+public class TrailStatsSystem implements System {
+
+    private final Engine engine;
+    private final TrailRegistry trailRegistry;
+
+    public TrailStatsSystem(Engine engine, TrailRegistry trailRegistry) {
+        this.engine = engine;
+        this.trailRegistry = trailRegistry;
+    }
+
+    @Override
+    public void update(double dt) {
+        for (Entity entity : engine.getActiveEntities()) {
+            SkierComponent skier = engine.getComponent(entity, SkierComponent.class);
+            if (skier == null) {
+                continue;
+            }
+
+            TransformComponent pos = engine.getComponent(entity, TransformComponent.class);
+            VelocityComponent vel = engine.getComponent(entity, VelocityComponent.class);
+            if (pos == null || vel == null) {
+                continue;
+            }
+
+            // Only skiing counts as being on a trail
+            int trailId = TrailRegistry.NO_TRAIL;
+            if (skier.state == SkierComponent.State.SKIING) {
+                trailId = trailRegistry.getTrailIdAt((int) Math.floor(pos.x), (int) Math.floor(pos.z));
+            }
+
+            if (trailId != skier.currentTrailId) {
+                trailRegistry.onSkierExit(skier.currentTrailId);
+                trailRegistry.onSkierEnter(trailId);
+                skier.currentTrailId = trailId;
+
+                // One run per trail per descent: drifting off the edge and back is not a new run
+                if (trailId != TrailRegistry.NO_TRAIL && trailId != skier.lastRunTrailId) {
+                    trailRegistry.recordRun(trailId);
+                    skier.lastRunTrailId = trailId;
+                }
+            }
+            if (skier.state != SkierComponent.State.SKIING) {
+                skier.lastRunTrailId = TrailRegistry.NO_TRAIL; // Descent over
+            }
+
+            if (trailId != TrailRegistry.NO_TRAIL) {
+                float speed = (float) Math.sqrt(vel.dx * vel.dx + vel.dz * vel.dz);
+                trailRegistry.recordSpeed(trailId, speed);
+            }
+        }
+    }
+}
@@ -84,6 +84,14 @@ public class DayTimeSystem {
         return timeOfDay;
     }
 
+    /**
+     * Total operating hours elapsed since day 1 opened. Never wraps, so it can
+     * be used as a clock for per-hour statistics.
+     */
+    public double getTotalHours() {
+        return (currentDay - 1) * (double) HOURS_PER_DAY + timeOfDay;
+    }
+
     /**
      * Get current hour (9-17).
      */
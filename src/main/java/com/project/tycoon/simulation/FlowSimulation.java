@@ -0,0 +1,519 @@
+package com.project.tycoon.simulation;
+
+import com.project.tycoon.core.RandomStreams;
+import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.Entity;
+import com.project.tycoon.ecs.components.LiftComponent;
+import com.project.tycoon.ecs.components.SkillLevel;
+import com.project.tycoon.ecs.components.TransformComponent;
+import com.project.tycoon.ecs.systems.lift.LiftStatus;
+import com.project.tycoon.ecs.systems.lift.LiftSystem;
+import com.project.tycoon.ecs.systems.skier.CarvingPhysics;
+import com.project.tycoon.ecs.systems.skier.SkierSpawnerSystem;
+import com.project.tycoon.ecs.systems.skier.TrailPreferences;
+import com.project.tycoon.economy.EconomyManager;
+import com.project.tycoon.world.TrailNetwork;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+
+import java.util.*;
+
+/**
+ * Aggregate ("flow") simulation: skiers are counts moving through a graph of
+ * lifts and trail runs instead of individual entities.
+ *
+ * Each lift has a FIFO line of cohorts (skill, count, time joined). A carrier
+ * leaves every LiftStatus.getDepartureInterval() seconds and seats up to
+ * getSeatsPerCarrier() skiers, selling a ticket each. Riders reach the top
+ * after getRideTime(), pick a run weighted by TrailPreferences and reach the
+ * next lift (or the base, where they leave) after run length / cruise speed.
+ * Runs are the shortest downhill routes through the TrailNetwork, one per
+ * hardest difficulty, rebuilt when lifts or trails change. Spawning follows
+ * SkierSpawnerSystem, so EconomyManager and VisitorManager see the same
+ * ticket sales, expenses and visitor counts as in agent mode.
+ *
+ * Everything is driven by timed events, so cost grows with carrier departures
+ * rather than with the number of steps or skiers.
+ */
+public class FlowSimulation {
+
+    private static final SkillLevel[] SKILLS = SkillLevel.values();
+    private static final TrailDifficulty[] DIFFICULTIES = TrailDifficulty.values();
+    private static final float SEARCH_RADIUS = 15.0f; // Lift top to trail and trail to lift, as in agent mode
+
+    private static final int DEPART = 0;
+    private static final int ARRIVE_TOP = 1;
+    private static final int FINISH_RUN = 2;
+
+    private final Engine engine;
+    private final WorldMap map;
+    private final TrailNetwork trailNetwork;
+    private final LiftSystem liftSystem;
+    private final EconomyManager economy;
+    private final VisitorManager visitorManager;
+    private final SkierSpawnerSystem spawner; // Owns the SPAWNER stream counter
+    private final RandomStreams random;
+    private long runDraws = 0; // Counter into the FLOW stream
+
+    private final Map<UUID, FlowLift> lifts = new LinkedHashMap<>();
+    private FlowLift baseLift; // Where new visitors line up: the lift nearest the base
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private long nextSequence = 0;
+
+    private final int[] population = new int[SKILLS.length];
+    private final int[] waitingAtBase = new int[SKILLS.length]; // No lift to line up for yet
+    private float timeSinceLastSpawn = 0.0f;
+
+    private long builtLiftVersion = -1;
+    private long builtNetworkVersion = -1;
+
+    public FlowSimulation(Engine engine, WorldMap map, TrailNetwork trailNetwork, LiftSystem liftSystem,
+            SkierSpawnerSystem spawner, EconomyManager economy, VisitorManager visitorManager,
+            RandomStreams random) {
+        this.engine = engine;
+        this.map = map;
+        this.trailNetwork = trailNetwork;
+        this.liftSystem = liftSystem;
+        this.spawner = spawner;
+        this.economy = economy;
+        this.visitorManager = visitorManager;
+        this.random = random;
+    }
+
+    /**
+     * Advance by dt seconds, starting at the Engine clock. The caller advances
+     * the Engine clock afterwards (Engine.advanceTime()).
+     */
+    public void update(double dt) {
+        double now = engine.getTime();
+        refreshLifts(now);
+        spawnVisitors(now, dt);
+
+        double endTime = now + dt;
+        while (!events.isEmpty() && events.peek().time <= endTime) {
+            Event event = events.poll();
+            switch (event.kind) {
+                case DEPART:
+                    departCarrier(event.lift, event.time);
+                    break;
+                case ARRIVE_TOP:
+                    arriveAtTop(event);
+                    break;
+                case FINISH_RUN:
+                    finishRun(event);
+                    break;
+            }
+        }
+
+        liftSystem.deductMaintenanceCosts((float) dt);
+    }
+
+    /**
+     * Visitors arrive at the base (e.g. skiers handed over from agent mode).
+     */
+    public void addSkiers(SkillLevel skill, int count) {
+        population[skill.ordinal()] += count;
+        arriveAtBase(skill.ordinal(), count, engine.getTime());
+    }
+
+    /**
+     * Forget every skier, queue and pending event (e.g. when handing over to
+     * agent mode). Lift statuses are cleared separately with LiftSystem.clearSkiers().
+     */
+    public void clear() {
+        Arrays.fill(population, 0);
+        Arrays.fill(waitingAtBase, 0);
+        events.clear();
+        lifts.clear();
+        baseLift = null;
+        builtLiftVersion = -1; // Departures are rescheduled on the next update
+    }
+
+    /**
+     * Skiers at the resort: in line, riding or skiing.
+     */
+    public int getPopulation() {
+        int total = 0;
+        for (int count : population) {
+            total += count;
+        }
+        return total;
+    }
+
+    public int getPopulation(SkillLevel skill) {
+        return population[skill.ordinal()];
+    }
+
+    private void spawnVisitors(double now, double dt) {
+        // Same pacing and caps as SkierSpawnerSystem
+        timeSinceLastSpawn += dt;
+        if (getPopulation() < SkierSpawnerSystem.TARGET_POPULATION
+                && timeSinceLastSpawn >= SkierSpawnerSystem.SPAWN_INTERVAL
+                && visitorManager.canSpawnVisitor()) {
+            // Same draw as SkierSpawnerSystem, so both modes see the same visitors
+            long skierSeed = spawner.nextSkierSeed();
+            SkillLevel skill = SkillLevel.randomSkill(random.nextDouble(skierSeed, 0));
+            population[skill.ordinal()]++;
+            visitorManager.recordVisitorSpawned();
+            timeSinceLastSpawn = 0.0f;
+            arriveAtBase(skill.ordinal(), 1, now);
+        }
+    }
+
+    private void arriveAtBase(int skill, int count, double time) {
+        if (baseLift != null) {
+            join(baseLift, skill, count, time);
+        } else {
+            waitingAtBase[skill] += count;
+        }
+    }
+
+    private void leave(int skill, int count) {
+        population[skill] = Math.max(0, population[skill] - count);
+    }
+
+    // ==== LIFTS ====
+
+    private void departCarrier(FlowLift lift, double time) {
+        if (lift.removed) {
+            return;
+        }
+        LiftStatus status = lift.status;
+        schedule(time + status.getDepartureInterval(), DEPART, lift, 0, 0, null);
+
+        int seats = Math.min(status.getSeatsPerCarrier(), status.getAvailableCapacity());
+        int boarded = 0;
+        while (boarded < seats && !lift.line.isEmpty()) {
+            Cohort front = lift.line.peek();
+            int count = Math.min(seats - boarded, front.count);
+            float wait = (float) (time - front.joinedAt);
+            for (int i = 0; i < count; i++) {
+                liftSystem.recordFlowBoarding(status, time, wait);
+                economy.recordTicketSale();
+            }
+            schedule(time + status.getRideTime(), ARRIVE_TOP, lift, front.skill, count, null);
+
+            front.count -= count;
+            if (front.count == 0) {
+                lift.line.poll();
+            }
+            boarded += count;
+        }
+        lift.queued -= boarded;
+        liftSystem.recordFlowQueue(status, time, lift.queued);
+    }
+
+    private void arriveAtTop(Event event) {
+        FlowLift lift = event.lift;
+        if (lift.removed) {
+            arriveAtBase(event.skill, event.count, event.time); // Lift torn down under them
+            return;
+        }
+        for (int i = 0; i < event.count; i++) {
+            liftSystem.recordFlowArrival(lift.status);
+            Run run = chooseRun(lift, event.skill);
+            float duration = run.length / CarvingPhysics.cruiseSpeed(SKILLS[event.skill]);
+            schedule(event.time + duration, FINISH_RUN, lift, event.skill, 1, run);
+        }
+    }
+
+    private void finishRun(Event event) {
+        FlowLift next = event.run.next;
+        if (next == null) {
+            leave(event.skill, event.count); // Back at the base with no lift to take
+        } else if (next.removed) {
+            arriveAtBase(event.skill, event.count, event.time); // Lift torn down while skiing to it
+        } else {
+            join(next, event.skill, event.count, event.time);
+        }
+    }
+
+    private void join(FlowLift lift, int skill, int count, double time) {
+        Cohort last = lift.line.peekLast();
+        if (last != null && last.skill == skill && last.joinedAt == time) {
+            last.count += count;
+        } else {
+            lift.line.add(new Cohort(skill, count, time));
+        }
+        lift.queued += count;
+        liftSystem.recordFlowQueue(lift.status, time, lift.queued);
+    }
+
+    /**
+     * Pick up added, removed or changed lifts and rebuild runs when lifts or
+     * trails changed.
+     */
+    private void refreshLifts(double now) {
+        liftSystem.refreshLifts();
+        long liftVersion = engine.getComponentVersion(LiftComponent.class);
+        long networkVersion = trailNetwork.getVersion();
+        if (liftVersion == builtLiftVersion && networkVersion == builtNetworkVersion) {
+            return;
+        }
+        builtLiftVersion = liftVersion;
+        builtNetworkVersion = networkVersion;
+
+        Map<UUID, FlowLift> current = new LinkedHashMap<>();
+        TransformComponent top = new TransformComponent(0, 0, 0);
+        for (LiftStatus status : liftSystem.getLiftStatuses()) {
+            Entity base = engine.getEntity(status.getLiftId());
+            TransformComponent basePos = base != null ? engine.getComponent(base, TransformComponent.class) : null;
+            if (basePos == null) {
+                continue;
+            }
+
+            FlowLift lift = lifts.remove(status.getLiftId());
+            if (lift == null) {
+                lift = new FlowLift(status);
+                schedule(now + status.getDepartureInterval(), DEPART, lift, 0, 0, null);
+            }
+            lift.baseX = basePos.x;
+            lift.baseZ = basePos.z;
+            if (status.getPath() != null) {
+                status.getPath().positionAt(status.getPath().getLength(), top);
+                lift.topX = top.x;
+                lift.topZ = top.z;
+            } else {
+                lift.topX = basePos.x;
+                lift.topZ = basePos.z;
+            }
+            current.put(status.getLiftId(), lift);
+        }
+
+        // Removed lifts send their line back to the base
+        for (FlowLift removed : lifts.values()) {
+            removed.removed = true;
+            for (Cohort cohort : removed.line) {
+                waitingAtBase[cohort.skill] += cohort.count;
+            }
+            removed.line.clear();
+        }
+        lifts.clear();
+        lifts.putAll(current);
+
+        baseLift = null;
+        float nearest = Float.MAX_VALUE;
+        for (FlowLift lift : lifts.values()) {
+            float distance = distance(lift.baseX, lift.baseZ, map.getBaseX(), map.getBaseZ());
+            if (distance < nearest) {
+                nearest = distance;
+                baseLift = lift;
+            }
+        }
+        for (FlowLift lift : lifts.values()) {
+            lift.runs = findRuns(lift);
+        }
+
+        if (baseLift != null) {
+            for (int skill = 0; skill < SKILLS.length; skill++) {
+                if (waitingAtBase[skill] > 0) {
+                    join(baseLift, skill, waitingAtBase[skill], now);
+                    waitingAtBase[skill] = 0;
+                }
+            }
+        }
+    }
+
+    // ==== RUNS ====
+
+    /**
+     * Runs from a lift top, easiest first: the shortest route for each
+     * difficulty cap, kept if its hardest section is new.
+     */
+    private List<Run> findRuns(FlowLift lift) {
+        List<Run> runs = new ArrayList<>();
+        boolean[] found = new boolean[DIFFICULTIES.length];
+        for (int cap = 0; cap < DIFFICULTIES.length; cap++) {
+            Run run = shortestRun(lift, cap);
+            if (run != null && !found[run.difficulty.ordinal()]) {
+                found[run.difficulty.ordinal()] = true;
+                runs.add(run);
+            }
+        }
+
+        if (runs.isEmpty()) {
+            // No trail route: straight down the fall line to the base area
+            float length = Math.max(1.0f, map.getBaseZ() - 2 - lift.topZ);
+            runs.add(new Run(null, length, liftNear(lift.topX, map.getBaseZ() - 2)));
+        }
+        return runs;
+    }
+
+    /**
+     * Dijkstra over downhill edges no harder than cap, from trail nodes near
+     * the top to the nearest node by a lift base or in the base area.
+     */
+    private Run shortestRun(FlowLift lift, int cap) {
+        List<TrailNetwork.Node> nodes = trailNetwork.getNodes();
+        int n = nodes.size();
+        float[] dist = new float[n];
+        int[] hardest = new int[n]; // Hardest difficulty on the best path, -1 = no edge yet
+        boolean[] settled = new boolean[n];
+        Arrays.fill(dist, Float.MAX_VALUE);
+        for (TrailNetwork.Node node : nodes) {
+            float d = distance(node.x, node.z, lift.topX, lift.topZ);
+            if (d <= SEARCH_RADIUS) {
+                dist[node.id] = d;
+                hardest[node.id] = -1;
+            }
+        }
+
+        // The graph is a few dozen nodes; a linear scan beats a heap
+        while (true) {
+            int best = -1;
+            for (int i = 0; i < n; i++) {
+                if (!settled[i] && dist[i] < Float.MAX_VALUE && (best < 0 || dist[i] < dist[best])) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                return null;
+            }
+            settled[best] = true;
+
+            TrailNetwork.Node node = nodes.get(best);
+            if (hardest[best] >= 0) {
+                FlowLift next = liftNear(node.x, node.z);
+                if (next != null || node.z >= map.getBaseZ() - 2) {
+                    return new Run(DIFFICULTIES[hardest[best]], dist[best], next);
+                }
+            }
+
+            for (TrailNetwork.Edge edge : trailNetwork.getOutgoingEdges(best)) {
+                int difficulty = edge.difficulty != null ? edge.difficulty.ordinal() : 0;
+                if (difficulty > cap || settled[edge.to]) {
+                    continue;
+                }
+                float d = dist[best] + edge.length;
+                if (d < dist[edge.to]) {
+                    dist[edge.to] = d;
+                    hardest[edge.to] = Math.max(hardest[best], difficulty);
+                }
+            }
+        }
+    }
+
+    private Run chooseRun(FlowLift lift, int skill) {
+        List<Run> runs = lift.runs;
+        if (runs.size() == 1) {
+            return runs.get(0);
+        }
+
+        float total = 0f;
+        for (Run run : runs) {
+            total += TrailPreferences.getPreference(SKILLS[skill], run.difficulty);
+        }
+        if (total <= 0f) {
+            return runs.get(0); // Nothing suits: take the easiest
+        }
+
+        float r = random.nextFloat(RandomStreams.FLOW, runDraws++) * total;
+        Run chosen = runs.get(0);
+        for (Run run : runs) {
+            float weight = TrailPreferences.getPreference(SKILLS[skill], run.difficulty);
+            if (weight > 0f) {
+                chosen = run;
+                r -= weight;
+                if (r < 0f) {
+                    break;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Lift whose base is nearest a point, within the search radius, or null.
+     */
+    private FlowLift liftNear(float x, float z) {
+        FlowLift nearest = null;
+        float nearestDistance = SEARCH_RADIUS;
+        for (FlowLift lift : lifts.values()) {
+            float distance = distance(lift.baseX, lift.baseZ, x, z);
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = lift;
+            }
+        }
+        return nearest;
+    }
+
+    private static float distance(float x1, float z1, float x2, float z2) {
+        float dx = x1 - x2;
+        float dz = z1 - z2;
+        return (float) Math.sqrt(dx * dx + dz * dz);
+    }
+
+    private void schedule(double time, int kind, FlowLift lift, int skill, int count, Run run) {
+        events.add(new Event(time, nextSequence++, kind, lift, skill, count, run));
+    }
+
+    private static final class FlowLift {
+        final LiftStatus status;
+        final ArrayDeque<Cohort> line = new ArrayDeque<>();
+        int queued = 0;
+        float baseX, baseZ, topX, topZ;
+        List<Run> runs = Collections.emptyList();
+        boolean removed = false;
+
+        FlowLift(LiftStatus status) {
+            this.status = status;
+        }
+    }
+
+    /**
+     * Skiers of one skill who joined a line at the same time.
+     */
+    private static final class Cohort {
+        final int skill;
+        int count;
+        final double joinedAt;
+
+        Cohort(int skill, int count, double joinedAt) {
+            this.skill = skill;
+            this.count = count;
+            this.joinedAt = joinedAt;
+        }
+    }
+
+    /**
+     * A way down from a lift top.
+     */
+    private static final class Run {
+        final TrailDifficulty difficulty; // Hardest section, null = off-trail
+        final float length; // Tiles
+        final FlowLift next; // Lift at the bottom, null = leave at the base
+
+        Run(TrailDifficulty difficulty, float length, FlowLift next) {
+            this.difficulty = difficulty;
+            this.length = length;
+            this.next = next;
+        }
+    }
+
+    private static final class Event implements Comparable<Event> {
+        final double time;
+        final long sequence; // Breaks ties in scheduling order
+        final int kind;
+        final FlowLift lift;
+        final int skill;
+        final int count;
+        final Run run;
+
+        Event(double time, long sequence, int kind, FlowLift lift, int skill, int count, Run run) {
+            this.time = time;
+            this.sequence = sequence;
+            this.kind = kind;
+            this.lift = lift;
+            this.skill = skill;
+            this.count = count;
+            this.run = run;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Double.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -1,57 +1,140 @@
 package com.project.tycoon.simulation;
 
+import com.project.tycoon.core.RandomStreams;
 import com.project.tycoon.ecs.Engine;
 import com.project.tycoon.ecs.Entity;
 import com.project.tycoon.ecs.components.BaseCampComponent;
+import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.SkillLevel;
 import com.project.tycoon.ecs.components.TransformComponent;
 import com.project.tycoon.ecs.systems.core.PhysicsSystem;
 import com.project.tycoon.ecs.systems.lift.LiftSystem;
 import com.project.tycoon.ecs.systems.skier.SkierBehaviorSystem;
+import com.project.tycoon.ecs.systems.skier.SkierDecisionScheduler;
+import com.project.tycoon.ecs.systems.skier.SkierLod;
 import com.project.tycoon.ecs.systems.skier.SkierPhysicsSystem;
 import com.project.tycoon.ecs.systems.skier.SkierSpawnerSystem;
+import com.project.tycoon.ecs.systems.skier.TrailPreferences;
+import com.project.tycoon.ecs.systems.skier.TrailStatsSystem;
 import com.project.tycoon.economy.EconomyManager;
+import com.project.tycoon.world.SlopeField;
 import com.project.tycoon.world.SnapPointManager;
+import com.project.tycoon.world.TrailNetwork;
+import com.project.tycoon.world.TrailRegistry;
 import com.project.tycoon.world.model.BaseCampLocation;
 import com.project.tycoon.world.model.SnapPoint;
+import com.project.tycoon.world.model.TerrainCache;
 import com.project.tycoon.world.model.TerrainGenerator;
+import com.project.tycoon.world.model.TerrainStream;
 import com.project.tycoon.world.model.WorldMap;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * The concrete simulation implementation for the Ski Resort Tycoon.
- * It holds the ECS engine and delegates ticks to it.
+ * It holds the ECS engine and delegates ticks to it, or to the aggregate
+ * FlowSimulation in FLOW mode.
  */
 public class TycoonSimulation implements Simulation {
 
+    /**
+     * AGENT simulates every skier as an entity; FLOW moves skier counts
+     * through lifts and runs, for fast-forwarding whole seasons.
+     */
+    public enum Mode {
+        AGENT, FLOW
+    }
+
     private final Engine ecsEngine;
     private final WorldMap worldMap;
+    private final RandomStreams random;
     private final EconomyManager economyManager;
     private final DayTimeSystem dayTimeSystem;
     private final VisitorManager visitorManager;
     private final SnapPointManager snapPointManager;
+    private final SlopeField slopeField;
+    private final TrailNetwork trailNetwork;
+    private final TrailRegistry trailRegistry;
+    private final LiftSystem liftSystem;
+    private final SkierSpawnerSystem spawnerSystem;
+    private final FlowSimulation flowSimulation;
+    private final SkierLod skierLod = new SkierLod();
+    private final TerrainStream terrainStream;
     private final BaseCampLocation baseCampLocation;
 
+    private Mode mode = Mode.AGENT;
     private boolean paused = false;
     private float timeScale = 1.0f; // 1x, 2x, or 3x speed
 
+    private static final int DEFAULT_MAP_SIZE = 256;
+
     public TycoonSimulation() {
+        this(DEFAULT_MAP_SIZE, DEFAULT_MAP_SIZE);
+    }
+
+    /**
+     * Random map, unless a seed is given with -Dtycoon.seed (then the terrain
+     * cache is used as for TycoonSimulation(int, int, long)).
+     *
+     * @param mapWidth Map width in tiles
+     * @param mapDepth Map depth in tiles (the base is at the high-z edge)
+     */
+    public TycoonSimulation(int mapWidth, int mapDepth) {
+        this(mapWidth, mapDepth, Long.getLong("tycoon.seed"));
+    }
+
+    /**
+     * Fixed-seed map. Generated terrain is cached on disk, so later runs with
+     * the same seed and size load it instead of generating it.
+     */
+    public TycoonSimulation(int mapWidth, int mapDepth, long seed) {
+        this(mapWidth, mapDepth, Long.valueOf(seed));
+    }
+
+    private TycoonSimulation(int mapWidth, int mapDepth, Long fixedSeed) {
         this.ecsEngine = new Engine();
-        // Increased resolution: 256x256 (4x total area)
-        this.worldMap = new WorldMap(256, 256);
+        this.worldMap = new WorldMap(mapWidth, mapDepth);
         this.economyManager = new EconomyManager();
 
-        // Generate Mountain Terrain with random seed
-        long seed = System.currentTimeMillis();
-        System.out.println("Generating map with seed: " + seed);
-        this.baseCampLocation = TerrainGenerator.generateMountain(this.worldMap, seed);
+        // Random seeds are not cached (they would never be loaded again)
+        long seed = fixedSeed != null ? fixedSeed : System.currentTimeMillis();
+        TerrainCache terrainCache = fixedSeed != null ? TerrainCache.userDefault() : null;
+        BaseCampLocation cachedBaseCamp = terrainCache != null ? terrainCache.load(worldMap, seed) : null;
+
+        if (cachedBaseCamp != null) {
+            System.out.println("Loaded cached map with seed: " + seed);
+            this.terrainStream = null;
+            this.baseCampLocation = cachedBaseCamp;
+        } else {
+            // Generate Mountain Terrain. Chunks stream in on background threads;
+            // we only wait for the area around the base.
+            System.out.println("Generating map with seed: " + seed);
+            TerrainCache.Snapshot snapshot = terrainCache != null
+                    ? new TerrainCache.Snapshot(mapWidth, mapDepth)
+                    : null;
+            this.terrainStream = TerrainGenerator.startMountain(this.worldMap, seed, snapshot);
+            this.baseCampLocation = terrainStream.awaitBaseCamp();
+            if (terrainCache != null) {
+                saveWhenGenerated(terrainCache, snapshot, seed);
+            }
+        }
+        this.slopeField = new SlopeField(worldMap);
+        this.random = new RandomStreams(seed); // Skiers and visitors follow the map seed
 
         // Initialize managers
         this.dayTimeSystem = new DayTimeSystem();
-        this.visitorManager = new VisitorManager();
+        this.visitorManager = new VisitorManager(random);
         this.snapPointManager = new SnapPointManager();
+        this.trailNetwork = new TrailNetwork(worldMap, snapPointManager);
+        this.trailRegistry = new TrailRegistry(worldMap);
 
         // Create base camp at optimal location
         createBaseCamp();
 
+        // Designer-tuned trail preferences, if present; re-read every morning
+        TrailPreferences.reloadIfModified();
+
         // Setup day transition listeners
         dayTimeSystem.setDayTransitionListener(new DayTimeSystem.DayTransitionListener() {
             @Override
@@ -67,19 +150,28 @@ public class TycoonSimulation implements Simulation {
             @Override
             public void onDayStart(int dayNumber) {
                 visitorManager.startNewDay();
+                TrailPreferences.reloadIfModified();
             }
         });
 
         // Register Systems
         ecsEngine.addSystem(new PhysicsSystem(ecsEngine, worldMap)); // General physics
-        ecsEngine.addSystem(new SkierPhysicsSystem(ecsEngine, worldMap)); // Skiing slope physics
-        ecsEngine.addSystem(new com.project.tycoon.ecs.systems.skier.SkierNavigationSystem(ecsEngine, snapPointManager)); // High-level navigation
-        ecsEngine.addSystem(new SkierBehaviorSystem(ecsEngine, worldMap)); // Skier AI/behavior
-        ecsEngine.addSystem(new LiftSystem(ecsEngine, economyManager, snapPointManager, worldMap)); // Lift operations with lift planning
+        ecsEngine.addSystem(new SkierPhysicsSystem(ecsEngine, worldMap, slopeField)); // Skiing slope physics
+        ecsEngine.addSystem(new com.project.tycoon.ecs.systems.skier.SkierNavigationSystem(ecsEngine, snapPointManager, worldMap)); // High-level navigation
+        SkierDecisionScheduler decisionScheduler = new SkierDecisionScheduler(ecsEngine, snapPointManager, worldMap, random);
+        ecsEngine.addSystem(decisionScheduler); // Budgeted lift/trail decisions
+        ecsEngine.addSystem(new SkierBehaviorSystem(ecsEngine, worldMap, decisionScheduler, skierLod)); // Skier AI/behavior
+        this.liftSystem = new LiftSystem(ecsEngine, economyManager, decisionScheduler, worldMap);
+        ecsEngine.addSystem(liftSystem); // Lift operations with lift planning
+
+        ecsEngine.addSystem(new TrailStatsSystem(ecsEngine, trailRegistry)); // Per-trail counters (before despawn)
 
-        SkierSpawnerSystem spawnerSystem = new SkierSpawnerSystem(ecsEngine, worldMap);
+        this.spawnerSystem = new SkierSpawnerSystem(ecsEngine, worldMap, random);
         spawnerSystem.setVisitorManager(visitorManager); // Inject visitor manager
         ecsEngine.addSystem(spawnerSystem);
+
+        this.flowSimulation = new FlowSimulation(ecsEngine, worldMap, trailNetwork, liftSystem, spawnerSystem,
+                economyManager, visitorManager, random);
     }
 
     @Override
@@ -93,11 +185,75 @@ public class TycoonSimulation implements Simulation {
         double fixedDt = 1.0 / 60.0;
         double scaledDt = fixedDt * timeScale;
 
+        advance(scaledDt);
+    }
+
+    /**
+     * Run whole game days as fast as possible (ignores pause and time scale).
+     * FLOW mode takes one-second steps, AGENT mode the normal 1/60s tick.
+     */
+    public void runDays(int days) {
+        int targetDay = dayTimeSystem.getCurrentDay() + days;
+        double step = mode == Mode.FLOW ? 1.0 : 1.0 / 60.0;
+        while (dayTimeSystem.getCurrentDay() < targetDay) {
+            advance(step);
+        }
+    }
+
+    private void advance(double dt) {
         // Update day/time system
-        dayTimeSystem.update(scaledDt);
+        dayTimeSystem.update(dt);
+        trailRegistry.setClock(dayTimeSystem.getTotalHours());
+
+        if (mode == Mode.FLOW) {
+            flowSimulation.update(dt);
+            ecsEngine.advanceTime(dt);
+        } else {
+            ecsEngine.update(dt);
+        }
+        economyManager.update(dt);
+    }
+
+    /**
+     * Switch between agent and flow simulation. Skiers are handed over by
+     * skill and restart at the base; positions and lines are not carried over.
+     */
+    public void setMode(Mode mode) {
+        if (mode == this.mode) {
+            return;
+        }
 
-        ecsEngine.update(scaledDt);
-        economyManager.update(scaledDt);
+        if (mode == Mode.FLOW) {
+            List<Entity> skiers = new ArrayList<>();
+            for (Entity entity : ecsEngine.getEntities()) {
+                if (ecsEngine.hasComponent(entity, SkierComponent.class)) {
+                    skiers.add(entity);
+                }
+            }
+            for (Entity entity : skiers) {
+                SkierComponent skier = ecsEngine.getComponent(entity, SkierComponent.class);
+                trailRegistry.onSkierExit(skier.currentTrailId);
+                if (skier.state != SkierComponent.State.FINISHED) {
+                    flowSimulation.addSkiers(skier.skillLevel, 1);
+                }
+                ecsEngine.removeEntity(entity);
+            }
+        } else {
+            for (SkillLevel skill : SkillLevel.values()) {
+                for (int i = 0; i < flowSimulation.getPopulation(skill); i++) {
+                    spawnerSystem.spawnSkier(skill);
+                }
+            }
+            flowSimulation.clear();
+        }
+        liftSystem.clearSkiers();
+
+        this.mode = mode;
+        System.out.println("Simulation mode set to " + mode);
+    }
+
+    public Mode getMode() {
+        return mode;
     }
 
     public Engine getEcsEngine() {
@@ -134,10 +290,71 @@ public class TycoonSimulation implements Simulation {
         return visitorManager;
     }
 
+    /**
+     * Counter-based random streams seeded from the map seed.
+     */
+    public RandomStreams getRandom() {
+        return random;
+    }
+
     public SnapPointManager getSnapPointManager() {
         return snapPointManager;
     }
 
+    /**
+     * Background terrain generation; steer it with setFocus() until isComplete().
+     * Null when the terrain was loaded from the cache.
+     */
+    public TerrainStream getTerrainStream() {
+        return terrainStream;
+    }
+
+    public SlopeField getSlopeField() {
+        return slopeField;
+    }
+
+    public TrailNetwork getTrailNetwork() {
+        return trailNetwork;
+    }
+
+    public TrailRegistry getTrailRegistry() {
+        return trailRegistry;
+    }
+
+    /**
+     * Lift operations; see LiftSystem.getLiftStatuses() for live lift state.
+     */
+    public LiftSystem getLiftSystem() {
+        return liftSystem;
+    }
+
+    /**
+     * Aggregate simulation used in FLOW mode.
+     */
+    public FlowSimulation getFlowSimulation() {
+        return flowSimulation;
+    }
+
+    /**
+     * Skier level of detail; the view sets the visible area on it.
+     */
+    public SkierLod getSkierLod() {
+        return skierLod;
+    }
+
+    /**
+     * Write the terrain to the cache once every chunk has streamed in.
+     */
+    private void saveWhenGenerated(TerrainCache terrainCache, TerrainCache.Snapshot snapshot, long seed) {
+        // Saves the generator's own copy: the live map may already have gameplay edits
+        Thread saver = new Thread(() -> {
+            terrainStream.awaitCompletion();
+            terrainCache.save(snapshot, seed);
+        }, "terrain-cache-save");
+        saver.setDaemon(true);
+        saver.start();
+    }
+
     /**
      * Create the base camp building at the optimal location found by terrain
      * generator.
@@ -1,5 +1,7 @@
 package com.project.tycoon.simulation;
 
+import com.project.tycoon.core.RandomStreams;
+
 /**
  * Manages daily visitor caps and growth tracking.
  * Visitors per day start at ~30 and grow/shrink based on satisfaction.
@@ -10,6 +12,9 @@ public class VisitorManager {
     private static final int MIN_DAILY_VISITORS = 10;
     private static final int MAX_DAILY_VISITORS = 500;
 
+    private final RandomStreams random;
+    private int daysEnded = 0; // Counter into the VISITORS stream
+
     private int dailyVisitorCap = STARTING_VISITORS;
     private int visitorsSpawnedToday = 0;
     private int previousDayVisitors = 0;
@@ -17,6 +22,10 @@ public class VisitorManager {
     // Satisfaction tracking (placeholder for now)
     private float satisfactionScore = 0.5f; // 0.0 - 1.0
 
+    public VisitorManager(RandomStreams random) {
+        this.random = random;
+    }
+
     /**
      * Check if we can spawn another visitor today.
      */
@@ -40,7 +49,7 @@ public class VisitorManager {
         previousDayVisitors = visitorsSpawnedToday;
 
         // Calculate growth based on satisfaction
-        int change = calculateVisitorChange();
+        int change = calculateVisitorChange(daysEnded++);
         dailyVisitorCap += change;
 
         // Clamp to min/max
@@ -60,18 +69,18 @@ public class VisitorManager {
     /**
      * Calculate visitor change based on satisfaction and performance.
      */
-    private int calculateVisitorChange() {
+    private int calculateVisitorChange(int day) {
         // Simple formula for now:
         // - High satisfaction (0.7+): +3 to +5 visitors
         // - Medium satisfaction (0.4-0.7): -1 to +3 visitors
         // - Low satisfaction (<0.4): -3 to -1 visitors
 
         if (satisfactionScore >= 0.7f) {
-            return 3 + (int) (Math.random() * 3); // +3 to +5
+            return 3 + random.nextInt(RandomStreams.VISITORS, day, 3); // +3 to +5
         } else if (satisfactionScore >= 0.4f) {
-            return -1 + (int) (Math.random() * 5); // -1 to +3
+            return -1 + random.nextInt(RandomStreams.VISITORS, day, 5); // -1 to +3
         } else {
-            return -3 + (int) (Math.random() * 3); // -3 to -1
+            return -3 + random.nextInt(RandomStreams.VISITORS, day, 3); // -3 to -1
         }
     }
 
@@ -162,7 +162,7 @@ public class GameplayController extends InputAdapter {
                     continue; // +0.5 for smoother circle
 
                 Tile tile = simulation.getWorldMap().getTile(x, z);
-                if (tile != null && !tile.isTrail()) {
+                if (tile != null && !tile.isTrail() && simulation.getWorldMap().isGenerated(x, z)) {
                     Vector2 tilePos = new Vector2(x, z);
 
                     // Check if already painted
@@ -178,8 +178,7 @@ public class GameplayController extends InputAdapter {
                         pendingTrailTiles.add(tilePos);
 
                         // Visual preview: temporarily mark as trail
-                        tile.setTrail(true);
-                        simulation.getWorldMap().setTile(x, z, tile);
+                        simulation.getWorldMap().setTrail(x, z, true);
                     }
                 }
             }
@@ -198,8 +197,7 @@ public class GameplayController extends InputAdapter {
                     continue;
                 }
                 if (neighbor.getDecoration() == com.project.tycoon.world.model.Decoration.ROCK) {
-                    neighbor.setDecoration(com.project.tycoon.world.model.Decoration.NONE);
-                    simulation.getWorldMap().setTile(x, z, neighbor);
+                    simulation.getWorldMap().setDecoration(x, z, com.project.tycoon.world.model.Decoration.NONE);
                 }
             }
         }
@@ -301,7 +299,8 @@ public class GameplayController extends InputAdapter {
         if (pendingTrailTiles.isEmpty()) {
             return TrailDifficulty.GREEN;
         }
-        return TrailDifficultyCalculator.calculate(simulation.getWorldMap(), pendingTrailTiles);
+        return TrailDifficultyCalculator.calculate(simulation.getWorldMap(), simulation.getSlopeField(),
+                pendingTrailTiles);
     }
 
     /**
@@ -392,22 +391,18 @@ public class GameplayController extends InputAdapter {
         // Save trail difficulty to tiles
         TrailDifficulty difficulty = calculateCurrentTrailDifficulty();
         for (Vector2 tilePos : pendingTrailTiles) {
-            Tile t = simulation.getWorldMap().getTile((int) tilePos.x, (int) tilePos.y);
-            if (t != null) {
-                t.setTrailDifficulty(difficulty);
-                simulation.getWorldMap().setTile((int) tilePos.x, (int) tilePos.y, t);
-            }
+            simulation.getWorldMap().setTrailDifficulty((int) tilePos.x, (int) tilePos.y, difficulty);
         }
+
+        // Register the trail (assigns its id and stamps it onto the tiles)
+        simulation.getTrailRegistry().registerTrail(pendingTrailTiles, difficulty,
+                trailStart.getId(), trailEnd.getId());
     }
 
     private void resetTrailState() {
         // Undo visual preview of pending trail tiles
         for (Vector2 tile : pendingTrailTiles) {
-            Tile t = simulation.getWorldMap().getTile((int) tile.x, (int) tile.y);
-            if (t != null) {
-                t.setTrail(false);
-                simulation.getWorldMap().setTile((int) tile.x, (int) tile.y, t);
-            }
+            simulation.getWorldMap().setTrail((int) tile.x, (int) tile.y, false);
         }
 
         trailBuildState = TrailBuildState.WAITING_FOR_START;
@@ -458,6 +453,10 @@ public class GameplayController extends InputAdapter {
     }
 
     private void handleInteraction(Tile tile) {
+        if (!simulation.getWorldMap().isGenerated(hoveredX, hoveredZ)) {
+            return; // Terrain here is still streaming in
+        }
+
         if (currentMode == InteractionMode.TERRAIN) {
             // Modify Terrain
             int newHeight = tile.getHeight();
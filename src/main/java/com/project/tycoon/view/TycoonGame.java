@@ -4,11 +4,13 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.collision.Ray;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.project.tycoon.simulation.TycoonSimulation;
 import com.project.tycoon.view.renderer.CombinedRenderer;
 import com.project.tycoon.view.ui.GameHUD;
 import com.project.tycoon.view.ui.FinancesScreen;
+import com.project.tycoon.view.util.IsoUtils;
 
 /**
  * The visual entry point of the game (LibGDX adapter).
@@ -29,6 +31,9 @@ public class TycoonGame extends Game {
     private double accumulator = 0.0;
     private final double TIME_STEP = 1.0 / 60.0;
 
+    // Ground heights (world units) the view bounds are taken between: sea level and the highest peak
+    private final float[] viewPlaneHeights = new float[2];
+
     public TycoonGame(TycoonSimulation simulation) {
         this.simulation = simulation;
     }
@@ -44,9 +49,10 @@ public class TycoonGame extends Game {
         camera = new OrthographicCamera(viewportSize, viewportSize * (h / w));
 
         // Position at isometric angle looking at the CENTER of the map
-        float mapCenter = 128f; // Map is 256x256
-        camera.position.set(mapCenter + 100f, 100f, mapCenter + 100f);
-        camera.lookAt(mapCenter, 0f, mapCenter);
+        float centerX = simulation.getWorldMap().getWidth() / 2f;
+        float centerZ = simulation.getWorldMap().getDepth() / 2f;
+        camera.position.set(centerX + 100f, 100f, centerZ + 100f);
+        camera.lookAt(centerX, 0f, centerZ);
         camera.near = 1f;
         camera.far = 3000f; // Draw distance
         camera.update();
@@ -100,6 +106,14 @@ public class TycoonGame extends Game {
         // Update Controller (Keyboard movement)
         cameraController.update();
 
+        // Simulate skiers in and around the view at full detail
+        updateSkierLod();
+
+        // Generate the terrain under the camera next while the map is still streaming in
+        if (simulation.getTerrainStream() != null && !simulation.getTerrainStream().isComplete()) {
+            focusTerrainGeneration();
+        }
+
         // 2. Render
         // Clear Color AND Depth buffer (Required for 3D)
         ScreenUtils.clear(Color.SKY, true);
@@ -139,4 +153,48 @@ public class TycoonGame extends Game {
             financesScreen.dispose();
         }
     }
+
+    /**
+     * Tell the simulation which ground rectangle the camera shows, from the
+     * screen corners projected onto the lowest and highest terrain planes.
+     */
+    private void updateSkierLod() {
+        float minX = Float.MAX_VALUE;
+        float minZ = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxZ = -Float.MAX_VALUE;
+        int width = Gdx.graphics.getWidth();
+        int height = Gdx.graphics.getHeight();
+        viewPlaneHeights[1] = simulation.getWorldMap().getMaxHeight() * IsoUtils.HEIGHT_SCALE;
+        for (int corner = 0; corner < 4; corner++) {
+            Ray ray = camera.getPickRay((corner & 1) * width, (corner >> 1) * height);
+            if (ray.direction.y >= 0) {
+                simulation.getSkierLod().clearView(); // Sky in view; don't guess
+                return;
+            }
+            for (float planeY : viewPlaneHeights) {
+                float t = (planeY - ray.origin.y) / ray.direction.y;
+                float x = ray.origin.x + ray.direction.x * t;
+                float z = ray.origin.z + ray.direction.z * t;
+                minX = Math.min(minX, x);
+                minZ = Math.min(minZ, z);
+                maxX = Math.max(maxX, x);
+                maxZ = Math.max(maxZ, z);
+            }
+        }
+        simulation.getSkierLod().setView(minX, minZ, maxX, maxZ);
+    }
+
+    /**
+     * Point terrain generation at the ground spot the camera is looking at.
+     */
+    private void focusTerrainGeneration() {
+        if (camera.direction.y >= 0) {
+            return; // Looking at the sky
+        }
+        float t = -camera.position.y / camera.direction.y;
+        float groundX = camera.position.x + camera.direction.x * t;
+        float groundZ = camera.position.z + camera.direction.z * t;
+        simulation.getTerrainStream().setFocus((int) groundX, (int) groundZ);
+    }
 }
@@ -12,6 +12,8 @@ import com.badlogic.gdx.math.Vector3;
 import com.project.tycoon.ecs.Engine;
 import com.project.tycoon.ecs.Entity;
 import com.project.tycoon.ecs.components.LiftComponent;
+import com.project.tycoon.ecs.components.LiftRideComponent;
+import com.project.tycoon.ecs.components.TrailHopComponent;
 import com.project.tycoon.ecs.components.SkierComponent;
 import com.project.tycoon.ecs.components.BaseCampComponent;
 import com.project.tycoon.ecs.components.TransformComponent;
@@ -32,6 +34,7 @@ public class EntityRenderer {
     private final RenderAssetManager assets;
     private final WorldMap worldMap; // For height lookups for cursor/preview
     private final SnapPointManager snapPointManager; // For rendering snap points
+    private final TransformComponent ridePosition = new TransformComponent(0, 0, 0); // Scratch for lift riders and hoppers
 
     public EntityRenderer(Engine ecsEngine, WorldMap worldMap, RenderAssetManager assets,
             SnapPointManager snapPointManager) {
@@ -56,6 +59,19 @@ public class EntityRenderer {
             if (ecsEngine.hasComponent(entity, TransformComponent.class)) {
                 TransformComponent t = ecsEngine.getComponent(entity, TransformComponent.class);
 
+                // Lift riders sleep in the engine; place them along the cable on demand
+                LiftRideComponent ride = ecsEngine.getComponent(entity, LiftRideComponent.class);
+                if (ride != null) {
+                    ride.positionAt(ecsEngine.getTime(), ridePosition);
+                    t = ridePosition;
+                }
+                // Off-screen skiers may be asleep mid-hop down a trail
+                TrailHopComponent hop = ecsEngine.getComponent(entity, TrailHopComponent.class);
+                if (hop != null) {
+                    hop.positionAt(ecsEngine.getTime(), ridePosition);
+                    t = ridePosition;
+                }
+
                 float drawX = t.x;
                 float drawZ = t.z;
                 float drawY = t.y * IsoUtils.HEIGHT_SCALE;
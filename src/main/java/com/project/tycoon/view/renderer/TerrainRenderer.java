@@ -1,5 +1,6 @@
 package com.project.tycoon.view.renderer;
 
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
@@ -13,104 +14,239 @@ import com.badlogic.gdx.graphics.g3d.attributes.IntAttribute;
 import com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder;
 import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
 import com.project.tycoon.view.util.IsoUtils;
 import com.project.tycoon.world.model.Decoration;
-import com.project.tycoon.world.model.Tile;
+import com.project.tycoon.world.model.DirtyRegion;
+import com.project.tycoon.world.model.TrailDifficulty;
 import com.project.tycoon.world.model.WorldMap;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Renders the terrain mesh, decorations and trail markers.
+ *
+ * The map is split into CHUNK_SIZE x CHUNK_SIZE chunks, each with its own
+ * Model and cached instances. Only chunks touched by WorldMap changes since
+ * the last processed version are marked dirty. Chunks that streamed in with a
+ * new highest peak are shaded against the old maximum until the terrain
+ * settles (a frame with no changes), then everything is marked once.
+ *
+ * Chunks are culled against the camera frustum using bounds measured when
+ * they are marked, and a dirty chunk's meshes are only built once it is
+ * visible.
+ */
 public class TerrainRenderer {
 
+    private static final int CHUNK_SIZE = 64;
+    private static final float DECORATION_HEIGHT = 3f; // Tallest tree or marker above the ground
+
     private final WorldMap worldMap;
     private final RenderAssetManager assets;
     
     // Cached max height for elevation-based coloring
     private float maxHeight = 100f; // Default, recalculated when terrain is rebuilt
 
-    private Model terrainModel;
-    private ModelInstance terrainInstance;
-
-    // Cached instances to avoid per-frame allocation (PERFORMANCE FIX)
-    private final List<ModelInstance> decorationInstances = new ArrayList<>();
-    private final List<ModelInstance> trailMarkerInstances = new ArrayList<>();
+    private final int chunksX;
+    private final int chunksZ;
+    private final TerrainChunk[] chunks;
+    private long renderedVersion = -1; // Last WorldMap version reflected in the chunks
+    private boolean shadingStale = false; // maxHeight was exceeded since the last full rebuild
+    private final List<DirtyRegion> changedRegions = new ArrayList<>();
 
     public TerrainRenderer(WorldMap worldMap, RenderAssetManager assets) {
         this.worldMap = worldMap;
         this.assets = assets;
-        buildTerrainModel();
+        this.chunksX = (worldMap.getWidth() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunksZ = (worldMap.getDepth() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new TerrainChunk[chunksX * chunksZ];
+        for (int chunkZ = 0; chunkZ < chunksZ; chunkZ++) {
+            for (int chunkX = 0; chunkX < chunksX; chunkX++) {
+                int minX = chunkX * CHUNK_SIZE;
+                int minZ = chunkZ * CHUNK_SIZE;
+                int maxX = Math.min(minX + CHUNK_SIZE, worldMap.getWidth()) - 1;
+                int maxZ = Math.min(minZ + CHUNK_SIZE, worldMap.getDepth()) - 1;
+                chunks[chunkZ * chunksX + chunkX] = new TerrainChunk(minX, minZ, maxX, maxZ);
+            }
+        }
+        update();
     }
 
     public void update() {
-        if (worldMap.isDirty()) {
-            if (terrainModel != null)
-                terrainModel.dispose();
-            buildTerrainModel();
-            rebuildCachedInstances();
-            worldMap.clean();
+        // Version first: chunks may be streaming in on generator threads
+        long version = worldMap.getVersion();
+        changedRegions.clear();
+        if (!worldMap.collectChangesSince(renderedVersion, WorldMap.CHANGE_ALL, changedRegions)) {
+            if (shadingStale) {
+                // Terrain has settled; apply the new peak to the elevation shading everywhere
+                shadingStale = false;
+                calculateMaxHeight();
+                markChunks(true);
+            }
+            return;
+        }
+
+        boolean fullRebuild = renderedVersion < 0;
+        if (fullRebuild) {
+            calculateMaxHeight();
+        } else {
+            for (DirtyRegion region : changedRegions) {
+                if (!shadingStale && raisesMaxHeight(region)) {
+                    shadingStale = true;
+                }
+            }
+        }
+        renderedVersion = version;
+
+        // Quads, normals and trail markers read neighbouring tiles
+        for (int i = 0; i < changedRegions.size(); i++) {
+            changedRegions.set(i, changedRegions.get(i).expand(1));
         }
+        markChunks(fullRebuild);
     }
 
+    /**
+     * Mark chunks for a rebuild on their next visible frame. Changed chunks
+     * are re-measured so culling sees their new heights.
+     */
+    private void markChunks(boolean all) {
+        for (TerrainChunk chunk : chunks) {
+            boolean changed = intersectsChange(chunk.minX, chunk.minZ, chunk.maxX, chunk.maxZ);
+            if (changed || !chunk.measured) {
+                measureChunk(chunk);
+            }
+            if (all || changed) {
+                chunk.dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Fit a chunk's bounds to its quads (which reach one tile past maxX/maxZ)
+     * and anything standing on them.
+     */
+    private void measureChunk(TerrainChunk chunk) {
+        int endX = Math.min(chunk.maxX + 1, worldMap.getWidth() - 1);
+        int endZ = Math.min(chunk.maxZ + 1, worldMap.getDepth() - 1);
+        int low = Integer.MAX_VALUE;
+        int high = Integer.MIN_VALUE;
+        for (int z = chunk.minZ; z <= endZ; z++) {
+            for (int x = chunk.minX; x <= endX; x++) {
+                int h = worldMap.getHeight(x, z);
+                low = Math.min(low, h);
+                high = Math.max(high, h);
+            }
+        }
+        chunk.bounds.set(
+                new Vector3(chunk.minX, low * IsoUtils.HEIGHT_SCALE, chunk.minZ),
+                new Vector3(endX + 1, high * IsoUtils.HEIGHT_SCALE + DECORATION_HEIGHT, endZ + 1));
+        chunk.measured = true;
+    }
+
+    private boolean intersectsChange(int minX, int minZ, int maxX, int maxZ) {
+        for (DirtyRegion region : changedRegions) {
+            if (region.intersects(minX, minZ, maxX, maxZ)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Render the chunks inside the batch camera's frustum, building any that
+     * were marked dirty first.
+     */
     public void render(ModelBatch batch, Environment environment) {
-        if (terrainInstance != null) {
-            batch.render(terrainInstance, environment);
+        Camera camera = batch.getCamera();
+        for (TerrainChunk chunk : chunks) {
+            if (!camera.frustum.boundsInFrustum(chunk.bounds)) {
+                continue;
+            }
+            if (chunk.dirty) {
+                rebuildChunk(chunk);
+            }
+
+            if (chunk.terrainInstance != null) {
+                batch.render(chunk.terrainInstance, environment);
+            }
+
+            // Render cached decoration instances (PERFORMANCE FIX: No per-frame allocation)
+            for (ModelInstance instance : chunk.decorationInstances) {
+                batch.render(instance, environment);
+            }
+
+            // Render cached trail marker instances (PERFORMANCE FIX: No per-frame
+            // allocation)
+            for (ModelInstance instance : chunk.trailMarkerInstances) {
+                batch.render(instance, environment);
+            }
         }
+    }
 
-        // Render cached decoration instances (PERFORMANCE FIX: No per-frame allocation)
-        for (ModelInstance instance : decorationInstances) {
-            batch.render(instance, environment);
+    private void rebuildChunk(TerrainChunk chunk) {
+        if (chunk.terrainModel != null) {
+            chunk.terrainModel.dispose();
+            chunk.terrainModel = null;
+            chunk.terrainInstance = null;
         }
+        buildChunkModel(chunk, chunk.minX, chunk.minZ, chunk.maxX, chunk.maxZ);
+        rebuildCachedInstances(chunk, chunk.minX, chunk.minZ, chunk.maxX, chunk.maxZ);
+        chunk.dirty = false;
+    }
 
-        // Render cached trail marker instances (PERFORMANCE FIX: No per-frame
-        // allocation)
-        for (ModelInstance instance : trailMarkerInstances) {
-            batch.render(instance, environment);
+    private boolean raisesMaxHeight(DirtyRegion region) {
+        for (int z = region.minZ; z <= region.maxZ; z++) {
+            for (int x = region.minX; x <= region.maxX; x++) {
+                if (worldMap.getHeight(x, z) > maxHeight) {
+                    return true;
+                }
+            }
         }
+        return false;
     }
 
     private float getH(int x, int z) {
-        Tile t = worldMap.getTile(x, z);
-        return (t != null) ? t.getHeight() * IsoUtils.HEIGHT_SCALE : 0;
+        return worldMap.isValid(x, z) ? worldMap.getHeight(x, z) * IsoUtils.HEIGHT_SCALE : 0;
     }
 
     private boolean isNotTrail(int x, int z) {
-        if (x < 0 || z < 0 || x >= worldMap.getWidth() || z >= worldMap.getDepth())
+        if (!worldMap.isValid(x, z))
             return true;
-        return !worldMap.getTile(x, z).isTrail();
+        return !worldMap.isTrail(x, z);
     }
 
     /**
-     * Rebuilds cached ModelInstances for decorations and trail markers.
-     * Called once when terrain is dirty instead of creating instances every frame.
+     * Rebuilds a chunk's cached ModelInstances for decorations and trail markers.
+     * Called once when the chunk is dirty instead of creating instances every frame.
      * PERFORMANCE: Prevents thousands of allocations per frame on large maps.
      */
-    private void rebuildCachedInstances() {
+    private void rebuildCachedInstances(TerrainChunk chunk, int minX, int minZ, int maxX, int maxZ) {
         // Clear old instances
-        decorationInstances.clear();
-        trailMarkerInstances.clear();
+        chunk.decorationInstances.clear();
+        chunk.trailMarkerInstances.clear();
 
         // Rebuild decoration instances
-        for (int z = 0; z < worldMap.getDepth(); z++) {
-            for (int x = 0; x < worldMap.getWidth(); x++) {
-                Tile t = worldMap.getTile(x, z);
-                float h = t.getHeight() * IsoUtils.HEIGHT_SCALE;
+        for (int z = minZ; z <= maxZ; z++) {
+            for (int x = minX; x <= maxX; x++) {
+                float h = worldMap.getHeight(x, z) * IsoUtils.HEIGHT_SCALE;
 
                 // Cache Decoration instances
-                if (t.getDecoration() != Decoration.NONE) {
+                Decoration decoration = worldMap.getDecoration(x, z);
+                if (decoration != Decoration.NONE) {
                     Model model = assets.rockModel;
-                    if (t.getDecoration() == Decoration.TREE) {
+                    if (decoration == Decoration.TREE) {
                         model = ((x + z) % 3 == 0) ? assets.treeModel2 : assets.treeModel1;
                     }
 
                     ModelInstance instance = new ModelInstance(model);
                     instance.transform.setToTranslation(x + 0.5f, h, z + 0.5f);
-                    decorationInstances.add(instance);
+                    chunk.decorationInstances.add(instance);
                 }
 
                 // Cache Trail Marker instances
-                if (t.isTrail()) {
-                    cacheTrailMarkersForTile(x, z);
+                if (worldMap.isTrail(x, z)) {
+                    cacheTrailMarkersForTile(chunk.trailMarkerInstances, x, z);
                 }
             }
         }
@@ -119,40 +255,36 @@ public class TerrainRenderer {
     /**
      * Creates and caches trail marker instances for borders of a trail tile.
      */
-    /**
-     * Creates and caches trail marker instances for borders of a trail tile.
-     */
-    private void cacheTrailMarkersForTile(int x, int z) {
+    private void cacheTrailMarkersForTile(List<ModelInstance> out, int x, int z) {
         float h00 = getH(x, z);
         float h10 = getH(x + 1, z);
         float h01 = getH(x, z + 1);
         float h11 = getH(x + 1, z + 1);
 
-        Tile t = worldMap.getTile(x, z);
-        Color markerColor = t.getTrailDifficulty().getMarkerColor();
+        Color markerColor = worldMap.getTrailDifficulty(x, z).getMarkerColor();
 
         // North (z-1)
         if (isNotTrail(x, z - 1)) {
-            createTrailMarker(x + 0.5f, (h00 + h10) * 0.5f, z, markerColor);
+            createTrailMarker(x + 0.5f, (h00 + h10) * 0.5f, z, markerColor, out);
         }
         // South (z+1)
         if (isNotTrail(x, z + 1)) {
-            createTrailMarker(x + 0.5f, (h01 + h11) * 0.5f, z + 1f, markerColor);
+            createTrailMarker(x + 0.5f, (h01 + h11) * 0.5f, z + 1f, markerColor, out);
         }
         // West (x-1)
         if (isNotTrail(x - 1, z)) {
-            createTrailMarker(x, (h00 + h01) * 0.5f, z + 0.5f, markerColor);
+            createTrailMarker(x, (h00 + h01) * 0.5f, z + 0.5f, markerColor, out);
         }
         // East (x+1)
         if (isNotTrail(x + 1, z)) {
-            createTrailMarker(x + 1f, (h10 + h11) * 0.5f, z + 0.5f, markerColor);
+            createTrailMarker(x + 1f, (h10 + h11) * 0.5f, z + 0.5f, markerColor, out);
         }
     }
 
     /**
      * Creates a single trail marker instance and adds it to the cache.
      */
-    private void createTrailMarker(float x, float y, float z, Color color) {
+    private void createTrailMarker(float x, float y, float z, Color color, List<ModelInstance> out) {
         ModelInstance marker = new ModelInstance(assets.trailMarkerModel);
         marker.transform.setToTranslation(x, y + 0.25f, z);
 
@@ -160,7 +292,7 @@ public class TerrainRenderer {
             m.set(ColorAttribute.createDiffuse(color));
         }
 
-        trailMarkerInstances.add(marker);
+        out.add(marker);
     }
 
     /**
@@ -170,9 +302,9 @@ public class TerrainRenderer {
         float max = 0f;
         for (int z = 0; z < worldMap.getDepth(); z++) {
             for (int x = 0; x < worldMap.getWidth(); x++) {
-                Tile t = worldMap.getTile(x, z);
-                if (t != null && t.getHeight() > max) {
-                    max = t.getHeight();
+                int h = worldMap.getHeight(x, z);
+                if (h > max) {
+                    max = h;
                 }
             }
         }
@@ -180,86 +312,81 @@ public class TerrainRenderer {
         maxHeight = max > 0 ? max : 100f;
     }
 
-    private void buildTerrainModel() {
-        // Calculate max height for elevation-based coloring
-        calculateMaxHeight();
-        
+    /**
+     * Build the terrain mesh for one chunk. Quads span tile (x, z) to (x + 1, z + 1),
+     * so the last row/column of the map produces no quads.
+     */
+    private void buildChunkModel(TerrainChunk chunk, int cx, int cz, int maxX, int maxZ) {
+        int endX = Math.min(maxX + 1, worldMap.getWidth() - 1);
+        int endZ = Math.min(maxZ + 1, worldMap.getDepth() - 1);
+        if (cx >= endX || cz >= endZ) {
+            return;
+        }
+
         ModelBuilder mb = new ModelBuilder();
         mb.begin();
 
-        int chunkSize = 64;
-        int width = worldMap.getWidth();
-        int depth = worldMap.getDepth();
-
         Vector3 p1 = new Vector3();
         Vector3 p2 = new Vector3();
         Vector3 p3 = new Vector3();
         Vector3 p4 = new Vector3();
 
-        for (int cz = 0; cz < depth - 1; cz += chunkSize) {
-            for (int cx = 0; cx < width - 1; cx += chunkSize) {
-
-                MeshPartBuilder builder = mb.part(
-                        "chunk_" + cx + "_" + cz,
-                        GL20.GL_TRIANGLES,
-                        Usage.Position | Usage.ColorPacked | Usage.Normal,
-                        new Material(
-                                ColorAttribute.createDiffuse(Color.WHITE),
-                                new IntAttribute(IntAttribute.CullFace, 0)));
-
-                int endX = Math.min(cx + chunkSize, width - 1);
-                int endZ = Math.min(cz + chunkSize, depth - 1);
-
-                for (int z = cz; z < endZ; z++) {
-                    for (int x = cx; x < endX; x++) {
-                        float h1 = worldMap.getTile(x, z).getHeight() * IsoUtils.HEIGHT_SCALE;
-                        float h2 = worldMap.getTile(x + 1, z).getHeight() * IsoUtils.HEIGHT_SCALE;
-                        float h3 = worldMap.getTile(x + 1, z + 1).getHeight() * IsoUtils.HEIGHT_SCALE;
-                        float h4 = worldMap.getTile(x, z + 1).getHeight() * IsoUtils.HEIGHT_SCALE;
-
-                        Tile tile = worldMap.getTile(x, z);
-                        builder.setColor(getTerrainColor(tile));
-
-                        p1.set(x, h1, z);
-                        p2.set(x + 1, h2, z);
-                        p3.set(x + 1, h3, z + 1);
-                        p4.set(x, h4, z + 1);
-
-                        Vector3 faceNorm;
-                        if (tile.isTrail()) {
-                            // Force flat "up" normal for trails to look smooth/groomed
-                            faceNorm = Vector3.Y.cpy();
-                        } else {
-                            // Standard facet normal for terrain
-                            Vector3 u = new Vector3(p2).sub(p1);
-                            Vector3 v = new Vector3(p4).sub(p1);
-                            faceNorm = v.crs(u).nor();
-                        }
-
-                        builder.rect(p1, p2, p3, p4, faceNorm);
-                    }
+        MeshPartBuilder builder = mb.part(
+                "chunk_" + cx + "_" + cz,
+                GL20.GL_TRIANGLES,
+                Usage.Position | Usage.ColorPacked | Usage.Normal,
+                new Material(
+                        ColorAttribute.createDiffuse(Color.WHITE),
+                        new IntAttribute(IntAttribute.CullFace, 0)));
+
+        for (int z = cz; z < endZ; z++) {
+            for (int x = cx; x < endX; x++) {
+                float h1 = worldMap.getHeight(x, z) * IsoUtils.HEIGHT_SCALE;
+                float h2 = worldMap.getHeight(x + 1, z) * IsoUtils.HEIGHT_SCALE;
+                float h3 = worldMap.getHeight(x + 1, z + 1) * IsoUtils.HEIGHT_SCALE;
+                float h4 = worldMap.getHeight(x, z + 1) * IsoUtils.HEIGHT_SCALE;
+
+                boolean trail = worldMap.isTrail(x, z);
+                builder.setColor(getTerrainColor(x, z));
+
+                p1.set(x, h1, z);
+                p2.set(x + 1, h2, z);
+                p3.set(x + 1, h3, z + 1);
+                p4.set(x, h4, z + 1);
+
+                Vector3 faceNorm;
+                if (trail) {
+                    // Force flat "up" normal for trails to look smooth/groomed
+                    faceNorm = Vector3.Y.cpy();
+                } else {
+                    // Standard facet normal for terrain
+                    Vector3 u = new Vector3(p2).sub(p1);
+                    Vector3 v = new Vector3(p4).sub(p1);
+                    faceNorm = v.crs(u).nor();
                 }
+
+                builder.rect(p1, p2, p3, p4, faceNorm);
             }
         }
-        terrainModel = mb.end();
-        terrainInstance = new ModelInstance(terrainModel);
+        chunk.terrainModel = mb.end();
+        chunk.terrainInstance = new ModelInstance(chunk.terrainModel);
     }
 
     /**
      * Enhanced terrain coloring with elevation-based shading and trail difficulty colors.
      */
-    private Color getTerrainColor(Tile tile) {
+    private Color getTerrainColor(int x, int z) {
         // Trail colors based on difficulty
-        if (tile.isTrail()) {
-            return getTrailColor(tile);
+        if (worldMap.isTrail(x, z)) {
+            return getTrailColor(worldMap.getTrailDifficulty(x, z));
         }
         
         // Elevation-based shading for non-trail terrain
-        float elevation = tile.getHeight();
+        float elevation = worldMap.getHeight(x, z);
         float elevationFactor = Math.min(1.0f, elevation / maxHeight);
         
         Color baseColor;
-        switch (tile.getType()) {
+        switch (worldMap.getTerrainType(x, z)) {
             case SNOW:
                 // Brighter snow at higher elevations, slightly blue-tinted
                 float snowBrightness = 0.80f + (elevationFactor * 0.15f); // 0.80 -> 0.95
@@ -292,8 +419,8 @@ public class TerrainRenderer {
      * Get distinct trail color based on difficulty rating.
      * Makes trails highly visible and easy to distinguish.
      */
-    private Color getTrailColor(Tile tile) {
-        switch (tile.getTrailDifficulty()) {
+    private Color getTrailColor(TrailDifficulty difficulty) {
+        switch (difficulty) {
             case GREEN:
                 // Bright, groomed green trail
                 return new Color(0.85f, 0.95f, 0.85f, 1f);
@@ -312,7 +439,36 @@ public class TerrainRenderer {
     }
 
     public void dispose() {
-        if (terrainModel != null)
-            terrainModel.dispose();
+        for (TerrainChunk chunk : chunks) {
+            if (chunk.terrainModel != null)
+                chunk.terrainModel.dispose();
+        }
+    }
+
+    /**
+     * Render data for one chunk of the map.
+     */
+    private static class TerrainChunk {
+        final int minX;
+        final int minZ;
+        final int maxX;
+        final int maxZ;
+        final BoundingBox bounds = new BoundingBox();
+        boolean measured; // Bounds reflect the chunk's heights
+        boolean dirty; // Meshes must be rebuilt before the chunk is drawn
+
+        Model terrainModel;
+        ModelInstance terrainInstance;
+
+        // Cached instances to avoid per-frame allocation (PERFORMANCE FIX)
+        final List<ModelInstance> decorationInstances = new ArrayList<>();
+        final List<ModelInstance> trailMarkerInstances = new ArrayList<>();
+
+        TerrainChunk(int minX, int minZ, int maxX, int maxZ) {
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+        }
     }
 }
@@ -11,6 +11,9 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.project.tycoon.economy.EconomyManager;
 import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.systems.lift.LiftStatus;
+import com.project.tycoon.ecs.systems.lift.LiftTelemetry;
+import com.project.tycoon.ecs.systems.lift.WaitHistogram;
 import com.project.tycoon.simulation.TycoonSimulation;
 
 /**
@@ -35,6 +38,10 @@ public class FinancesScreen {
     private Label totalRevenueLabel;
     private Label totalExpensesLabel;
     private Label netProfitLabel;
+    private Label ridersPerHourLabel;
+    private Label inLineLabel;
+    private Label averageWaitLabel;
+    private Label worstWaitLabel;
 
     public FinancesScreen(Skin skin, EconomyManager economy, Engine engine, TycoonSimulation simulation) {
         this.skin = skin;
@@ -93,6 +100,15 @@ public class FinancesScreen {
         
         netProfitLabel = addValueRow("Net Profit/Loss:", "$0.00", Color.BLACK);
 
+        mainPanel.row().padTop(20);
+
+        // === LIFT OPERATIONS SECTION ===
+        addSectionHeader("Lift Operations");
+        ridersPerHourLabel = addValueRow("Riders/Hour:", "0", Color.WHITE);
+        inLineLabel = addValueRow("Skiers In Line:", "0", Color.WHITE);
+        averageWaitLabel = addValueRow("Average Wait:", "0s", Color.WHITE);
+        worstWaitLabel = addValueRow("Worst Lift (95th pct):", "0s", Color.WHITE);
+
         mainPanel.row().padTop(30);
 
         // Close button
@@ -160,11 +176,42 @@ public class FinancesScreen {
         totalExpensesLabel.setText(formatMoney(totalExpenses));
         netProfitLabel.setText(formatMoney(netProfit));
         
+        updateLiftData();
+
         // Color code the balance and net profit
         balanceLabel.setColor(balance >= 0 ? Color.WHITE : new Color(1f, 0.3f, 0.3f, 1f));
         netProfitLabel.setColor(netProfit >= 0 ? new Color(0.3f, 0.9f, 0.5f, 1f) : new Color(1f, 0.3f, 0.3f, 1f));
     }
     
+    /**
+     * Update lift operation labels from every lift's telemetry.
+     */
+    private void updateLiftData() {
+        if (simulation == null) {
+            return;
+        }
+
+        float ridersPerHour = 0f;
+        int inLine = 0;
+        long waits = 0;
+        double totalWait = 0.0;
+        float worstWait = 0f;
+        for (LiftStatus status : simulation.getLiftSystem().getLiftStatuses()) {
+            LiftTelemetry telemetry = status.getTelemetry();
+            WaitHistogram waitTimes = telemetry.getWaitTimes();
+            ridersPerHour += telemetry.getRidersPerHour();
+            inLine += status.getQueueLength();
+            waits += waitTimes.getCount();
+            totalWait += (double) waitTimes.getMean() * waitTimes.getCount();
+            worstWait = Math.max(worstWait, waitTimes.getPercentile(0.95f));
+        }
+
+        ridersPerHourLabel.setText(String.format("%,.0f", ridersPerHour));
+        inLineLabel.setText(String.valueOf(inLine));
+        averageWaitLabel.setText(String.format("%.0fs", waits > 0 ? totalWait / waits : 0.0));
+        worstWaitLabel.setText(String.format("%.0fs", worstWait));
+    }
+
     /**
      * Format a float as money string.
      */
@@ -0,0 +1,202 @@
+package com.project.tycoon.world;
+
+import com.project.tycoon.world.model.DirtyRegion;
+import com.project.tycoon.world.model.WorldMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed terrain gradient (X/Z) and slope angle layers.
+ *
+ * Gradients are central differences of the heightmap (positive = uphill in that
+ * direction), and the slope angle is the steepest-descent angle in degrees.
+ * Layers are stored per WorldMap chunk and materialized on first access, or in
+ * parallel through precompute(). Height changes from the WorldMap change log
+ * recompute only the chunks that were touched.
+ */
+public class SlopeField {
+
+    // Maps up to this many tiles are fully precomputed at construction
+    private static final long PRECOMPUTE_LIMIT = 1024L * 1024L;
+
+    private static final int CHUNK_SIZE = WorldMap.CHUNK_SIZE;
+    private static final int LAYERS = 3; // gradX, gradZ, slope angle (interleaved per tile)
+
+    private final WorldMap map;
+
+    // chunkData[chunk][(lz * CHUNK_SIZE + lx) * LAYERS + layer], null = not computed yet
+    private final float[][] chunkData;
+    private long builtVersion;
+
+    public SlopeField(WorldMap map) {
+        this.map = map;
+        this.chunkData = new float[map.getChunksX() * map.getChunksZ()][];
+        this.builtVersion = map.getVersion();
+
+        if ((long) map.getWidth() * map.getDepth() <= PRECOMPUTE_LIMIT) {
+            precompute(0, 0, map.getWidth() - 1, map.getDepth() - 1);
+        }
+    }
+
+    /**
+     * Recompute chunks affected by height changes since the last refresh.
+     * Chunks that were never materialized stay lazy.
+     */
+    public void refresh() {
+        // Version first: terrain may still be streaming in on other threads
+        long version = map.getVersion();
+        DirtyRegion changed = map.getChangesSince(builtVersion, WorldMap.CHANGE_HEIGHT);
+        builtVersion = version;
+        if (changed == null) {
+            return;
+        }
+
+        // Central differences read one tile beyond the edit
+        DirtyRegion affected = changed.expand(1);
+        List<int[]> stale = new ArrayList<>();
+        forEachChunk(affected.minX, affected.minZ, affected.maxX, affected.maxZ, (chunkX, chunkZ) -> {
+            if (chunkData[chunkZ * map.getChunksX() + chunkX] != null) {
+                stale.add(new int[] { chunkX, chunkZ });
+            }
+        });
+        computeChunks(stale);
+    }
+
+    /**
+     * Compute all chunks overlapping an inclusive tile rectangle, in parallel.
+     */
+    public void precompute(int minX, int minZ, int maxX, int maxZ) {
+        List<int[]> missing = new ArrayList<>();
+        forEachChunk(minX, minZ, maxX, maxZ, (chunkX, chunkZ) -> {
+            if (chunkData[chunkZ * map.getChunksX() + chunkX] == null) {
+                missing.add(new int[] { chunkX, chunkZ });
+            }
+        });
+        computeChunks(missing);
+    }
+
+    /**
+     * Height change per tile along X at a tile (coordinates must be valid).
+     */
+    public float getGradientX(int x, int z) {
+        return layer(x, z, 0);
+    }
+
+    /**
+     * Height change per tile along Z at a tile (coordinates must be valid).
+     */
+    public float getGradientZ(int x, int z) {
+        return layer(x, z, 1);
+    }
+
+    /**
+     * Steepest slope angle at a tile in degrees (coordinates must be valid).
+     */
+    public float getSlopeAngle(int x, int z) {
+        return layer(x, z, 2);
+    }
+
+    /**
+     * Bilinearly interpolated gradient at a world position. Tile values are
+     * taken at tile centers; positions off the map are clamped to the edge.
+     *
+     * @param out Receives {gradX, gradZ} (length >= 2)
+     */
+    public void sampleGradient(float x, float z, float[] out) {
+        float fx = clamp(x - 0.5f, 0, map.getWidth() - 1);
+        float fz = clamp(z - 0.5f, 0, map.getDepth() - 1);
+
+        int x0 = (int) fx;
+        int z0 = (int) fz;
+        int x1 = Math.min(x0 + 1, map.getWidth() - 1);
+        int z1 = Math.min(z0 + 1, map.getDepth() - 1);
+        float tx = fx - x0;
+        float tz = fz - z0;
+
+        for (int l = 0; l < 2; l++) {
+            float top = lerp(layer(x0, z0, l), layer(x1, z0, l), tx);
+            float bottom = lerp(layer(x0, z1, l), layer(x1, z1, l), tx);
+            out[l] = lerp(top, bottom, tz);
+        }
+    }
+
+    private float layer(int x, int z, int layer) {
+        int chunkX = x / CHUNK_SIZE;
+        int chunkZ = z / CHUNK_SIZE;
+        float[] data = chunkData[chunkZ * map.getChunksX() + chunkX];
+        if (data == null) {
+            data = computeChunk(chunkX, chunkZ);
+        }
+        int local = (z - chunkZ * CHUNK_SIZE) * CHUNK_SIZE + (x - chunkX * CHUNK_SIZE);
+        return data[local * LAYERS + layer];
+    }
+
+    private void computeChunks(List<int[]> chunks) {
+        if (chunks.size() == 1) {
+            computeChunk(chunks.get(0)[0], chunks.get(0)[1]);
+        } else if (!chunks.isEmpty()) {
+            // Each chunk writes only its own array and reads immutable heights
+            chunks.parallelStream().forEach(c -> computeChunk(c[0], c[1]));
+        }
+    }
+
+    private float[] computeChunk(int chunkX, int chunkZ) {
+        int originX = chunkX * CHUNK_SIZE;
+        int originZ = chunkZ * CHUNK_SIZE;
+        int sizeX = Math.min(CHUNK_SIZE, map.getWidth() - originX);
+        int sizeZ = Math.min(CHUNK_SIZE, map.getDepth() - originZ);
+        int width = map.getWidth();
+        int depth = map.getDepth();
+
+        float[] data = new float[CHUNK_SIZE * CHUNK_SIZE * LAYERS];
+        for (int lz = 0; lz < sizeZ; lz++) {
+            int z = originZ + lz;
+            for (int lx = 0; lx < sizeX; lx++) {
+                int x = originX + lx;
+                float h = map.getHeight(x, z);
+
+                // Central difference; off-map neighbours use the tile's own height
+                float hLeft = (x > 0) ? map.getHeight(x - 1, z) : h;
+                float hRight = (x < width - 1) ? map.getHeight(x + 1, z) : h;
+                float hUp = (z > 0) ? map.getHeight(x, z - 1) : h;
+                float hDown = (z < depth - 1) ? map.getHeight(x, z + 1) : h;
+
+                float gradX = (hRight - hLeft) / 2.0f;
+                float gradZ = (hDown - hUp) / 2.0f;
+
+                int i = (lz * CHUNK_SIZE + lx) * LAYERS;
+                data[i] = gradX;
+                data[i + 1] = gradZ;
+                data[i + 2] = (float) Math.toDegrees(Math.atan(Math.sqrt(gradX * gradX + gradZ * gradZ)));
+            }
+        }
+
+        chunkData[chunkZ * map.getChunksX() + chunkX] = data;
+        return data;
+    }
+
+    private void forEachChunk(int minX, int minZ, int maxX, int maxZ, ChunkVisitor visitor) {
+        minX = Math.max(minX, 0);
+        minZ = Math.max(minZ, 0);
+        maxX = Math.min(maxX, map.getWidth() - 1);
+        maxZ = Math.min(maxZ, map.getDepth() - 1);
+        for (int chunkZ = minZ / CHUNK_SIZE; chunkZ <= maxZ / CHUNK_SIZE; chunkZ++) {
+            for (int chunkX = minX / CHUNK_SIZE; chunkX <= maxX / CHUNK_SIZE; chunkX++) {
+                visitor.visit(chunkX, chunkZ);
+            }
+        }
+    }
+
+    private static float clamp(float v, float min, float max) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    private static float lerp(float a, float b, float t) {
+        return a + (b - a) * t;
+    }
+
+    private interface ChunkVisitor {
+        void visit(int chunkX, int chunkZ);
+    }
+}
@@ -13,6 +13,7 @@ import java.util.LinkedList;
 public class SnapPointManager {
 
     private final Map<UUID, SnapPoint> snapPoints;
+    private long version = 0; // Bumped on every add/remove/connect so caches can detect changes
 
     public SnapPointManager() {
         this.snapPoints = new HashMap<>();
@@ -23,6 +24,7 @@ public class SnapPointManager {
      */
     public void registerSnapPoint(SnapPoint snapPoint) {
         snapPoints.put(snapPoint.getId(), snapPoint);
+        version++;
         System.out.println("Registered snap point: " + snapPoint.getType() + " at (" +
                 snapPoint.getX() + ", " + snapPoint.getZ() + ")");
     }
@@ -33,6 +35,7 @@ public class SnapPointManager {
     public void removeSnapPoint(UUID snapPointId) {
         SnapPoint removed = snapPoints.remove(snapPointId);
         if (removed != null) {
+            version++;
             // Remove all connections to this snap point
             for (SnapPoint sp : snapPoints.values()) {
                 sp.removeConnection(snapPointId);
@@ -50,10 +53,18 @@ public class SnapPointManager {
         if (fromPoint != null && toPoint != null) {
             fromPoint.addConnection(to);
             toPoint.addConnection(from);
+            version++;
             System.out.println("Connected snap points: " + fromPoint.getType() + " <-> " + toPoint.getType());
         }
     }
 
+    /**
+     * Monotonic counter of snap point changes (registrations, removals, connections).
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Get a snap point by ID.
      */
@@ -0,0 +1,176 @@
+package com.project.tycoon.world;
+
+import com.project.tycoon.world.model.DirtyRegion;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+
+import java.util.Arrays;
+
+/**
+ * Per-difficulty summed-area tables (integral images) of trail tiles.
+ * Answers "how many trail tiles of each difficulty are in this rectangle"
+ * with 4 array reads per difficulty per overlapped chunk, regardless of
+ * rectangle size.
+ *
+ * Tables are kept per WorldMap chunk and only allocated for chunks that
+ * contain trails, so memory follows the trail network rather than the map
+ * area. Chunks touched by trail changes in the WorldMap change log are
+ * rebuilt lazily on the next query.
+ */
+public class TrailDensityMap {
+
+    private static final TrailDifficulty[] DIFFICULTIES = TrailDifficulty.values();
+    private static final int CHUNK_SIZE = WorldMap.CHUNK_SIZE;
+    private static final int STRIDE = CHUNK_SIZE + 1;
+
+    private final WorldMap map;
+
+    // chunkTables[chunk][difficulty][(lz + 1) * STRIDE + (lx + 1)] = trail tiles of that
+    // difficulty in the chunk's [0..lx] x [0..lz]. Row 0 and column 0 are zero padding.
+    // A null entry means the chunk has no trails.
+    private final int[][][] chunkTables;
+    private long builtVersion = -1;
+
+    public TrailDensityMap(WorldMap map) {
+        this.map = map;
+        this.chunkTables = new int[map.getChunksX() * map.getChunksZ()][][];
+    }
+
+    /**
+     * Count trail tiles of one difficulty inside an inclusive rectangle.
+     * The rectangle is clamped to the map bounds.
+     */
+    public int count(TrailDifficulty difficulty, int minX, int minZ, int maxX, int maxZ) {
+        refresh();
+        return sum(difficulty.ordinal(), minX, minZ, maxX, maxZ);
+    }
+
+    /**
+     * Count trail tiles of every difficulty inside an inclusive rectangle.
+     *
+     * @param out Array indexed by TrailDifficulty ordinal (length >= 4)
+     */
+    public void countAll(int minX, int minZ, int maxX, int maxZ, int[] out) {
+        refresh();
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            out[d] = sum(d, minX, minZ, maxX, maxZ);
+        }
+    }
+
+    /**
+     * Count trail tiles of any difficulty inside an inclusive rectangle.
+     */
+    public int countAny(int minX, int minZ, int maxX, int maxZ) {
+        refresh();
+        int total = 0;
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            total += sum(d, minX, minZ, maxX, maxZ);
+        }
+        return total;
+    }
+
+    /**
+     * Most common trail difficulty in a square window around a tile.
+     *
+     * @return Dominant difficulty, or null if the window contains no trail tiles
+     */
+    public TrailDifficulty dominantDifficulty(int centerX, int centerZ, int radius) {
+        refresh();
+
+        TrailDifficulty mostCommon = null;
+        int maxCount = 0;
+        for (int d = 0; d < DIFFICULTIES.length; d++) {
+            int count = sum(d, centerX - radius, centerZ - radius, centerX + radius, centerZ + radius);
+            if (count > maxCount) {
+                maxCount = count;
+                mostCommon = DIFFICULTIES[d];
+            }
+        }
+        return mostCommon;
+    }
+
+    private int sum(int difficulty, int minX, int minZ, int maxX, int maxZ) {
+        minX = Math.max(minX, 0);
+        minZ = Math.max(minZ, 0);
+        maxX = Math.min(maxX, map.getWidth() - 1);
+        maxZ = Math.min(maxZ, map.getDepth() - 1);
+        if (minX > maxX || minZ > maxZ) {
+            return 0;
+        }
+
+        int total = 0;
+        for (int chunkZ = minZ / CHUNK_SIZE; chunkZ <= maxZ / CHUNK_SIZE; chunkZ++) {
+            for (int chunkX = minX / CHUNK_SIZE; chunkX <= maxX / CHUNK_SIZE; chunkX++) {
+                int[][] tables = chunkTables[chunkZ * map.getChunksX() + chunkX];
+                if (tables == null) {
+                    continue;
+                }
+
+                // Clip the query to this chunk, in chunk-local coordinates
+                int originX = chunkX * CHUNK_SIZE;
+                int originZ = chunkZ * CHUNK_SIZE;
+                int left = Math.max(minX - originX, 0);
+                int right = Math.min(maxX - originX, CHUNK_SIZE - 1) + 1;
+                int top = Math.max(minZ - originZ, 0) * STRIDE;
+                int bottom = (Math.min(maxZ - originZ, CHUNK_SIZE - 1) + 1) * STRIDE;
+
+                int[] table = tables[difficulty];
+                total += table[bottom + right] - table[top + right] - table[bottom + left] + table[top + left];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Rebuild the tables of chunks touched by trail changes since the last build.
+     */
+    private void refresh() {
+        long version = map.getVersion();
+        DirtyRegion changed = map.getChangesSince(builtVersion, WorldMap.CHANGE_TRAIL);
+        builtVersion = version;
+        if (changed == null) {
+            return;
+        }
+
+        for (int chunkZ = changed.minZ / CHUNK_SIZE; chunkZ <= changed.maxZ / CHUNK_SIZE; chunkZ++) {
+            for (int chunkX = changed.minX / CHUNK_SIZE; chunkX <= changed.maxX / CHUNK_SIZE; chunkX++) {
+                rebuildChunk(chunkX, chunkZ);
+            }
+        }
+    }
+
+    private void rebuildChunk(int chunkX, int chunkZ) {
+        int index = chunkZ * map.getChunksX() + chunkX;
+        if (!map.hasTrailsInChunk(chunkX, chunkZ)) {
+            chunkTables[index] = null;
+            return;
+        }
+
+        int[][] tables = chunkTables[index];
+        if (tables == null) {
+            tables = new int[DIFFICULTIES.length][STRIDE * STRIDE];
+            chunkTables[index] = tables;
+        }
+
+        int originX = chunkX * CHUNK_SIZE;
+        int originZ = chunkZ * CHUNK_SIZE;
+        int sizeX = Math.min(CHUNK_SIZE, map.getWidth() - originX);
+        int sizeZ = Math.min(CHUNK_SIZE, map.getDepth() - originZ);
+
+        int[] rowSums = new int[DIFFICULTIES.length];
+        for (int lz = 0; lz < CHUNK_SIZE; lz++) {
+            Arrays.fill(rowSums, 0);
+            int row = (lz + 1) * STRIDE;
+            int prevRow = lz * STRIDE;
+            for (int lx = 0; lx < CHUNK_SIZE; lx++) {
+                // Tiles past the map edge (partial chunks) count as empty
+                if (lx < sizeX && lz < sizeZ && map.isTrail(originX + lx, originZ + lz)) {
+                    rowSums[map.getTrailDifficulty(originX + lx, originZ + lz).ordinal()]++;
+                }
+                for (int d = 0; d < DIFFICULTIES.length; d++) {
+                    tables[d][row + lx + 1] = tables[d][prevRow + lx + 1] + rowSums[d];
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.project.tycoon.world;
 
 import com.badlogic.gdx.math.Vector2;
-import com.project.tycoon.world.model.Tile;
 import com.project.tycoon.world.model.TrailDifficulty;
 import com.project.tycoon.world.model.WorldMap;
 
@@ -9,51 +8,57 @@ import java.util.List;
 
 /**
  * Calculates trail difficulty based on slope analysis.
- * Examines average steepness across all trail segments.
+ * Examines average steepness along the trail: at each tile the precomputed
+ * gradient is projected onto the local path direction, so a trail traversing
+ * a steep face is rated by the pitch a skier actually rides, not by the fall
+ * line.
  */
 public class TrailDifficultyCalculator {
 
+    // Tiles either side used to estimate the path direction; brush strokes
+    // wiggle between neighbouring tiles, so a short span would follow the brush
+    private static final int TANGENT_SPAN = 8;
+
     /**
      * Calculate difficulty rating for a trail.
      * 
-     * @param map        WorldMap for height lookups
+     * @param map        WorldMap for bounds checks
+     * @param slopes     Precomputed terrain gradients
      * @param trailTiles List of (x,z) coordinates representing the trail
-     * @return Difficulty rating based on average slope
+     * @return Difficulty rating based on the average slope along the trail
      */
-    public static TrailDifficulty calculate(WorldMap map, List<Vector2> trailTiles) {
+    public static TrailDifficulty calculate(WorldMap map, SlopeField slopes, List<Vector2> trailTiles) {
         if (trailTiles == null || trailTiles.size() < 2) {
             return TrailDifficulty.GREEN; // Default for invalid trails
         }
 
+        slopes.refresh();
+
         float totalSlope = 0;
         int slopeCount = 0;
 
-        // Calculate slope between each consecutive pair of tiles
-        for (int i = 0; i < trailTiles.size() - 1; i++) {
-            Vector2 current = trailTiles.get(i);
-            Vector2 next = trailTiles.get(i + 1);
-
-            // Get tile heights
-            Tile t1 = map.getTile((int) current.x, (int) current.y);
-            Tile t2 = map.getTile((int) next.x, (int) next.y);
-
-            if (t1 == null || t2 == null)
+        // Average the slope along the path over every trail tile
+        int last = trailTiles.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            Vector2 tile = trailTiles.get(i);
+            int x = (int) tile.x;
+            int z = (int) tile.y;
+            if (!map.isValid(x, z))
                 continue;
 
-            float h1 = t1.getHeight();
-            float h2 = t2.getHeight();
-            float deltaH = Math.abs(h2 - h1);
-
-            // Horizontal distance (2D)
-            float distance = current.dst(next);
-
-            if (distance < 0.01f)
-                continue; // Avoid division by zero
-
-            // Calculate slope angle in degrees
-            float slopeAngle = (float) Math.toDegrees(Math.atan(deltaH / distance));
-
-            totalSlope += slopeAngle;
+            Vector2 ahead = trailTiles.get(Math.min(i + TANGENT_SPAN, last));
+            Vector2 behind = trailTiles.get(Math.max(i - TANGENT_SPAN, 0));
+            float tx = ahead.x - behind.x;
+            float tz = ahead.y - behind.y;
+            float length = (float) Math.sqrt(tx * tx + tz * tz);
+
+            if (length < 0.01f) {
+                // Brush went back and forth: no direction, use the steepest slope
+                totalSlope += slopes.getSlopeAngle(x, z);
+            } else {
+                float along = (slopes.getGradientX(x, z) * tx + slopes.getGradientZ(x, z) * tz) / length;
+                totalSlope += (float) Math.toDegrees(Math.atan(Math.abs(along)));
+            }
             slopeCount++;
         }
 
@@ -61,7 +66,7 @@ public class TrailDifficultyCalculator {
             return TrailDifficulty.GREEN;
         }
 
-        // Average slope across all segments
+        // Average slope across all tiles
         float avgSlope = totalSlope / slopeCount;
 
         return TrailDifficulty.fromSlope(avgSlope);
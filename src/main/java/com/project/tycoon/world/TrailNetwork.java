@@ -0,0 +1,499 @@
+package com.project.tycoon.world;
+
+import com.project.tycoon.world.model.DirtyRegion;
+import com.project.tycoon.world.model.SnapPoint;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+
+import java.util.*;
+
+/**
+ * Compact graph of the trail network, extracted from painted trail tiles.
+ *
+ * Trail tiles are split into regions: 8-connected tiles sharing a difficulty.
+ * Nodes are snap points lying on a region, junctions where two regions touch,
+ * and endpoints (top/bottom) for regions with too few other nodes. Edges join
+ * nodes within a region and point downhill, carrying the path length, height
+ * drop and difficulty, so route questions can be answered on a few dozen
+ * nodes instead of scanning the tile grid.
+ *
+ * The graph is rebuilt lazily when trails or snap points change.
+ */
+public class TrailNetwork {
+
+    public enum NodeType {
+        SNAP_POINT, // Linked to a SnapPointManager snap point
+        JUNCTION, // Boundary between two regions
+        ENDPOINT // Top or bottom of a region
+    }
+
+    public static final class Node {
+        public final int id;
+        public final int x;
+        public final int z;
+        public final int height;
+        public final NodeType type;
+        public final UUID snapPointId; // Only for SNAP_POINT nodes
+
+        Node(int id, int x, int z, int height, NodeType type, UUID snapPointId) {
+            this.id = id;
+            this.x = x;
+            this.z = z;
+            this.height = height;
+            this.type = type;
+            this.snapPointId = snapPointId;
+        }
+    }
+
+    public static final class Edge {
+        public final int from;
+        public final int to;
+        public final int length; // Tiles along the shortest path within the region
+        public final int drop; // Height lost from 'from' to 'to' (>= 0)
+        public final TrailDifficulty difficulty;
+        public final int region;
+
+        Edge(int from, int to, int length, int drop, TrailDifficulty difficulty, int region) {
+            this.from = from;
+            this.to = to;
+            this.length = length;
+            this.drop = drop;
+            this.difficulty = difficulty;
+            this.region = region;
+        }
+    }
+
+    private static final int SNAP_RADIUS = 3; // Max tiles between a snap point and its trail
+    private static final int[] DX = { -1, 0, 1, -1, 1, -1, 0, 1 };
+    private static final int[] DZ = { -1, -1, -1, 0, 0, 1, 1, 1 };
+
+    private final WorldMap map;
+    private final SnapPointManager snapPointManager;
+
+    private long builtMapVersion = -1;
+    private long builtSnapVersion = -1;
+    private long version = 0; // Incremented on every rebuild
+
+    // Region labels over the trail bounding box, -1 = not a trail
+    private int originX;
+    private int originZ;
+    private int boxWidth;
+    private int boxDepth;
+    private int[] labels = new int[0];
+    private int[] distance = new int[0]; // BFS scratch, -1 between searches
+    private int[] visited = new int[0]; // BFS queue of box indices, kept for the reset
+    private final List<TrailDifficulty> regionDifficulty = new ArrayList<>();
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<Edge> edges = new ArrayList<>();
+    private final List<List<Edge>> outgoing = new ArrayList<>();
+    private final Map<UUID, Node> nodeBySnapPoint = new HashMap<>();
+
+    public TrailNetwork(WorldMap map, SnapPointManager snapPointManager) {
+        this.map = map;
+        this.snapPointManager = snapPointManager;
+    }
+
+    /**
+     * Changes whenever the graph is rebuilt, so callers can cache routes over it.
+     */
+    public long getVersion() {
+        refresh();
+        return version;
+    }
+
+    public List<Node> getNodes() {
+        refresh();
+        return Collections.unmodifiableList(nodes);
+    }
+
+    public List<Edge> getEdges() {
+        refresh();
+        return Collections.unmodifiableList(edges);
+    }
+
+    /**
+     * Downhill edges leaving a node.
+     */
+    public List<Edge> getOutgoingEdges(int nodeId) {
+        refresh();
+        return Collections.unmodifiableList(outgoing.get(nodeId));
+    }
+
+    /**
+     * Graph node for a snap point, or null if the snap point isn't on a trail.
+     */
+    public Node getNodeForSnapPoint(UUID snapPointId) {
+        refresh();
+        return nodeBySnapPoint.get(snapPointId);
+    }
+
+    public int getRegionCount() {
+        refresh();
+        return regionDifficulty.size();
+    }
+
+    public TrailDifficulty getRegionDifficulty(int region) {
+        refresh();
+        return regionDifficulty.get(region);
+    }
+
+    /**
+     * Region containing a tile, or -1 if the tile is not a trail.
+     */
+    public int getRegionAt(int x, int z) {
+        refresh();
+        return inBox(x, z) ? labels[boxIndex(x, z)] : -1;
+    }
+
+    /**
+     * Check whether a skier can ski from one node to another following downhill edges.
+     */
+    public boolean canReach(int fromNode, int toNode) {
+        refresh();
+        boolean[] visited = new boolean[nodes.size()];
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        stack.push(fromNode);
+        visited[fromNode] = true;
+
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            if (current == toNode) {
+                return true;
+            }
+            for (Edge edge : outgoing.get(current)) {
+                if (!visited[edge.to]) {
+                    visited[edge.to] = true;
+                    stack.push(edge.to);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuild the graph if trails or snap points changed since the last build.
+     */
+    private void refresh() {
+        long mapVersion = map.getVersion();
+        boolean trailsChanged = map.getChangesSince(builtMapVersion, WorldMap.CHANGE_TRAIL) != null;
+        if (!trailsChanged && builtSnapVersion == snapPointManager.getVersion()) {
+            return;
+        }
+        builtMapVersion = mapVersion;
+        builtSnapVersion = snapPointManager.getVersion();
+        rebuild();
+    }
+
+    private void rebuild() {
+        version++;
+        regionDifficulty.clear();
+        nodes.clear();
+        edges.clear();
+        outgoing.clear();
+        nodeBySnapPoint.clear();
+
+        DirtyRegion bounds = map.getTrailBounds();
+        if (bounds == null) {
+            boxWidth = 0;
+            boxDepth = 0;
+            labels = new int[0];
+            return;
+        }
+
+        originX = bounds.minX;
+        originZ = bounds.minZ;
+        boxWidth = bounds.maxX - bounds.minX + 1;
+        boxDepth = bounds.maxZ - bounds.minZ + 1;
+
+        List<int[]> regionExtremes = labelRegions(); // {topX, topZ, bottomX, bottomZ} per region
+        if (distance.length < labels.length) {
+            distance = new int[labels.length];
+            visited = new int[labels.length];
+            Arrays.fill(distance, -1);
+        }
+        List<List<Integer>> regionNodes = new ArrayList<>();
+        for (int r = 0; r < regionDifficulty.size(); r++) {
+            regionNodes.add(new ArrayList<>());
+        }
+
+        attachSnapPoints(regionNodes);
+        addJunctions(regionNodes);
+        addEndpoints(regionNodes, regionExtremes);
+
+        for (int r = 0; r < regionNodes.size(); r++) {
+            connectRegion(r, regionNodes.get(r));
+        }
+    }
+
+    /**
+     * Flood-fill trail tiles into regions of equal difficulty.
+     */
+    private List<int[]> labelRegions() {
+        labels = new int[boxWidth * boxDepth];
+        Arrays.fill(labels, -1);
+        List<int[]> extremes = new ArrayList<>();
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+
+        for (int z = originZ; z < originZ + boxDepth; z++) {
+            for (int x = originX; x < originX + boxWidth; x++) {
+                if (!map.isTrail(x, z) || labels[boxIndex(x, z)] != -1) {
+                    continue;
+                }
+
+                int region = regionDifficulty.size();
+                TrailDifficulty difficulty = map.getTrailDifficulty(x, z);
+                regionDifficulty.add(difficulty);
+                int[] extreme = { x, z, x, z };
+                extremes.add(extreme);
+
+                labels[boxIndex(x, z)] = region;
+                queue.add(new int[] { x, z });
+                while (!queue.isEmpty()) {
+                    int[] cur = queue.removeFirst();
+                    int h = map.getHeight(cur[0], cur[1]);
+                    if (h > map.getHeight(extreme[0], extreme[1])) {
+                        extreme[0] = cur[0];
+                        extreme[1] = cur[1];
+                    }
+                    if (h < map.getHeight(extreme[2], extreme[3])) {
+                        extreme[2] = cur[0];
+                        extreme[3] = cur[1];
+                    }
+
+                    for (int i = 0; i < DX.length; i++) {
+                        int nx = cur[0] + DX[i];
+                        int nz = cur[1] + DZ[i];
+                        if (!inBox(nx, nz) || labels[boxIndex(nx, nz)] != -1) {
+                            continue;
+                        }
+                        if (!map.isTrail(nx, nz) || map.getTrailDifficulty(nx, nz) != difficulty) {
+                            continue;
+                        }
+                        labels[boxIndex(nx, nz)] = region;
+                        queue.add(new int[] { nx, nz });
+                    }
+                }
+            }
+        }
+        return extremes;
+    }
+
+    /**
+     * Create a node for each snap point within SNAP_RADIUS of a trail tile.
+     */
+    private void attachSnapPoints(List<List<Integer>> regionNodes) {
+        for (SnapPoint snapPoint : snapPointManager.getAllSnapPoints()) {
+            int sx = Math.round(snapPoint.getX());
+            int sz = Math.round(snapPoint.getZ());
+
+            int bestX = -1;
+            int bestZ = -1;
+            int bestDist = Integer.MAX_VALUE;
+            for (int z = sz - SNAP_RADIUS; z <= sz + SNAP_RADIUS; z++) {
+                for (int x = sx - SNAP_RADIUS; x <= sx + SNAP_RADIUS; x++) {
+                    if (!inBox(x, z) || labels[boxIndex(x, z)] < 0) {
+                        continue;
+                    }
+                    int dist = (x - sx) * (x - sx) + (z - sz) * (z - sz);
+                    if (dist < bestDist) {
+                        bestDist = dist;
+                        bestX = x;
+                        bestZ = z;
+                    }
+                }
+            }
+
+            if (bestX < 0) {
+                continue;
+            }
+
+            Node node = addNode(bestX, bestZ, NodeType.SNAP_POINT, snapPoint.getId());
+            nodeBySnapPoint.put(snapPoint.getId(), node);
+            regionNodes.get(labels[boxIndex(bestX, bestZ)]).add(node.id);
+        }
+    }
+
+    /**
+     * Create one junction node per pair of touching regions, at the boundary
+     * tile closest to the centre of their shared border.
+     */
+    private void addJunctions(List<List<Integer>> regionNodes) {
+        // Boundary tiles of the lower-numbered region, keyed by region pair
+        Map<Long, List<int[]>> borders = new LinkedHashMap<>();
+
+        for (int z = originZ; z < originZ + boxDepth; z++) {
+            for (int x = originX; x < originX + boxWidth; x++) {
+                int a = labels[boxIndex(x, z)];
+                if (a < 0) {
+                    continue;
+                }
+                for (int i = 0; i < DX.length; i++) {
+                    int nx = x + DX[i];
+                    int nz = z + DZ[i];
+                    if (!inBox(nx, nz)) {
+                        continue;
+                    }
+                    int b = labels[boxIndex(nx, nz)];
+                    if (b <= a) {
+                        continue; // Not a trail, same region, or pair seen from the other side
+                    }
+                    long key = ((long) a << 32) | b;
+                    borders.computeIfAbsent(key, k -> new ArrayList<>()).add(new int[] { x, z });
+                }
+            }
+        }
+
+        for (Map.Entry<Long, List<int[]>> entry : borders.entrySet()) {
+            int a = (int) (entry.getKey() >> 32);
+            int b = (int) (long) entry.getKey();
+            List<int[]> tiles = entry.getValue();
+
+            float cx = 0;
+            float cz = 0;
+            for (int[] t : tiles) {
+                cx += t[0];
+                cz += t[1];
+            }
+            cx /= tiles.size();
+            cz /= tiles.size();
+
+            int[] best = tiles.get(0);
+            float bestDist = Float.MAX_VALUE;
+            for (int[] t : tiles) {
+                float dist = (t[0] - cx) * (t[0] - cx) + (t[1] - cz) * (t[1] - cz);
+                if (dist < bestDist) {
+                    bestDist = dist;
+                    best = t;
+                }
+            }
+
+            Node node = addNode(best[0], best[1], NodeType.JUNCTION, null);
+            regionNodes.get(a).add(node.id);
+            regionNodes.get(b).add(node.id);
+        }
+    }
+
+    /**
+     * Give regions with fewer than two nodes their top and/or bottom tile as endpoints.
+     */
+    private void addEndpoints(List<List<Integer>> regionNodes, List<int[]> extremes) {
+        for (int r = 0; r < regionNodes.size(); r++) {
+            List<Integer> members = regionNodes.get(r);
+            if (members.size() >= 2) {
+                continue;
+            }
+            int[] e = extremes.get(r);
+            addEndpointIfFree(members, e[0], e[1]);
+            addEndpointIfFree(members, e[2], e[3]);
+        }
+    }
+
+    private void addEndpointIfFree(List<Integer> members, int x, int z) {
+        for (int id : members) {
+            Node existing = nodes.get(id);
+            if (existing.x == x && existing.z == z) {
+                return;
+            }
+        }
+        members.add(addNode(x, z, NodeType.ENDPOINT, null).id);
+    }
+
+    /**
+     * Connect every pair of nodes in a region with a downhill edge (both ways
+     * when level), using BFS path lengths within the region. The search only
+     * touches region tiles, and only those are reset afterwards.
+     */
+    private void connectRegion(int region, List<Integer> members) {
+        if (members.size() < 2) {
+            return;
+        }
+
+        for (int fromId : members) {
+            Node from = nodes.get(fromId);
+
+            int head = 0;
+            int tail = 0;
+            int start = boxIndex(from.x, from.z);
+            distance[start] = 0;
+            visited[tail++] = start;
+            while (head < tail) {
+                int cur = visited[head++];
+                int x = originX + cur % boxWidth;
+                int z = originZ + cur / boxWidth;
+                for (int i = 0; i < DX.length; i++) {
+                    int nx = x + DX[i];
+                    int nz = z + DZ[i];
+                    if (!inBox(nx, nz)) {
+                        continue;
+                    }
+                    int n = boxIndex(nx, nz);
+                    if (distance[n] != -1 || labels[n] != region) {
+                        continue;
+                    }
+                    distance[n] = distance[cur] + 1;
+                    visited[tail++] = n;
+                }
+            }
+
+            for (int toId : members) {
+                Node to = nodes.get(toId);
+                if (toId == fromId || from.height < to.height) {
+                    continue;
+                }
+                int length = pathLength(to, region);
+                if (length < 0) {
+                    continue;
+                }
+                Edge edge = new Edge(fromId, toId, length, from.height - to.height,
+                        regionDifficulty.get(region), region);
+                edges.add(edge);
+                outgoing.get(fromId).add(edge);
+            }
+
+            for (int i = 0; i < tail; i++) {
+                distance[visited[i]] = -1;
+            }
+        }
+    }
+
+    /**
+     * BFS distance to a node. Junction nodes may sit on the neighbouring
+     * region's side of the border, so step onto them from this region.
+     */
+    private int pathLength(Node to, int region) {
+        int index = boxIndex(to.x, to.z);
+        if (labels[index] == region) {
+            return distance[index];
+        }
+
+        int best = -1;
+        for (int i = 0; i < DX.length; i++) {
+            int nx = to.x + DX[i];
+            int nz = to.z + DZ[i];
+            if (!inBox(nx, nz)) {
+                continue;
+            }
+            int n = boxIndex(nx, nz);
+            if (labels[n] == region && distance[n] >= 0 && (best < 0 || distance[n] + 1 < best)) {
+                best = distance[n] + 1;
+            }
+        }
+        return best;
+    }
+
+    private Node addNode(int x, int z, NodeType type, UUID snapPointId) {
+        Node node = new Node(nodes.size(), x, z, map.getHeight(x, z), type, snapPointId);
+        nodes.add(node);
+        outgoing.add(new ArrayList<>());
+        return node;
+    }
+
+    private boolean inBox(int x, int z) {
+        return x >= originX && x < originX + boxWidth && z >= originZ && z < originZ + boxDepth;
+    }
+
+    private int boxIndex(int x, int z) {
+        return (z - originZ) * boxWidth + (x - originX);
+    }
+}
@@ -0,0 +1,215 @@
+package com.project.tycoon.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+
+import java.util.*;
+
+/**
+ * Registry of confirmed trails.
+ *
+ * Each trail gets a small integer id which is written into the WorldMap
+ * trail-id layer, so "which trail is this skier on" is a single lookup.
+ * Per-trail live statistics (skiers on the trail, runs per game hour,
+ * average speed) are maintained incrementally in O(1) per event.
+ */
+public class TrailRegistry {
+
+    public static final int NO_TRAIL = 0;
+
+    private static final int BUCKETS_PER_HOUR = 6; // 10 game-minute buckets for runs/hour
+    private static final float SPEED_SMOOTHING = 0.05f; // Weight of each new speed sample
+
+    /**
+     * A registered trail and its live statistics.
+     */
+    public static class Trail {
+        private final int id;
+        private final List<Vector2> tiles;
+        private final TrailDifficulty difficulty;
+        private final UUID startSnapPointId;
+        private final UUID endSnapPointId;
+
+        private int currentSkiers = 0;
+        private final int[] runBuckets = new int[BUCKETS_PER_HOUR];
+        private final long[] runBucketStamps = new long[BUCKETS_PER_HOUR];
+        private float averageSpeed = 0f;
+        private boolean hasSpeedSample = false;
+
+        Trail(int id, List<Vector2> tiles, TrailDifficulty difficulty, UUID startSnapPointId, UUID endSnapPointId) {
+            this.id = id;
+            this.tiles = tiles;
+            this.difficulty = difficulty;
+            this.startSnapPointId = startSnapPointId;
+            this.endSnapPointId = endSnapPointId;
+            Arrays.fill(runBucketStamps, -1);
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public List<Vector2> getTiles() {
+            return Collections.unmodifiableList(tiles);
+        }
+
+        public TrailDifficulty getDifficulty() {
+            return difficulty;
+        }
+
+        public UUID getStartSnapPointId() {
+            return startSnapPointId;
+        }
+
+        public UUID getEndSnapPointId() {
+            return endSnapPointId;
+        }
+
+        public int getCurrentSkiers() {
+            return currentSkiers;
+        }
+
+        /**
+         * Smoothed speed of skiers on this trail (tiles per second).
+         */
+        public float getAverageSpeed() {
+            return averageSpeed;
+        }
+    }
+
+    private final WorldMap map;
+    private final List<Trail> trails = new ArrayList<>(); // Index = id - 1
+    private double currentHour = 0.0; // Game clock, see setClock()
+
+    public TrailRegistry(WorldMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Register a confirmed trail and stamp its id onto the map.
+     *
+     * @return The new trail
+     */
+    public Trail registerTrail(List<Vector2> tiles, TrailDifficulty difficulty,
+            UUID startSnapPointId, UUID endSnapPointId) {
+        int id = trails.size() + 1;
+        if (id > Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many trails registered.");
+        }
+
+        Trail trail = new Trail(id, new ArrayList<>(tiles), difficulty, startSnapPointId, endSnapPointId);
+        trails.add(trail);
+
+        for (Vector2 tile : tiles) {
+            map.setTrailId((int) tile.x, (int) tile.y, id);
+        }
+        return trail;
+    }
+
+    /**
+     * Get a trail by id, or null for NO_TRAIL / unknown ids.
+     */
+    public Trail getTrail(int id) {
+        if (id <= 0 || id > trails.size()) {
+            return null;
+        }
+        return trails.get(id - 1);
+    }
+
+    public List<Trail> getTrails() {
+        return Collections.unmodifiableList(trails);
+    }
+
+    /**
+     * Id of the trail at a tile, or NO_TRAIL.
+     */
+    public int getTrailIdAt(int x, int z) {
+        return map.isValid(x, z) ? map.getTrailId(x, z) : NO_TRAIL;
+    }
+
+    /**
+     * Update the game clock used for per-hour statistics.
+     *
+     * @param totalHours Monotonic game hours (DayTimeSystem.getTotalHours())
+     */
+    public void setClock(double totalHours) {
+        this.currentHour = totalHours;
+    }
+
+    // ==== LIVE STATISTICS (O(1) per call) ====
+
+    /**
+     * A skier moved onto a trail.
+     */
+    public void onSkierEnter(int trailId) {
+        Trail trail = getTrail(trailId);
+        if (trail != null) {
+            trail.currentSkiers++;
+        }
+    }
+
+    /**
+     * A skier started a run down a trail. Callers count each trail once per
+     * descent, not every time a skier drifts off and back on.
+     */
+    public void recordRun(int trailId) {
+        Trail trail = getTrail(trailId);
+        if (trail == null) {
+            return;
+        }
+
+        long stamp = (long) Math.floor(currentHour * BUCKETS_PER_HOUR);
+        int slot = (int) (stamp % BUCKETS_PER_HOUR);
+        if (trail.runBucketStamps[slot] != stamp) {
+            trail.runBucketStamps[slot] = stamp;
+            trail.runBuckets[slot] = 0;
+        }
+        trail.runBuckets[slot]++;
+    }
+
+    /**
+     * A skier left a trail (moved off, finished, or despawned).
+     */
+    public void onSkierExit(int trailId) {
+        Trail trail = getTrail(trailId);
+        if (trail != null && trail.currentSkiers > 0) {
+            trail.currentSkiers--;
+        }
+    }
+
+    /**
+     * Fold a skier's current speed into the trail's smoothed average.
+     */
+    public void recordSpeed(int trailId, float speed) {
+        Trail trail = getTrail(trailId);
+        if (trail == null) {
+            return;
+        }
+        if (!trail.hasSpeedSample) {
+            trail.averageSpeed = speed;
+            trail.hasSpeedSample = true;
+        } else {
+            trail.averageSpeed += (speed - trail.averageSpeed) * SPEED_SMOOTHING;
+        }
+    }
+
+    /**
+     * Runs started on a trail during the last game hour.
+     */
+    public int getRunsPerHour(int trailId) {
+        Trail trail = getTrail(trailId);
+        if (trail == null) {
+            return 0;
+        }
+
+        long now = (long) Math.floor(currentHour * BUCKETS_PER_HOUR);
+        int runs = 0;
+        for (int i = 0; i < BUCKETS_PER_HOUR; i++) {
+            if (trail.runBucketStamps[i] > now - BUCKETS_PER_HOUR) {
+                runs += trail.runBuckets[i];
+            }
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.tycoon.world.model;
+
+/**
+ * Inclusive rectangle of tiles, e.g. the tiles that changed since some
+ * WorldMap version. Returned by WorldMap.getChangesSince() so consumers can
+ * rebuild only the affected part of their derived data.
+ */
+public class DirtyRegion {
+    public final int minX;
+    public final int minZ;
+    public final int maxX;
+    public final int maxZ;
+
+    public DirtyRegion(int minX, int minZ, int maxX, int maxZ) {
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxZ = maxZ;
+    }
+
+    public boolean contains(int x, int z) {
+        return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Check whether this region overlaps an inclusive rectangle.
+     */
+    public boolean intersects(int otherMinX, int otherMinZ, int otherMaxX, int otherMaxZ) {
+        return minX <= otherMaxX && maxX >= otherMinX && minZ <= otherMaxZ && maxZ >= otherMinZ;
+    }
+
+    /**
+     * Grow the region by a margin on every side (e.g. for neighbour-dependent data).
+     */
+    public DirtyRegion expand(int margin) {
+        return new DirtyRegion(minX - margin, minZ - margin, maxX + margin, maxZ + margin);
+    }
+}
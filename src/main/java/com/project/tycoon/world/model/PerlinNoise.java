@@ -93,6 +93,84 @@ public class PerlinNoise {
         return total / maxValue;
     }
 
+    /**
+     * Fill a row of multi-octave noise samples, equivalent to calling
+     * octaveNoise((startX + i) * scale, y, octaves, persistence) for each i
+     * (bit-identical results).
+     *
+     * Per-octave work on y (lattice row, fade) is hoisted out of the sample
+     * loop, and lattice hashes are reused while consecutive samples fall in
+     * the same lattice cell, which at terrain scales is most of them.
+     *
+     * @param out         Receives count samples starting at out[0]
+     * @param startX      Integer x coordinate of the first sample (before scaling)
+     * @param count       Number of samples
+     * @param scale       Multiplier applied to each integer x coordinate
+     * @param y           Y coordinate (already scaled)
+     * @param octaves     Number of noise layers
+     * @param persistence How much each octave contributes
+     */
+    public void fillOctaveRow(double[] out, int startX, int count, double scale, double y,
+            int octaves, double persistence) {
+        for (int i = 0; i < count; i++) {
+            out[i] = 0;
+        }
+
+        double frequency = 1;
+        double amplitude = 1;
+        double maxValue = 0;
+
+        for (int octave = 0; octave < octaves; octave++) {
+            addNoiseRow(out, startX, count, scale, y, frequency, amplitude);
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= 2;
+        }
+
+        for (int i = 0; i < count; i++) {
+            out[i] /= maxValue;
+        }
+    }
+
+    /**
+     * Add one octave of noise, times amplitude, to a row of samples.
+     */
+    private void addNoiseRow(double[] out, int startX, int count, double scale, double y,
+            double frequency, double amplitude) {
+        // Row-invariant: lattice row and fade in y
+        double yy = y * frequency;
+        double floorY = Math.floor(yy);
+        int Y = (int) floorY & 255;
+        double yf = yy - floorY;
+        double v = fade(yf);
+
+        int lastX = -1;
+        int hAA = 0, hBA = 0, hAB = 0, hBB = 0;
+
+        for (int i = 0; i < count; i++) {
+            double xx = (startX + i) * scale * frequency;
+            double floorX = Math.floor(xx);
+            int X = (int) floorX & 255;
+            double xf = xx - floorX;
+
+            // Corner hashes only change when we step into a new lattice cell
+            if (X != lastX) {
+                int a = permutation[X] + Y;
+                int b = permutation[X + 1] + Y;
+                hAA = permutation[permutation[a]];
+                hAB = permutation[permutation[a + 1]];
+                hBA = permutation[permutation[b]];
+                hBB = permutation[permutation[b + 1]];
+                lastX = X;
+            }
+
+            double u = fade(xf);
+            double x1 = lerp(u, grad(hAA, xf, yf), grad(hBA, xf - 1, yf));
+            double x2 = lerp(u, grad(hAB, xf, yf - 1), grad(hBB, xf - 1, yf - 1));
+            out[i] += lerp(v, x1, x2) * amplitude;
+        }
+    }
+
     private double fade(double t) {
         // Fade function: 6t^5 - 15t^4 + 10t^3
         return t * t * t * (t * (t * 6 - 15) + 10);
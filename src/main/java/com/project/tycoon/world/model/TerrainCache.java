@@ -0,0 +1,219 @@
+package com.project.tycoon.world.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * On-disk cache of generated terrain, keyed by (seed, map size, generator
+ * version).
+ *
+ * Each entry is a small header followed by the height layer (one short per
+ * tile) and the decoration layer (one byte per tile), row by row. Terrain type
+ * is not stored since the generator always produces snow; bump
+ * TerrainGenerator.GENERATOR_VERSION whenever its output changes. Entries are
+ * read through a memory-mapped file, so loading costs about as much as copying
+ * the layers into the map.
+ */
+public class TerrainCache {
+
+    private static final int MAGIC = 0x53525443; // "SRTC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 4 + 4;
+
+    private static final Decoration[] DECORATIONS = Decoration.values();
+
+    private final Path directory;
+
+    public TerrainCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Cache in the user's home directory.
+     */
+    public static TerrainCache userDefault() {
+        return new TerrainCache(Paths.get(System.getProperty("user.home"), ".ski-resort-tycoon", "terrain-cache"));
+    }
+
+    /**
+     * Fill the map from the cache, if an entry for this seed and size exists.
+     * The whole map is logged as changed.
+     *
+     * @return Base camp location, or null on a cache miss (map untouched)
+     */
+    public BaseCampLocation load(WorldMap map, long seed) {
+        Path file = fileFor(map.getWidth(), map.getDepth(), seed);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        int width = map.getWidth();
+        int depth = map.getDepth();
+        int area = width * depth;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != expectedSize(area)) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC
+                    || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getInt() != TerrainGenerator.GENERATOR_VERSION
+                    || buffer.getLong() != seed
+                    || buffer.getInt() != width
+                    || buffer.getInt() != depth) {
+                return null;
+            }
+
+            // Validate decorations before touching the map, so a bad file is just a miss
+            int decorationStart = HEADER_BYTES + area * 2;
+            for (int i = 0; i < area; i++) {
+                int ordinal = buffer.get(decorationStart + i);
+                if (ordinal < 0 || ordinal >= DECORATIONS.length) {
+                    return null;
+                }
+            }
+
+            for (int z = 0; z < depth; z++) {
+                for (int x = 0; x < width; x++) {
+                    int i = z * width + x;
+                    map.writeType(x, z, TerrainType.SNOW);
+                    map.writeHeight(x, z, buffer.getShort(HEADER_BYTES + i * 2));
+                    map.writeDecoration(x, z, DECORATIONS[buffer.get(decorationStart + i)]);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Terrain cache read failed (" + file + "): " + e.getMessage());
+            return null;
+        }
+
+        map.compact();
+        map.markChanged(0, 0, width - 1, depth - 1, WorldMap.CHANGE_ALL);
+        return TerrainGenerator.findBestBaseCampLocation(map, TerrainGenerator.BASE_ZONE_RATIO);
+    }
+
+    /**
+     * Write a generated map to the cache. Only call this while nothing else
+     * writes the map; during streamed generation use a Snapshot instead.
+     *
+     * @return true if the entry was written
+     */
+    public boolean save(WorldMap map, long seed) {
+        Snapshot snapshot = new Snapshot(map.getWidth(), map.getDepth());
+        for (int chunkZ = 0; chunkZ < map.getChunksZ(); chunkZ++) {
+            for (int chunkX = 0; chunkX < map.getChunksX(); chunkX++) {
+                snapshot.copyChunk(map, chunkX, chunkZ);
+            }
+        }
+        return save(snapshot, seed);
+    }
+
+    /**
+     * Write collected generator output to the cache. The file is written to a
+     * temporary name first, so readers never see a partial entry.
+     *
+     * @return true if the entry was written
+     */
+    public boolean save(Snapshot snapshot, long seed) {
+        int width = snapshot.width;
+        int depth = snapshot.depth;
+        int area = width * depth;
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) expectedSize(area)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(TerrainGenerator.GENERATOR_VERSION);
+        buffer.putLong(seed);
+        buffer.putInt(width);
+        buffer.putInt(depth);
+        for (short height : snapshot.heights) {
+            buffer.putShort(height);
+        }
+        buffer.put(snapshot.decorations);
+        buffer.flip();
+
+        Path file = fileFor(width, depth, seed);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Terrain cache write failed (" + file + "): " + e.getMessage());
+            deleteQuietly(temp);
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Leftover temp files are harmless; they never match an entry name
+        }
+    }
+
+    private Path fileFor(int width, int depth, long seed) {
+        return directory.resolve("terrain-" + seed + "-" + width + "x" + depth
+                + "-v" + TerrainGenerator.GENERATOR_VERSION + ".bin");
+    }
+
+    private static long expectedSize(int area) {
+        return HEADER_BYTES + (long) area * 3;
+    }
+
+    /**
+     * Generator output copied chunk by chunk as it is produced, so a streamed
+     * map can be cached without reading the live map (which gameplay may
+     * already be editing). Chunks cover disjoint tiles, so the generator
+     * threads can copy concurrently; save() once generation is complete.
+     */
+    public static final class Snapshot {
+        private final int width;
+        private final int depth;
+        private final short[] heights; // z * width + x
+        private final byte[] decorations;
+
+        public Snapshot(int width, int depth) {
+            this.width = width;
+            this.depth = depth;
+            this.heights = new short[width * depth];
+            this.decorations = new byte[width * depth];
+        }
+
+        /**
+         * Copy one freshly generated chunk out of the map.
+         */
+        public void copyChunk(WorldMap map, int chunkX, int chunkZ) {
+            int minX = chunkX * WorldMap.CHUNK_SIZE;
+            int minZ = chunkZ * WorldMap.CHUNK_SIZE;
+            int maxX = Math.min(width, minX + WorldMap.CHUNK_SIZE);
+            int maxZ = Math.min(depth, minZ + WorldMap.CHUNK_SIZE);
+            for (int z = minZ; z < maxZ; z++) {
+                for (int x = minX; x < maxX; x++) {
+                    heights[z * width + x] = (short) map.getHeight(x, z);
+                    decorations[z * width + x] = (byte) map.getDecoration(x, z).ordinal();
+                }
+            }
+        }
+    }
+}
@@ -1,79 +1,168 @@
 package com.project.tycoon.world.model;
 
+import com.project.tycoon.core.RandomStreams;
+
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Procedural terrain generator using Perlin noise for realistic mountains.
  * Guarantees flat base area and finds optimal base camp location.
+ *
+ * Generation runs chunk-parallel on a ForkJoinPool. Every tile depends only on
+ * (seed, x, z): noise is a pure function and decoration rolls come from a
+ * counter-based hash instead of a shared Random, so the result is identical
+ * for any thread count or chunk order. startMountain() uses this to stream
+ * chunks in on background threads (see TerrainStream).
  */
 public class TerrainGenerator {
 
     /**
-     * Generate a random mountain with guaranteed flat base.
+     * Bump whenever generated output changes for a given seed (invalidates TerrainCache entries).
+     */
+    public static final int GENERATOR_VERSION = 1;
+
+    static final float BASE_ZONE_RATIO = 0.08f; // Bottom 8% is flat (minimal flat land)
+    private static final int CHUNKS_PER_TASK = 4; // Split threshold for fork/join tasks
+
+    /**
+     * Generate a random mountain with guaranteed flat base, using the common pool.
      * 
      * @param map  WorldMap to populate
      * @param seed Random seed for reproducible generation
      * @return Optimal base camp location
      */
     public static BaseCampLocation generateMountain(WorldMap map, long seed) {
-        int width = map.getWidth();
-        int depth = map.getDepth();
+        return generateMountain(map, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generate a random mountain with guaranteed flat base.
+     * 
+     * @param map  WorldMap to populate
+     * @param seed Random seed for reproducible generation
+     * @param pool Pool to generate chunks on
+     * @return Optimal base camp location
+     */
+    public static BaseCampLocation generateMountain(WorldMap map, long seed, ForkJoinPool pool) {
+        MountainParams params = createParams(map, seed);
+        int chunkCount = map.getChunksX() * map.getChunksZ();
+
+        // Each task writes only its own chunks, so no synchronization is needed
+        pool.invoke(new ChunkTask(params, 0, chunkCount));
+
+        // Collapse uniform layers (e.g. all-snow terrain type, no trails yet)
+        map.compact();
+
+        // Tiles were written through views, so log the whole map as changed
+        map.markChanged(0, 0, map.getWidth() - 1, map.getDepth() - 1, WorldMap.CHANGE_ALL);
 
+        // Find optimal base camp location
+        return findBestBaseCampLocation(map, BASE_ZONE_RATIO);
+    }
+
+    /**
+     * Start generating a mountain in the background and return immediately.
+     * The base area is generated first, then chunks nearest the focus point
+     * (see TerrainStream.setFocus()). The result is identical to
+     * generateMountain() for the same seed.
+     * 
+     * @param map  WorldMap to populate
+     * @param seed Random seed for reproducible generation
+     * @return Handle to wait on and steer the generation
+     */
+    public static TerrainStream startMountain(WorldMap map, long seed) {
+        return startMountain(map, seed, null);
+    }
+
+    /**
+     * As startMountain(map, seed), also copying each chunk into a snapshot
+     * for TerrainCache as soon as it is generated.
+     *
+     * @param snapshot Receives the generator output, or null
+     */
+    public static TerrainStream startMountain(WorldMap map, long seed, TerrainCache.Snapshot snapshot) {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new TerrainStream(createParams(map, seed), snapshot, threads);
+    }
+
+    static MountainParams createParams(WorldMap map, long seed) {
         Random random = new Random(seed);
-        PerlinNoise perlin = new PerlinNoise(seed);
 
         // Mountain parameters (randomized per seed)
         float peakOffsetX = random.nextFloat() * 0.4f - 0.2f; // -20% to +20%
         float peakHeight = 60.0f + random.nextFloat() * 40.0f; // 60-100
-        float baseZoneRatio = 0.08f; // Bottom 8% is flat (minimal flat land)
 
-        // Generate height map
-        for (int z = 0; z < depth; z++) {
-            for (int x = 0; x < width; x++) {
-                Tile tile = map.getTile(x, z);
+        return new MountainParams(map, seed, new PerlinNoise(seed), peakOffsetX, peakHeight);
+    }
 
-                // Always snow terrain
-                tile.setType(TerrainType.SNOW);
+    /**
+     * Generate every tile of one chunk, one row of noise at a time.
+     */
+    static void generateChunk(MountainParams params, int chunkIndex) {
+        WorldMap map = params.map;
+        int width = map.getWidth();
+        int depth = map.getDepth();
 
-                // Normalized coordinates
-                float normZ = 1.0f - (float) z / depth; // 0 = front (base), 1 = back (peak)
-                float normX = (float) x / width; // 0 = left, 1 = right
+        int startX = (chunkIndex % map.getChunksX()) * WorldMap.CHUNK_SIZE;
+        int startZ = (chunkIndex / map.getChunksX()) * WorldMap.CHUNK_SIZE;
+        int endX = Math.min(startX + WorldMap.CHUNK_SIZE, width);
+        int endZ = Math.min(startZ + WorldMap.CHUNK_SIZE, depth);
+        int count = endX - startX;
+        PerlinNoise perlin = params.perlin;
 
-                float height;
+        // Row buffers for each noise layer
+        double[] largeNoise = new double[count];
+        double[] mediumNoise = new double[count];
+        double[] smallNoise = new double[count];
+        double[] subPeakNoise = new double[count];
 
-                if (normZ < baseZoneRatio) {
-                    // FLAT BASE ZONE - guaranteed flat area for base camp
-                    double noise = perlin.octaveNoise(x * 0.05, z * 0.05, 2, 0.5);
-                    height = (float) (noise * 1.5); // Just tiny bumps
-                } else {
-                    // MOUNTAIN ZONE - use Perlin noise
+        for (int z = startZ; z < endZ; z++) {
+            // Normalized coordinates
+            float normZ = 1.0f - (float) z / depth; // 0 = front (base), 1 = back (peak)
+            boolean baseZone = normZ < BASE_ZONE_RATIO;
 
-                    // Large scale: overall mountain shape
-                    double largeNoise = perlin.octaveNoise(x * 0.01, z * 0.01, 1, 0.5);
+            if (baseZone) {
+                // FLAT BASE ZONE - guaranteed flat area for base camp
+                perlin.fillOctaveRow(smallNoise, startX, count, 0.05, z * 0.05, 2, 0.5);
+            } else {
+                // MOUNTAIN ZONE - use Perlin noise
+                perlin.fillOctaveRow(largeNoise, startX, count, 0.01, z * 0.01, 1, 0.5); // Overall mountain shape
+                perlin.fillOctaveRow(mediumNoise, startX, count, 0.03, z * 0.03, 3, 0.5); // Ridges and valleys
+                perlin.fillOctaveRow(smallNoise, startX, count, 0.1, z * 0.1, 2, 0.6); // Surface detail
+                perlin.fillOctaveRow(subPeakNoise, startX, count, 0.02, z * 0.02, 2, 0.5); // Sub-peaks
+            }
+
+            // Altitude based on distance from base (constant along the row)
+            float t = (normZ - BASE_ZONE_RATIO) / (1.0f - BASE_ZONE_RATIO); // 0-1 in mountain zone
+            float altitude = (float) Math.pow(t, 1.8) * params.peakHeight; // Exponential rise
 
-                    // Medium scale: ridges and valleys
-                    double mediumNoise = perlin.octaveNoise(x * 0.03, z * 0.03, 3, 0.5);
+            for (int i = 0; i < count; i++) {
+                int x = startX + i;
+                Tile tile = map.getTile(x, z);
 
-                    // Small scale: surface detail
-                    double smallNoise = perlin.octaveNoise(x * 0.1, z * 0.1, 2, 0.6);
+                // Always snow terrain
+                tile.setType(TerrainType.SNOW);
 
-                    // Altitude based on distance from base
-                    float t = (normZ - baseZoneRatio) / (1.0f - baseZoneRatio); // 0-1 in mountain zone
-                    float altitude = (float) Math.pow(t, 1.8) * peakHeight; // Exponential rise
+                float height;
 
+                if (baseZone) {
+                    height = (float) (smallNoise[i] * 1.5); // Just tiny bumps
+                } else {
                     // X-axis tapering (mountain ridge)
-                    float peakX = 0.5f + peakOffsetX; // Peak position
+                    float normX = (float) x / width; // 0 = left, 1 = right
+                    float peakX = 0.5f + params.peakOffsetX; // Peak position
                     float distX = Math.abs(normX - peakX) / 0.5f; // 0 at peak, 1 at edge
                     float xMask = 1.0f - (float) Math.pow(distX, 1.2); // Smooth falloff
 
                     // Combine all noise layers
                     height = altitude * xMask +
-                            (float) (largeNoise * 12.0 + mediumNoise * 8.0 + smallNoise * 3.0);
+                            (float) (largeNoise[i] * 12.0 + mediumNoise[i] * 8.0 + smallNoise[i] * 3.0);
 
                     // Add random sub-peaks
-                    double subPeakNoise = perlin.octaveNoise(x * 0.02, z * 0.02, 2, 0.5);
-                    if (subPeakNoise > 0.3) {
-                        height += (float) ((subPeakNoise - 0.3) * 15.0);
+                    if (subPeakNoise[i] > 0.3) {
+                        height += (float) ((subPeakNoise[i] - 0.3) * 15.0);
                     }
                 }
 
@@ -81,28 +170,22 @@ public class TerrainGenerator {
                 tile.setHeight(finalHeight);
 
                 // Decorations (trees and rocks)
-                placeDecorations(tile, finalHeight, random);
+                placeDecorations(tile, finalHeight, tileRandom(params.seed, x, z));
             }
         }
-
-        // Find optimal base camp location
-        return findBestBaseCampLocation(map, baseZoneRatio);
     }
 
     /**
      * Find the flattest area in the base zone for base camp placement.
-     * Places base camp at CENTER-BOTTOM (x=128, z=250) - exactly where skiers
-     * spawn.
+     * Places base camp at the map's base location (center-bottom by default) -
+     * exactly where skiers spawn.
      */
-    private static BaseCampLocation findBestBaseCampLocation(WorldMap map, float baseZoneRatio) {
-        int width = map.getWidth();
-        int depth = map.getDepth();
-
-        // Place base camp exactly where skiers spawn: x=128 (center), z=250 (bottom)
-        int baseCampX = 128; // Center of 256-wide map
-        int baseCampZ = 250; // Bottom of 256-deep map (skier spawn point)
+    static BaseCampLocation findBestBaseCampLocation(WorldMap map, float baseZoneRatio) {
+        // Place base camp exactly where skiers spawn
+        int baseCampX = map.getBaseX();
+        int baseCampZ = map.getBaseZ();
 
-        float height = map.getTile(baseCampX, baseCampZ).getHeight();
+        float height = map.getHeight(baseCampX, baseCampZ);
         return new BaseCampLocation(baseCampX, baseCampZ, height);
     }
 
@@ -135,12 +218,12 @@ public class TerrainGenerator {
 
     /**
      * Place trees and rocks based on height and randomness.
+     *
+     * @param r Uniform random value in [0, 1) for this tile
      */
-    private static void placeDecorations(Tile tile, int height, Random random) {
+    private static void placeDecorations(Tile tile, int height, float r) {
         tile.setDecoration(Decoration.NONE);
 
-        float r = random.nextFloat();
-
         if (height < 40 && height > 2) {
             // Tree zone (lower elevations)
             if (r < 0.035f) { // 3.5% chance
@@ -155,4 +238,61 @@ public class TerrainGenerator {
             }
         }
     }
+
+    /**
+     * Counter-based random value in [0, 1) for a tile: a SplitMix64 finalizer
+     * over (seed, x, z), so it doesn't depend on evaluation order.
+     */
+    static float tileRandom(long seed, int x, int z) {
+        long h = seed ^ (((long) x << 32) | (z & 0xFFFFFFFFL));
+        return RandomStreams.toFloat(RandomStreams.mix(h + 0x9E3779B97F4A7C15L));
+    }
+
+    /**
+     * Per-generation inputs shared by all chunk tasks (read-only).
+     */
+    static class MountainParams {
+        final WorldMap map;
+        final long seed;
+        final PerlinNoise perlin;
+        final float peakOffsetX;
+        final float peakHeight;
+
+        MountainParams(WorldMap map, long seed, PerlinNoise perlin, float peakOffsetX, float peakHeight) {
+            this.map = map;
+            this.seed = seed;
+            this.perlin = perlin;
+            this.peakOffsetX = peakOffsetX;
+            this.peakHeight = peakHeight;
+        }
+    }
+
+    /**
+     * Generates a range of chunk indices, splitting in half until small enough.
+     */
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MountainParams params;
+        private final int fromChunk;
+        private final int toChunk; // Exclusive
+
+        ChunkTask(MountainParams params, int fromChunk, int toChunk) {
+            this.params = params;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk <= CHUNKS_PER_TASK) {
+                for (int chunk = fromChunk; chunk < toChunk; chunk++) {
+                    generateChunk(params, chunk);
+                }
+                return;
+            }
+            int mid = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ChunkTask(params, fromChunk, mid), new ChunkTask(params, mid, toChunk));
+        }
+    }
 }
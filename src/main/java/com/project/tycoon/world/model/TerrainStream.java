@@ -0,0 +1,220 @@
+package com.project.tycoon.world.model;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle to a terrain generation running on background threads.
+ *
+ * Chunks are generated in priority order: the spawn region around the map's
+ * base location first, then the chunks nearest the focus point (normally the
+ * camera). Each finished chunk is logged in the WorldMap change log, so the
+ * renderer and other consumers pick it up like any other edit. Callers only
+ * need to wait for the spawn region (awaitBaseCamp()) before starting the
+ * simulation, which keeps startup time independent of the map size.
+ */
+public final class TerrainStream {
+
+    private static final int SPAWN_RADIUS = 24; // Tiles around the base that must exist before play
+
+    private final TerrainGenerator.MountainParams params;
+    private final TerrainCache.Snapshot snapshot; // Null when not caching
+    private final WorldMap map;
+    private final int chunksX;
+    private final int chunkCount;
+    private final boolean[] spawnChunk;
+
+    // Guarded by this
+    private final PriorityQueue<Integer> pending;
+    private int focusChunkX;
+    private int focusChunkZ;
+    private Throwable failure;
+
+    private final AtomicInteger remaining;
+    private final CountDownLatch spawnReady;
+    private final CountDownLatch complete = new CountDownLatch(1);
+
+    TerrainStream(TerrainGenerator.MountainParams params, TerrainCache.Snapshot snapshot, int threads) {
+        this.params = params;
+        this.snapshot = snapshot;
+        this.map = params.map;
+        this.chunksX = map.getChunksX();
+        this.chunkCount = chunksX * map.getChunksZ();
+
+        this.spawnChunk = new boolean[chunkCount];
+        int spawnCount = 0;
+        int minCX = Math.max(0, map.getBaseX() - SPAWN_RADIUS) / WorldMap.CHUNK_SIZE;
+        int maxCX = Math.min(map.getWidth() - 1, map.getBaseX() + SPAWN_RADIUS) / WorldMap.CHUNK_SIZE;
+        int minCZ = Math.max(0, map.getBaseZ() - SPAWN_RADIUS) / WorldMap.CHUNK_SIZE;
+        int maxCZ = Math.min(map.getDepth() - 1, map.getBaseZ() + SPAWN_RADIUS) / WorldMap.CHUNK_SIZE;
+        for (int cz = minCZ; cz <= maxCZ; cz++) {
+            for (int cx = minCX; cx <= maxCX; cx++) {
+                spawnChunk[cz * chunksX + cx] = true;
+                spawnCount++;
+            }
+        }
+
+        this.remaining = new AtomicInteger(chunkCount);
+        this.spawnReady = new CountDownLatch(spawnCount);
+
+        // Start looking at the middle of the map (where the camera starts)
+        this.focusChunkX = map.getWidth() / 2 / WorldMap.CHUNK_SIZE;
+        this.focusChunkZ = map.getDepth() / 2 / WorldMap.CHUNK_SIZE;
+        this.pending = new PriorityQueue<>(Math.max(1, chunkCount), this::comparePriority);
+        for (int i = 0; i < chunkCount; i++) {
+            pending.add(i);
+        }
+
+        map.beginGenerating(); // Gameplay edits wait for each chunk
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(this::runWorker, "terrain-gen-" + t);
+            worker.setDaemon(true); // Never keep the JVM alive for a half-built map
+            worker.start();
+        }
+    }
+
+    /**
+     * Move the focus point; remaining chunks nearest it are generated next.
+     */
+    public synchronized void setFocus(int x, int z) {
+        int chunkX = clamp(x, map.getWidth()) / WorldMap.CHUNK_SIZE;
+        int chunkZ = clamp(z, map.getDepth()) / WorldMap.CHUNK_SIZE;
+        if (chunkX == focusChunkX && chunkZ == focusChunkZ) {
+            return;
+        }
+        focusChunkX = chunkX;
+        focusChunkZ = chunkZ;
+
+        // Priorities changed, so the heap order must be rebuilt
+        Integer[] queued = pending.toArray(new Integer[0]);
+        pending.clear();
+        for (Integer chunk : queued) {
+            pending.add(chunk);
+        }
+    }
+
+    /**
+     * Whether the chunk containing a tile has been generated.
+     */
+    public boolean isReady(int x, int z) {
+        return map.isGenerated(x, z);
+    }
+
+    public boolean isComplete() {
+        return complete.getCount() == 0;
+    }
+
+    /**
+     * Fraction of chunks generated (0-1).
+     */
+    public float getProgress() {
+        return chunkCount == 0 ? 1f : 1f - (float) remaining.get() / chunkCount;
+    }
+
+    /**
+     * Block until the spawn region exists, then locate the base camp.
+     */
+    public BaseCampLocation awaitBaseCamp() {
+        await(spawnReady);
+        return TerrainGenerator.findBestBaseCampLocation(map, TerrainGenerator.BASE_ZONE_RATIO);
+    }
+
+    /**
+     * Block until every chunk has been generated.
+     */
+    public void awaitCompletion() {
+        await(complete);
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating terrain.", e);
+        }
+        synchronized (this) {
+            if (failure != null) {
+                throw new IllegalStateException("Terrain generation failed.", failure);
+            }
+        }
+    }
+
+    private void runWorker() {
+        int chunk;
+        while ((chunk = nextChunk()) >= 0) {
+            try {
+                generate(chunk);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+        }
+    }
+
+    private synchronized int nextChunk() {
+        Integer chunk = pending.poll();
+        return chunk != null ? chunk : -1;
+    }
+
+    private void generate(int chunk) {
+        int chunkX = chunk % chunksX;
+        int chunkZ = chunk / chunksX;
+        TerrainGenerator.generateChunk(params, chunk);
+        map.compactChunk(chunkX, chunkZ);
+        if (snapshot != null) {
+            snapshot.copyChunk(map, chunkX, chunkZ); // Before it is ready, so no edits yet
+        }
+
+        map.finishGenerating(chunkX, chunkZ); // From here on gameplay may edit it
+
+        // Publishes the chunk: the change log is synchronized, so readers that see
+        // this entry also see the writes above. Generation never touches trails.
+        int minX = chunkX * WorldMap.CHUNK_SIZE;
+        int minZ = chunkZ * WorldMap.CHUNK_SIZE;
+        map.markChanged(minX, minZ, minX + WorldMap.CHUNK_SIZE - 1, minZ + WorldMap.CHUNK_SIZE - 1,
+                WorldMap.CHANGE_HEIGHT | WorldMap.CHANGE_TERRAIN);
+
+        if (spawnChunk[chunk]) {
+            spawnReady.countDown();
+        }
+        if (remaining.decrementAndGet() == 0) {
+            complete.countDown();
+        }
+    }
+
+    private void fail(Throwable t) {
+        synchronized (this) {
+            if (failure == null) {
+                failure = t;
+            }
+            pending.clear();
+        }
+        // Release anyone waiting; await() rethrows the failure
+        while (spawnReady.getCount() > 0) {
+            spawnReady.countDown();
+        }
+        complete.countDown();
+    }
+
+    /**
+     * Spawn chunks first, then by distance to the focus chunk. Called with the lock held.
+     */
+    private int comparePriority(Integer a, Integer b) {
+        return Long.compare(priority(a), priority(b));
+    }
+
+    private long priority(int chunk) {
+        if (spawnChunk[chunk]) {
+            return -1;
+        }
+        long dx = chunk % chunksX - focusChunkX;
+        long dz = chunk / chunksX - focusChunkZ;
+        return dx * dx + dz * dz;
+    }
+
+    private static int clamp(int v, int size) {
+        return Math.max(0, Math.min(size - 1, v));
+    }
+}
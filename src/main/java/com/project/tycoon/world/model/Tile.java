@@ -3,57 +3,98 @@ package com.project.tycoon.world.model;
 /**
  * Represents a single cell in the world grid.
  * Contains terrain data, elevation, and objects.
+ *
+ * A Tile obtained from a WorldMap is a flyweight view: it holds no data of
+ * its own and reads/writes the owning map's storage directly. Tiles created
+ * with the public constructor have no map and keep their values in plain
+ * fields.
  */
 public class Tile {
 
+    private final WorldMap map; // Null for standalone tiles
+    private final int x;
+    private final int z;
+
+    // Standalone storage, unused by views
     private TerrainType type;
+    private int height;
     private Decoration decoration = Decoration.NONE;
-    private int height; // Elevation level
-    private boolean isTrail = false;
-    private TrailDifficulty trailDifficulty = TrailDifficulty.GREEN; // Set by trail builder
+    private boolean trail;
+    private TrailDifficulty trailDifficulty = TrailDifficulty.GREEN;
 
     public Tile(TerrainType type, int height) {
+        this(null, 0, 0);
         this.type = type;
         this.height = height;
     }
 
+    Tile(WorldMap map, int x, int z) {
+        this.map = map;
+        this.x = x;
+        this.z = z;
+    }
+
+    boolean isViewOf(WorldMap owner, int ownerX, int ownerZ) {
+        return map == owner && x == ownerX && z == ownerZ;
+    }
+
     public boolean isTrail() {
-        return isTrail;
+        return map != null ? map.isTrail(x, z) : trail;
     }
 
     public void setTrail(boolean trail) {
-        isTrail = trail;
+        if (map != null) {
+            map.writeTrail(x, z, trail);
+        } else {
+            this.trail = trail;
+        }
     }
 
     public TrailDifficulty getTrailDifficulty() {
-        return trailDifficulty;
+        return map != null ? map.getTrailDifficulty(x, z) : trailDifficulty;
     }
 
     public void setTrailDifficulty(TrailDifficulty difficulty) {
-        this.trailDifficulty = difficulty;
+        if (map != null) {
+            map.writeTrailDifficulty(x, z, difficulty);
+        } else {
+            this.trailDifficulty = difficulty;
+        }
     }
 
     public TerrainType getType() {
-        return type;
+        return map != null ? map.getTerrainType(x, z) : type;
     }
 
     public void setType(TerrainType type) {
-        this.type = type;
+        if (map != null) {
+            map.writeType(x, z, type);
+        } else {
+            this.type = type;
+        }
     }
 
     public Decoration getDecoration() {
-        return decoration;
+        return map != null ? map.getDecoration(x, z) : decoration;
     }
 
     public void setDecoration(Decoration decoration) {
-        this.decoration = decoration;
+        if (map != null) {
+            map.writeDecoration(x, z, decoration);
+        } else {
+            this.decoration = decoration;
+        }
     }
 
     public int getHeight() {
-        return height;
+        return map != null ? map.getHeight(x, z) : height;
     }
 
     public void setHeight(int height) {
-        this.height = height;
+        if (map != null) {
+            map.writeHeight(x, z, height);
+        } else {
+            this.height = height;
+        }
     }
-}
\ No newline at end of file
+}
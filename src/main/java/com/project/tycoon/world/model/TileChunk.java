@@ -0,0 +1,198 @@
+package com.project.tycoon.world.model;
+
+import java.util.Arrays;
+
+/**
+ * Storage for one SIZE x SIZE block of tiles.
+ *
+ * Each layer (height, type, decoration, trail, trail id) is either a full
+ * array or, when every tile in the chunk has the same value, just that value.
+ * Layers start out uniform and only allocate an array on the first write that
+ * differs, so flat or untouched areas cost a few bytes instead of SIZE * SIZE
+ * entries.
+ */
+final class TileChunk {
+
+    static final int SHIFT = 6;
+    static final int SIZE = 1 << SHIFT;
+    static final int MASK = SIZE - 1;
+    static final int AREA = SIZE * SIZE;
+
+    private short[] heights;
+    private short uniformHeight;
+
+    private byte[] types;
+    private byte uniformType;
+
+    private byte[] decorations;
+    private byte uniformDecoration;
+
+    private byte[] trails;
+    private byte uniformTrail;
+
+    private short[] trailIds;
+    private short uniformTrailId;
+
+    static int localIndex(int x, int z) {
+        return ((z & MASK) << SHIFT) | (x & MASK);
+    }
+
+    int height(int i) {
+        return heights != null ? heights[i] : uniformHeight;
+    }
+
+    void setHeight(int i, short value) {
+        if (heights == null) {
+            if (value == uniformHeight) {
+                return;
+            }
+            heights = new short[AREA];
+            Arrays.fill(heights, uniformHeight);
+        }
+        heights[i] = value;
+    }
+
+    byte type(int i) {
+        return types != null ? types[i] : uniformType;
+    }
+
+    void setType(int i, byte value) {
+        if (types == null) {
+            if (value == uniformType) {
+                return;
+            }
+            types = expand(uniformType);
+        }
+        types[i] = value;
+    }
+
+    byte decoration(int i) {
+        return decorations != null ? decorations[i] : uniformDecoration;
+    }
+
+    void setDecoration(int i, byte value) {
+        if (decorations == null) {
+            if (value == uniformDecoration) {
+                return;
+            }
+            decorations = expand(uniformDecoration);
+        }
+        decorations[i] = value;
+    }
+
+    byte trail(int i) {
+        return trails != null ? trails[i] : uniformTrail;
+    }
+
+    void setTrail(int i, byte value) {
+        if (trails == null) {
+            if (value == uniformTrail) {
+                return;
+            }
+            trails = expand(uniformTrail);
+        }
+        trails[i] = value;
+    }
+
+    int trailId(int i) {
+        return trailIds != null ? trailIds[i] : uniformTrailId;
+    }
+
+    void setTrailId(int i, short value) {
+        if (trailIds == null) {
+            if (value == uniformTrailId) {
+                return;
+            }
+            trailIds = new short[AREA];
+            Arrays.fill(trailIds, uniformTrailId);
+        }
+        trailIds[i] = value;
+    }
+
+    /**
+     * Check whether any tile in the chunk has the given bits set in the trail layer.
+     */
+    boolean anyTrailBits(int bits) {
+        if (trails == null) {
+            return (uniformTrail & bits) != 0;
+        }
+        for (byte b : trails) {
+            if ((b & bits) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collapse layers whose values are all equal back to a single value.
+     *
+     * @return true if the chunk now holds only default (zero) values and can be dropped
+     */
+    boolean compact() {
+        if (heights != null && isUniform(heights)) {
+            uniformHeight = heights[0];
+            heights = null;
+        }
+        if (types != null && isUniform(types)) {
+            uniformType = types[0];
+            types = null;
+        }
+        if (decorations != null && isUniform(decorations)) {
+            uniformDecoration = decorations[0];
+            decorations = null;
+        }
+        if (trails != null && isUniform(trails)) {
+            uniformTrail = trails[0];
+            trails = null;
+        }
+        if (trailIds != null && isUniform(trailIds)) {
+            uniformTrailId = trailIds[0];
+            trailIds = null;
+        }
+        return heights == null && types == null && decorations == null && trails == null && trailIds == null
+                && uniformHeight == 0 && uniformType == 0 && uniformDecoration == 0 && uniformTrail == 0
+                && uniformTrailId == 0;
+    }
+
+    /**
+     * Approximate bytes held by allocated layer arrays.
+     */
+    int allocatedBytes() {
+        int bytes = 0;
+        if (heights != null) bytes += AREA * 2;
+        if (types != null) bytes += AREA;
+        if (decorations != null) bytes += AREA;
+        if (trails != null) bytes += AREA;
+        if (trailIds != null) bytes += AREA * 2;
+        return bytes;
+    }
+
+    private static byte[] expand(byte value) {
+        byte[] layer = new byte[AREA];
+        if (value != 0) {
+            Arrays.fill(layer, value);
+        }
+        return layer;
+    }
+
+    private static boolean isUniform(short[] layer) {
+        short first = layer[0];
+        for (short v : layer) {
+            if (v != first) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUniform(byte[] layer) {
+        byte first = layer[0];
+        for (byte v : layer) {
+            if (v != first) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,14 +1,82 @@
 package com.project.tycoon.world.model;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Represents the game world grid.
  * Manages tiles, elevation, and spatial queries.
+ *
+ * Tile data is stored in CHUNK_SIZE x CHUNK_SIZE chunks of primitive layers
+ * (see TileChunk). Chunks are only allocated on first write, and layers whose
+ * values are all equal collapse to a single value, so memory scales with the
+ * amount of interesting terrain rather than the map area. Hot paths should use
+ * the direct accessors (getHeight, isTrail, ...); getTile() returns a
+ * lightweight view for code that prefers an object.
+ *
+ * Modifications made through the WorldMap setters are recorded in a change log
+ * of dirty rectangles tagged with a monotonically increasing version. Each
+ * consumer (renderer, flow field, density tables, ...) remembers the last
+ * version it processed and asks for the changes since then, so consumers never
+ * steal each other's updates. Writes through Tile views are NOT logged; call
+ * setTile() or markChanged() afterwards.
+ *
+ * The change log is synchronized so chunks can be generated on background
+ * threads (see TerrainStream) while the game thread reads it. Consumers that
+ * may run while terrain is streaming in should read getVersion() BEFORE asking
+ * for changes, so an entry logged in between is seen again rather than lost.
+ * The logged setters ignore chunks that are still being generated (see
+ * isGenerated()), so gameplay edits never race the generator threads.
  */
 public class WorldMap {
+
+    // Change kinds (bit flags) so consumers can ignore changes they don't depend on
+    public static final int CHANGE_HEIGHT = 1;
+    public static final int CHANGE_TERRAIN = 2; // Terrain type or decoration
+    public static final int CHANGE_TRAIL = 4; // Trail flag or difficulty
+    public static final int CHANGE_ALL = CHANGE_HEIGHT | CHANGE_TERRAIN | CHANGE_TRAIL;
+
+    public static final int CHUNK_SIZE = TileChunk.SIZE;
+
+    private static final int CHANGE_LOG_CAPACITY = 256;
+    private static final int MAX_MERGED_EXTENT = 32; // Max side of a coalesced log entry
+
+    // Trail layer bit packing: [unused:3][trail flag:1][difficulty ordinal:4]
+    private static final int TRAIL_FLAG = 0x10;
+    private static final int DIFFICULTY_MASK = 0x0F;
+
+    private static final TerrainType[] TERRAIN_TYPES = TerrainType.values();
+    private static final Decoration[] DECORATIONS = Decoration.values();
+    private static final TrailDifficulty[] DIFFICULTIES = TrailDifficulty.values();
+
     private final int width;
     private final int depth; // Using depth instead of height to avoid confusion with elevation
-    private final Tile[] tiles; // 1D array for cache locality
-    private boolean dirty = true; // Default to dirty to force initial build
+
+    // Chunked tile storage, null = never written (all default values)
+    private final int chunksX;
+    private final int chunksZ;
+    private final TileChunk[] chunks;
+
+    // Base area (lodge / skier spawn), bottom-center unless set by the generator
+    private static final int BASE_EDGE_MARGIN = 6;
+    private int baseX;
+    private int baseZ;
+
+    // Change log ring buffer (parallel arrays, oldest entry at logStart)
+    private final long[] logVersions = new long[CHANGE_LOG_CAPACITY];
+    private final int[] logKinds = new int[CHANGE_LOG_CAPACITY];
+    private final int[] logMinX = new int[CHANGE_LOG_CAPACITY];
+    private final int[] logMinZ = new int[CHANGE_LOG_CAPACITY];
+    private final int[] logMaxX = new int[CHANGE_LOG_CAPACITY];
+    private final int[] logMaxZ = new int[CHANGE_LOG_CAPACITY];
+    private int logStart = 0;
+    private int logSize = 0;
+    private long logFloorVersion = 0; // History before this version has been evicted
+    private long version = 0;
+    private int maxHeight = 0; // Highest height logged so far, see getMaxHeight()
+
+    // Chunks a TerrainStream has not finished yet, null = none (guarded by this)
+    private boolean[] generating;
 
     public WorldMap(int width, int depth) {
         if (width <= 0 || depth <= 0) {
@@ -16,12 +84,14 @@ public class WorldMap {
         }
         this.width = width;
         this.depth = depth;
-        this.tiles = new Tile[width * depth];
 
-        // Initialize with default terrain
-        for (int i = 0; i < tiles.length; i++) {
-            tiles[i] = new Tile(TerrainType.GRASS, 0);
-        }
+        // Missing chunks read as zero: GRASS, height 0, no decoration, no trail (GREEN)
+        this.chunksX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunksZ = (depth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new TileChunk[chunksX * chunksZ];
+
+        this.baseX = width / 2;
+        this.baseZ = Math.max(0, depth - BASE_EDGE_MARGIN);
     }
 
     public int getWidth() {
@@ -36,36 +106,460 @@ public class WorldMap {
         return x >= 0 && x < width && z >= 0 && z < depth;
     }
 
+    /**
+     * Returns a view of the tile at the given coordinates.
+     * Setters on the returned Tile write straight through to the map.
+     */
     public Tile getTile(int x, int z) {
         if (!isValid(x, z)) {
             return null; // Or throw exception, depending on preference. Null is safer for edge querying.
         }
-        return tiles[z * width + x];
+        return new Tile(this, x, z);
+    }
+
+    /**
+     * X coordinate of the base area (lodge and skier spawn).
+     */
+    public int getBaseX() {
+        return baseX;
+    }
+
+    /**
+     * Z coordinate of the base area. Skiers reaching z >= getBaseZ() - 2 are at the bottom.
+     */
+    public int getBaseZ() {
+        return baseZ;
+    }
+
+    public void setBaseLocation(int x, int z) {
+        if (!isValid(x, z)) {
+            throw new IllegalArgumentException("Base location outside map: " + x + ", " + z);
+        }
+        this.baseX = x;
+        this.baseZ = z;
+    }
+
+    // ==== DIRECT ACCESSORS (coordinates must be valid, see isValid) ====
+
+    public int getHeight(int x, int z) {
+        TileChunk chunk = chunks[chunkIndex(x, z)];
+        return chunk == null ? 0 : chunk.height(TileChunk.localIndex(x, z));
+    }
+
+    public TerrainType getTerrainType(int x, int z) {
+        TileChunk chunk = chunks[chunkIndex(x, z)];
+        return TERRAIN_TYPES[chunk == null ? 0 : chunk.type(TileChunk.localIndex(x, z))];
+    }
+
+    public Decoration getDecoration(int x, int z) {
+        TileChunk chunk = chunks[chunkIndex(x, z)];
+        return DECORATIONS[chunk == null ? 0 : chunk.decoration(TileChunk.localIndex(x, z))];
+    }
+
+    public boolean isTrail(int x, int z) {
+        return (trailBits(x, z) & TRAIL_FLAG) != 0;
+    }
+
+    public TrailDifficulty getTrailDifficulty(int x, int z) {
+        return DIFFICULTIES[trailBits(x, z) & DIFFICULTY_MASK];
+    }
+
+    /**
+     * Id of the registered trail this tile belongs to, or 0 if none (see TrailRegistry).
+     */
+    public int getTrailId(int x, int z) {
+        TileChunk chunk = chunks[chunkIndex(x, z)];
+        return chunk == null ? 0 : chunk.trailId(TileChunk.localIndex(x, z));
     }
-    
+
+    // ==== CHUNKS ====
+
+    public int getChunksX() {
+        return chunksX;
+    }
+
+    public int getChunksZ() {
+        return chunksZ;
+    }
+
+    /**
+     * Quick check whether a chunk contains any trail tiles, without scanning
+     * untouched or uniform chunks.
+     */
+    public boolean hasTrailsInChunk(int chunkX, int chunkZ) {
+        TileChunk chunk = chunks[chunkZ * chunksX + chunkX];
+        return chunk != null && chunk.anyTrailBits(TRAIL_FLAG);
+    }
+
+    /**
+     * Bounding rectangle of all trail tiles, skipping chunks without trails.
+     *
+     * @return Inclusive bounds, or null if the map has no trails
+     */
+    public DirtyRegion getTrailBounds() {
+        int minX = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = -1;
+        int maxZ = -1;
+
+        for (int chunkZ = 0; chunkZ < chunksZ; chunkZ++) {
+            for (int chunkX = 0; chunkX < chunksX; chunkX++) {
+                if (!hasTrailsInChunk(chunkX, chunkZ)) {
+                    continue;
+                }
+                int startX = chunkX * CHUNK_SIZE;
+                int startZ = chunkZ * CHUNK_SIZE;
+                int endX = Math.min(startX + CHUNK_SIZE, width);
+                int endZ = Math.min(startZ + CHUNK_SIZE, depth);
+                for (int z = startZ; z < endZ; z++) {
+                    for (int x = startX; x < endX; x++) {
+                        if (isTrail(x, z)) {
+                            minX = Math.min(minX, x);
+                            minZ = Math.min(minZ, z);
+                            maxX = Math.max(maxX, x);
+                            maxZ = Math.max(maxZ, z);
+                        }
+                    }
+                }
+            }
+        }
+
+        return maxX < 0 ? null : new DirtyRegion(minX, minZ, maxX, maxZ);
+    }
+
+    /**
+     * Collapse uniform layers and drop chunks that hold only default values.
+     * Call after bulk edits such as terrain generation.
+     */
+    public void compact() {
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] != null && chunks[i].compact()) {
+                chunks[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Whether the chunk containing a tile has finished generating and accepts
+     * edits. Always true unless terrain is streaming in.
+     */
+    public synchronized boolean isGenerated(int x, int z) {
+        return generating == null || !generating[chunkIndex(x, z)];
+    }
+
+    /**
+     * Mark every chunk as generating (called before generator threads start).
+     */
+    synchronized void beginGenerating() {
+        generating = new boolean[chunks.length];
+        Arrays.fill(generating, true);
+    }
+
+    /**
+     * Hand a generated chunk over to gameplay. Taking the lock publishes the
+     * generator's writes to any thread that later checks isGenerated().
+     */
+    synchronized void finishGenerating(int chunkX, int chunkZ) {
+        generating[chunkZ * chunksX + chunkX] = false;
+    }
+
+    /**
+     * Compact a single chunk (see compact()).
+     */
+    void compactChunk(int chunkX, int chunkZ) {
+        int i = chunkZ * chunksX + chunkX;
+        if (chunks[i] != null && chunks[i].compact()) {
+            chunks[i] = null;
+        }
+    }
+
+    /**
+     * Number of chunks that have been allocated (written to and not compacted away).
+     */
+    public int getAllocatedChunkCount() {
+        int count = 0;
+        for (TileChunk chunk : chunks) {
+            if (chunk != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Approximate bytes held by per-tile layer arrays across all chunks.
+     */
+    public long getAllocatedLayerBytes() {
+        long bytes = 0;
+        for (TileChunk chunk : chunks) {
+            if (chunk != null) {
+                bytes += chunk.allocatedBytes();
+            }
+        }
+        return bytes;
+    }
+
+    // ==== LOGGED SETTERS ====
+
     public void setTileHeight(int x, int z, int height) {
-        Tile t = getTile(x, z);
-        if (t != null) {
-            t.setHeight(height);
-            this.dirty = true;
+        if (isValid(x, z) && isGenerated(x, z)) {
+            writeHeight(x, z, height);
+            markChanged(x, z, x, z, CHANGE_HEIGHT);
         }
     }
-    
-    public boolean isDirty() {
-        return dirty;
+
+    public void setDecoration(int x, int z, Decoration decoration) {
+        if (isValid(x, z) && isGenerated(x, z)) {
+            writeDecoration(x, z, decoration);
+            markChanged(x, z, x, z, CHANGE_TERRAIN);
+        }
     }
-    
-    public void clean() {
-        this.dirty = false;
+
+    public void setTrail(int x, int z, boolean trail) {
+        if (isValid(x, z) && isGenerated(x, z)) {
+            writeTrail(x, z, trail);
+            markChanged(x, z, x, z, CHANGE_TRAIL);
+        }
+    }
+
+    public void setTrailDifficulty(int x, int z, TrailDifficulty difficulty) {
+        if (isValid(x, z) && isGenerated(x, z)) {
+            writeTrailDifficulty(x, z, difficulty);
+            markChanged(x, z, x, z, CHANGE_TRAIL);
+        }
     }
-    
+
+    public void setTrailId(int x, int z, int trailId) {
+        if (isValid(x, z) && isGenerated(x, z)) {
+            chunkForWrite(x, z).setTrailId(TileChunk.localIndex(x, z), (short) trailId);
+            markChanged(x, z, x, z, CHANGE_TRAIL);
+        }
+    }
+
     /**
-     * Sets the tile at the given coordinates.
-     * Note: This replaces the Tile object. For modifying, use getTile() and setters.
+     * Copies the given tile's data into the map at the given coordinates.
+     * The tile may be a view obtained from getTile() or a standalone Tile.
+     * A view of this same tile has already written through, so all change
+     * kinds are logged for it; otherwise only the fields that differ are.
      */
     public void setTile(int x, int z, Tile tile) {
-        if (!isValid(x, z)) return;
-        tiles[z * width + x] = tile;
-        this.dirty = true;
+        if (!isValid(x, z) || !isGenerated(x, z)) return;
+
+        int kinds = 0;
+        if (tile.isViewOf(this, x, z)) {
+            kinds = CHANGE_ALL;
+        } else {
+            if (getHeight(x, z) != tile.getHeight()) {
+                kinds |= CHANGE_HEIGHT;
+            }
+            if (getTerrainType(x, z) != tile.getType() || getDecoration(x, z) != tile.getDecoration()) {
+                kinds |= CHANGE_TERRAIN;
+            }
+            if (isTrail(x, z) != tile.isTrail() || getTrailDifficulty(x, z) != tile.getTrailDifficulty()) {
+                kinds |= CHANGE_TRAIL;
+            }
+            writeHeight(x, z, tile.getHeight());
+            writeType(x, z, tile.getType());
+            writeDecoration(x, z, tile.getDecoration());
+            writeTrail(x, z, tile.isTrail());
+            writeTrailDifficulty(x, z, tile.getTrailDifficulty());
+        }
+
+        if (kinds != 0) {
+            markChanged(x, z, x, z, kinds);
+        }
+    }
+
+    // ==== CHANGE LOG ====
+
+    /**
+     * Latest change version. Starts at 0 and increases with every logged change.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Upper bound on tile heights: the highest height in any region logged with
+     * CHANGE_HEIGHT. It never decreases when terrain is lowered again.
+     */
+    public synchronized int getMaxHeight() {
+        return maxHeight;
+    }
+
+    /**
+     * Record that an inclusive rectangle of tiles changed. Use after bulk writes
+     * through Tile views (e.g. terrain generation). The rectangle is clamped.
+     */
+    public synchronized void markChanged(int minX, int minZ, int maxX, int maxZ, int kinds) {
+        minX = Math.max(minX, 0);
+        minZ = Math.max(minZ, 0);
+        maxX = Math.min(maxX, width - 1);
+        maxZ = Math.min(maxZ, depth - 1);
+        if (minX > maxX || minZ > maxZ || kinds == 0) {
+            return;
+        }
+
+        if ((kinds & CHANGE_HEIGHT) != 0) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    maxHeight = Math.max(maxHeight, getHeight(x, z));
+                }
+            }
+        }
+
+        version++;
+
+        // Coalesce with the newest entry when it stays small (e.g. brush painting).
+        // The merged entry takes the new version, so it stays a superset of what
+        // any consumer has already seen.
+        if (logSize > 0) {
+            int last = (logStart + logSize - 1) % CHANGE_LOG_CAPACITY;
+            int mergedMinX = Math.min(logMinX[last], minX);
+            int mergedMinZ = Math.min(logMinZ[last], minZ);
+            int mergedMaxX = Math.max(logMaxX[last], maxX);
+            int mergedMaxZ = Math.max(logMaxZ[last], maxZ);
+            if (logKinds[last] == kinds
+                    && mergedMaxX - mergedMinX < MAX_MERGED_EXTENT
+                    && mergedMaxZ - mergedMinZ < MAX_MERGED_EXTENT) {
+                logMinX[last] = mergedMinX;
+                logMinZ[last] = mergedMinZ;
+                logMaxX[last] = mergedMaxX;
+                logMaxZ[last] = mergedMaxZ;
+                logVersions[last] = version;
+                return;
+            }
+        }
+
+        int slot;
+        if (logSize == CHANGE_LOG_CAPACITY) {
+            // Evict oldest; consumers older than it will get a full-map region
+            logFloorVersion = logVersions[logStart];
+            slot = logStart;
+            logStart = (logStart + 1) % CHANGE_LOG_CAPACITY;
+        } else {
+            slot = (logStart + logSize) % CHANGE_LOG_CAPACITY;
+            logSize++;
+        }
+
+        logVersions[slot] = version;
+        logKinds[slot] = kinds;
+        logMinX[slot] = minX;
+        logMinZ[slot] = minZ;
+        logMaxX[slot] = maxX;
+        logMaxZ[slot] = maxZ;
+    }
+
+    /**
+     * Bounding rectangle of all changes of the given kinds made after a version.
+     * Consumers should pass the version they last processed (or -1 if they have
+     * never built anything) and then remember getVersion().
+     *
+     * @param sinceVersion Last version the caller has processed
+     * @param kindMask     CHANGE_* flags the caller depends on
+     * @return Changed region, the full map if history was lost, or null if nothing relevant changed
+     */
+    public synchronized DirtyRegion getChangesSince(long sinceVersion, int kindMask) {
+        if (sinceVersion < logFloorVersion) {
+            return new DirtyRegion(0, 0, width - 1, depth - 1);
+        }
+        if (sinceVersion >= version) {
+            return null;
+        }
+
+        int minX = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+
+        // Walk newest to oldest; versions are increasing so we can stop early
+        for (int i = logSize - 1; i >= 0; i--) {
+            int slot = (logStart + i) % CHANGE_LOG_CAPACITY;
+            if (logVersions[slot] <= sinceVersion) {
+                break;
+            }
+            if ((logKinds[slot] & kindMask) == 0) {
+                continue;
+            }
+            minX = Math.min(minX, logMinX[slot]);
+            minZ = Math.min(minZ, logMinZ[slot]);
+            maxX = Math.max(maxX, logMaxX[slot]);
+            maxZ = Math.max(maxZ, logMaxZ[slot]);
+        }
+
+        if (minX == Integer.MAX_VALUE) {
+            return null;
+        }
+        return new DirtyRegion(minX, minZ, maxX, maxZ);
+    }
+
+    /**
+     * Like getChangesSince(), but adds each logged rectangle separately instead
+     * of their bounding box, so far-apart changes (e.g. chunks streaming in at
+     * the base and under the camera) don't cover everything in between.
+     *
+     * @param out Receives the changed regions, oldest first
+     * @return true if anything relevant changed
+     */
+    public synchronized boolean collectChangesSince(long sinceVersion, int kindMask, List<DirtyRegion> out) {
+        if (sinceVersion < logFloorVersion) {
+            out.add(new DirtyRegion(0, 0, width - 1, depth - 1));
+            return true;
+        }
+
+        boolean any = false;
+        for (int i = 0; i < logSize; i++) {
+            int slot = (logStart + i) % CHANGE_LOG_CAPACITY;
+            if (logVersions[slot] <= sinceVersion || (logKinds[slot] & kindMask) == 0) {
+                continue;
+            }
+            out.add(new DirtyRegion(logMinX[slot], logMinZ[slot], logMaxX[slot], logMaxZ[slot]));
+            any = true;
+        }
+        return any;
+    }
+
+    // ==== UNLOGGED STORAGE (used by Tile views; coordinates must be valid) ====
+
+    void writeHeight(int x, int z, int height) {
+        chunkForWrite(x, z).setHeight(TileChunk.localIndex(x, z), (short) height);
+    }
+
+    void writeType(int x, int z, TerrainType type) {
+        chunkForWrite(x, z).setType(TileChunk.localIndex(x, z), (byte) type.ordinal());
+    }
+
+    void writeDecoration(int x, int z, Decoration decoration) {
+        chunkForWrite(x, z).setDecoration(TileChunk.localIndex(x, z), (byte) decoration.ordinal());
+    }
+
+    void writeTrail(int x, int z, boolean trail) {
+        int bits = trailBits(x, z);
+        bits = trail ? bits | TRAIL_FLAG : bits & ~TRAIL_FLAG;
+        chunkForWrite(x, z).setTrail(TileChunk.localIndex(x, z), (byte) bits);
+    }
+
+    void writeTrailDifficulty(int x, int z, TrailDifficulty difficulty) {
+        int bits = (trailBits(x, z) & ~DIFFICULTY_MASK) | difficulty.ordinal();
+        chunkForWrite(x, z).setTrail(TileChunk.localIndex(x, z), (byte) bits);
+    }
+
+    private int trailBits(int x, int z) {
+        TileChunk chunk = chunks[chunkIndex(x, z)];
+        return chunk == null ? 0 : chunk.trail(TileChunk.localIndex(x, z));
+    }
+
+    private int chunkIndex(int x, int z) {
+        return (z >> TileChunk.SHIFT) * chunksX + (x >> TileChunk.SHIFT);
+    }
+
+    private TileChunk chunkForWrite(int x, int z) {
+        int index = chunkIndex(x, z);
+        TileChunk chunk = chunks[index];
+        if (chunk == null) {
+            chunk = new TileChunk();
+            chunks[index] = chunk;
+        }
+        return chunk;
     }
-}
\ No newline at end of file
+}
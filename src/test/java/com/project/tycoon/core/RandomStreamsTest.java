@@ -0,0 +1,53 @@
+package com.project.tycoon.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomStreamsTest {
+
+    @Test
+    void testDrawsArePureFunctionsOfSeedStreamAndCounter() {
+        RandomStreams a = new RandomStreams(42);
+        RandomStreams b = new RandomStreams(42);
+
+        assertEquals(a.hash(7, 3), b.hash(7, 3));
+        assertEquals(a.nextFloat(7, 3), b.nextFloat(7, 3));
+        assertNotEquals(a.hash(7, 3), a.hash(7, 4));
+        assertNotEquals(a.hash(7, 3), a.hash(8, 3));
+        assertNotEquals(a.hash(7, 3), new RandomStreams(43).hash(7, 3));
+
+        // Same results whatever order or thread the draws come from
+        long[] sequential = LongStream.range(0, 100_000).map(i -> a.hash(RandomStreams.SPAWNER, i)).toArray();
+        long[] parallel = LongStream.range(0, 100_000).parallel().map(i -> b.hash(RandomStreams.SPAWNER, i))
+                .toArray();
+        assertArrayEquals(sequential, parallel);
+    }
+
+    @Test
+    void testValuesAreUniformInRange() {
+        RandomStreams random = new RandomStreams(1);
+        int draws = 120_000;
+        double floatSum = 0.0;
+        double doubleSum = 0.0;
+        int[] dice = new int[6];
+        for (int i = 0; i < draws; i++) {
+            float f = random.nextFloat(5, i);
+            double d = random.nextDouble(6, i);
+            assertTrue(f >= 0f && f < 1f);
+            assertTrue(d >= 0.0 && d < 1.0);
+            floatSum += f;
+            doubleSum += d;
+            dice[random.nextInt(7, i, 6)]++;
+        }
+
+        assertEquals(0.5, floatSum / draws, 0.005);
+        assertEquals(0.5, doubleSum / draws, 0.005);
+        for (int count : dice) {
+            assertEquals(draws / 6.0, count, draws * 0.01);
+        }
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(1, 1, 0));
+    }
+}
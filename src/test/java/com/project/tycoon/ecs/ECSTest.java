@@ -129,4 +129,48 @@ class ECSTest {
             this.dy = dy;
         }
     }
+
+    @Test
+    void testGetEntityById() {
+        Engine engine = new Engine();
+        Entity entity = engine.createEntity();
+
+        assertSame(entity, engine.getEntity(entity.getId()));
+
+        engine.removeEntity(entity);
+        assertNull(engine.getEntity(entity.getId()));
+    }
+
+    @Test
+    void testSleepAndWake() {
+        Engine engine = new Engine();
+        Entity sleeper = engine.createEntity();
+        Entity other = engine.createEntity();
+        java.util.List<Entity> woken = new java.util.ArrayList<>();
+        engine.addWakeListener((entity, wakeTime) -> {
+            assertTrue(engine.getTime() >= wakeTime); // Never woken ahead of the clock
+            woken.add(entity);
+        });
+
+        engine.sleep(sleeper, 100.0); // Well past one revolution of the timer wheel
+        assertTrue(engine.isSleeping(sleeper));
+        assertFalse(engine.getActiveEntities().contains(sleeper));
+        assertTrue(engine.getActiveEntities().contains(other));
+
+        for (int i = 0; i < 99; i++) {
+            engine.update(1.0);
+        }
+        assertTrue(woken.isEmpty());
+
+        engine.update(1.0); // Step ending at t=100 contains the wake time
+        assertEquals(java.util.List.of(sleeper), woken);
+        assertFalse(engine.isSleeping(sleeper));
+        assertTrue(engine.getActiveEntities().contains(sleeper));
+
+        // Early wake cancels the timer without notifying
+        engine.sleep(other, 150.0);
+        assertTrue(engine.wake(other));
+        engine.update(100.0);
+        assertEquals(1, woken.size());
+    }
 }
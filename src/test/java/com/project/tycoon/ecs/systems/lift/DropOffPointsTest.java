@@ -0,0 +1,54 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DropOffPointsTest {
+
+    private static void paint(WorldMap map, int x, int z, TrailDifficulty difficulty) {
+        map.setTrail(x, z, true);
+        map.setTrailDifficulty(x, z, difficulty);
+    }
+
+    @Test
+    void testCandidatesRotateAndPreferDifficulty() {
+        WorldMap map = new WorldMap(64, 64);
+        paint(map, 21, 20, TrailDifficulty.BLUE);
+        paint(map, 20, 22, TrailDifficulty.BLUE);
+        paint(map, 25, 20, TrailDifficulty.BLACK);
+        DropOffPoints dropOffs = new DropOffPoints(map);
+
+        // Blue skiers alternate between the two blue tiles
+        Set<Integer> blue = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            blue.add(dropOffs.next(20, 20, TrailDifficulty.BLUE));
+        }
+        assertEquals(Set.of(20 * 64 + 21, 22 * 64 + 20), blue);
+
+        assertEquals(20 * 64 + 25, dropOffs.next(20, 20, TrailDifficulty.BLACK));
+        // No green trail nearby: fall back to the nearest tiles of any difficulty
+        assertEquals(20 * 64 + 21, dropOffs.next(20, 20, TrailDifficulty.GREEN));
+    }
+
+    @Test
+    void testInvalidatedByNearbyTrailChanges() {
+        WorldMap map = new WorldMap(128, 128);
+        DropOffPoints dropOffs = new DropOffPoints(map);
+        assertEquals(-1, dropOffs.next(20, 20, null));
+
+        paint(map, 100, 100, TrailDifficulty.GREEN); // Far away: no effect
+        assertEquals(-1, dropOffs.next(20, 20, null));
+
+        paint(map, 30, 20, TrailDifficulty.GREEN);
+        assertEquals(20 * 128 + 30, dropOffs.next(20, 20, null));
+
+        map.setTrail(30, 20, false);
+        assertEquals(-1, dropOffs.next(20, 20, null));
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import com.project.tycoon.ecs.components.TransformComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiftPathTest {
+
+    @Test
+    void testArcLengthInterpolation() {
+        // Base -> 3-4-5 segment (length 5) -> 10 straight up z (length 10)
+        LiftPath path = new LiftPath(
+                new float[] { 0, 3, 3 },
+                new float[] { 0, 0, 0 },
+                new float[] { 0, 4, 14 });
+        TransformComponent out = new TransformComponent(0, 0, 0);
+
+        assertEquals(15f, path.getLength(), 1e-5f);
+        assertEquals(0, path.segmentAt(2.5f));
+        assertEquals(1, path.segmentAt(5f));
+        assertEquals(1, path.segmentAt(100f));
+
+        path.positionAt(2.5f, out);
+        assertEquals(1.5f, out.x, 1e-5f);
+        assertEquals(2f, out.z, 1e-5f);
+
+        path.positionAt(10f, out);
+        assertEquals(3f, out.x, 1e-5f);
+        assertEquals(9f, out.z, 1e-5f);
+
+        path.positionAt(-1f, out); // Clamped to base
+        assertEquals(0f, out.z, 1e-5f);
+        path.positionAt(20f, out); // Clamped to top
+        assertEquals(14f, out.z, 1e-5f);
+    }
+
+    @Test
+    void testSinglePointPath() {
+        LiftPath path = new LiftPath(new float[] { 2 }, new float[] { 1 }, new float[] { 3 });
+        TransformComponent out = new TransformComponent(0, 0, 0);
+
+        assertEquals(0f, path.getLength());
+        path.positionAt(5f, out);
+        assertEquals(2f, out.x);
+        assertEquals(3f, out.z);
+    }
+}
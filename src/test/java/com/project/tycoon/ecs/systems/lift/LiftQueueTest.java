@@ -0,0 +1,61 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiftQueueTest {
+
+    @Test
+    void testFifoOrderAndPositions() {
+        LiftQueue queue = new LiftQueue();
+        List<UUID> skiers = new ArrayList<>();
+        List<Long> tickets = new ArrayList<>();
+
+        // Enough to force the ring buffer to grow while wrapped
+        for (int i = 0; i < 10; i++) {
+            UUID id = UUID.randomUUID();
+            skiers.add(id);
+            tickets.add(queue.enqueue(id));
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(skiers.get(i), queue.poll());
+        }
+        for (int i = 0; i < 30; i++) {
+            UUID id = UUID.randomUUID();
+            skiers.add(id);
+            tickets.add(queue.enqueue(id));
+        }
+
+        assertEquals(35, queue.size());
+        assertEquals(-1, queue.positionOf(tickets.get(4))); // Already boarded
+        assertEquals(0, queue.positionOf(tickets.get(5)));
+        assertEquals(34, queue.positionOf(tickets.get(39)));
+
+        for (int i = 5; i < 40; i++) {
+            assertEquals(0, queue.positionOf(tickets.get(i))); // Front of the line each time
+            assertEquals(skiers.get(i), queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void testMembership() {
+        LiftQueue queue = new LiftQueue();
+        UUID skier = UUID.randomUUID();
+
+        assertEquals(0, queue.enqueue(skier));
+        assertEquals(-1, queue.enqueue(skier)); // Already in line
+        assertTrue(queue.contains(skier));
+        assertEquals(1, queue.size());
+
+        assertEquals(skier, queue.poll());
+        assertFalse(queue.contains(skier));
+        assertEquals(1, queue.enqueue(skier)); // Can queue again with a new ticket
+    }
+}
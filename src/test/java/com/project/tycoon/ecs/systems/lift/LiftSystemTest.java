@@ -0,0 +1,256 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import com.project.tycoon.core.RandomStreams;
+import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.Entity;
+import com.project.tycoon.ecs.components.LiftComponent;
+import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.TransformComponent;
+import com.project.tycoon.economy.EconomyManager;
+import com.project.tycoon.ecs.systems.skier.SkierDecisionScheduler;
+import com.project.tycoon.world.SnapPointManager;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiftSystemTest {
+
+    @Test
+    void testLiftStatusTracksQueueAndRiders() {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(64, 64);
+        LiftSystem liftSystem = new LiftSystem(engine, new EconomyManager(),
+                new SkierDecisionScheduler(engine, new SnapPointManager(), map, new RandomStreams(1)), map);
+        engine.addSystem(liftSystem);
+
+        Entity top = engine.createEntity();
+        engine.addComponent(top, new LiftComponent(LiftComponent.LiftType.TBAR));
+        engine.addComponent(top, new TransformComponent(10, 5, 40));
+
+        Entity base = engine.createEntity();
+        LiftComponent baseLift = new LiftComponent(LiftComponent.LiftType.TBAR);
+        baseLift.nextPylonId = top.getId();
+        engine.addComponent(base, baseLift);
+        engine.addComponent(base, new TransformComponent(10, 0, 10));
+
+        SkierComponent[] skiers = new SkierComponent[3];
+        Entity[] skierEntities = new Entity[3];
+        for (int i = 0; i < skiers.length; i++) {
+            Entity skier = engine.createEntity();
+            skierEntities[i] = skier;
+            skiers[i] = new SkierComponent();
+            engine.addComponent(skier, skiers[i]);
+            engine.addComponent(skier, new TransformComponent(11 + i, 0, 10));
+        }
+
+        engine.update(0.1);
+        LiftStatus status = liftSystem.getLiftStatus(base.getId());
+        assertNotNull(status);
+        assertNull(liftSystem.getLiftStatus(top.getId())); // Only bases are lifts
+        assertEquals(3, status.getQueueLength());
+        assertEquals(0, status.getRiders());
+        assertEquals(baseLift.capacity, status.getAvailableCapacity());
+
+        // ~30 tiles at 2 tiles/s with 4 two-seat T-bars on the cable: one every ~3.8s
+        assertEquals(2, status.getSeatsPerCarrier());
+        assertEquals(4, status.getCarrierCount());
+        assertEquals(status.getRideTime() / 4f, status.getDepartureInterval(), 1e-5f);
+
+        engine.update(4.0); // Past the first departure, which seats two
+        assertEquals(1, status.getQueueLength());
+        assertEquals(2, status.getRiders());
+        assertEquals(baseLift.capacity - 2, status.getAvailableCapacity());
+
+        // Both waited from the first step (t = 0) until the departure
+        assertEquals(2, status.getTelemetry().getTotalBoardings());
+        assertEquals(status.getDepartureInterval(), status.getTelemetry().getWaitTimes().getMean(), 1e-3f);
+        assertEquals(3, status.getTelemetry().getMaxQueueLength());
+
+        int waiting = -1;
+        int boarded = -1;
+        for (int i = 0; i < skiers.length; i++) {
+            if (skiers[i].state == SkierComponent.State.QUEUED) {
+                waiting = i;
+            } else if (skiers[i].state == SkierComponent.State.RIDING_LIFT) {
+                boarded = i;
+            }
+        }
+        assertEquals(0, liftSystem.getQueuePosition(skiers[waiting]));
+
+        // The rider is parked in the engine for the whole ride
+        Entity rider = skierEntities[boarded];
+        assertTrue(engine.isSleeping(rider));
+        assertFalse(engine.getActiveEntities().contains(rider));
+
+        // Ride to the top (~30 tiles at 2 tiles/s) and get released
+        for (int i = 0; i < 100; i++) {
+            engine.update(0.5);
+        }
+        assertEquals(0, status.getRiders());
+        assertEquals(0, status.getQueueLength());
+        for (SkierComponent skier : skiers) {
+            assertEquals(SkierComponent.State.SKIING, skier.state);
+        }
+        assertFalse(engine.isSleeping(rider));
+    }
+
+    @Test
+    void testThroughputIndependentOfStepSize() {
+        assertEquals(countBoarded(1.0 / 60.0, 3630), countBoarded(6.05, 10));
+        assertEquals(60 * 8, countBoarded(60.5, 1)); // One 8-seat cabin every second, all in one step
+    }
+
+    @Test
+    void testThroughputFollowsCarrierSeats() {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(64, 64);
+        LiftSystem liftSystem = new LiftSystem(engine, new EconomyManager(),
+                new SkierDecisionScheduler(engine, new SnapPointManager(), map, new RandomStreams(1)), map);
+        engine.addSystem(liftSystem);
+
+        UUID tbarId = createLift(engine, LiftComponent.LiftType.TBAR, 10);
+        UUID gondolaId = createLift(engine, LiftComponent.LiftType.GONDOLA, 30);
+        engine.update(0.1);
+        LiftStatus tbar = liftSystem.getLiftStatus(tbarId);
+        LiftStatus gondola = liftSystem.getLiftStatus(gondolaId);
+
+        // Same 100-tile line: 4 two-seat T-bars vs 2 eight-seat cabins
+        assertEquals(50f / 4f, tbar.getDepartureInterval(), 1e-3f);
+        assertEquals(2 * 3600f / 12.5f, tbar.getThroughputPerHour(), 1e-2f);
+        assertEquals((100f / 3f) / 2f, gondola.getDepartureInterval(), 1e-3f);
+        assertTrue(gondola.getThroughputPerHour() > tbar.getThroughputPerHour());
+    }
+
+    @Test
+    void testLiftBasesFollowBuiltAndRemovedLifts() {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(64, 64);
+        EconomyManager economy = new EconomyManager();
+        LiftSystem liftSystem = new LiftSystem(engine, economy,
+                new SkierDecisionScheduler(engine, new SnapPointManager(), map, new RandomStreams(1)), map);
+        engine.addSystem(liftSystem);
+
+        engine.update(1.0);
+        assertEquals(0f, economy.getTotalExpenses());
+
+        UUID liftId = createLift(engine, LiftComponent.LiftType.TBAR, 10);
+        engine.update(1.0);
+        float maintenance = new LiftComponent(LiftComponent.LiftType.TBAR).maintenanceCostPerSec;
+        assertNotNull(liftSystem.getLiftStatus(liftId));
+        assertEquals(maintenance, economy.getTotalExpenses(), 1e-5f);
+
+        Entity base = engine.getEntity(liftId);
+        engine.removeEntity(engine.getEntity(engine.getComponent(base, LiftComponent.class).nextPylonId));
+        engine.removeEntity(base);
+        engine.update(1.0);
+        assertNull(liftSystem.getLiftStatus(liftId));
+        assertEquals(maintenance, economy.getTotalExpenses(), 1e-5f); // No longer charged
+    }
+
+    private UUID createLift(Engine engine, LiftComponent.LiftType type, float x) {
+        Entity top = engine.createEntity();
+        engine.addComponent(top, new LiftComponent(type));
+        engine.addComponent(top, new TransformComponent(x, 0, 110));
+
+        Entity base = engine.createEntity();
+        LiftComponent baseLift = new LiftComponent(type);
+        baseLift.nextPylonId = top.getId();
+        engine.addComponent(base, baseLift);
+        engine.addComponent(base, new TransformComponent(x, 0, 10));
+        return base.getId();
+    }
+
+    @Test
+    void testRideLengthIndependentOfStepSize() {
+        double[] fine = rideTimes(0.1);
+        double[] coarse = rideTimes(7.0); // Longer than the whole ride
+
+        // Same arrival time, and riders are never released before it
+        assertEquals(fine[0], coarse[0], 1e-9);
+        assertTrue(fine[1] >= fine[0] && fine[1] < fine[0] + 0.1 + 1e-9);
+        assertTrue(coarse[1] >= coarse[0] && coarse[1] < coarse[0] + 7.0 + 1e-9);
+    }
+
+    /**
+     * Send one skier up a T-bar and return {arrival time, clock when released}.
+     */
+    private double[] rideTimes(double dt) {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(64, 64);
+        LiftSystem liftSystem = new LiftSystem(engine, new EconomyManager(),
+                new SkierDecisionScheduler(engine, new SnapPointManager(), map, new RandomStreams(1)), map);
+        engine.addSystem(liftSystem);
+
+        Entity top = engine.createEntity();
+        engine.addComponent(top, new LiftComponent(LiftComponent.LiftType.TBAR));
+        engine.addComponent(top, new TransformComponent(10, 0, 40));
+
+        Entity base = engine.createEntity();
+        LiftComponent baseLift = new LiftComponent(LiftComponent.LiftType.TBAR);
+        baseLift.nextPylonId = top.getId();
+        engine.addComponent(base, baseLift);
+        engine.addComponent(base, new TransformComponent(10, 0, 10));
+
+        Entity skierEntity = engine.createEntity();
+        SkierComponent skier = new SkierComponent();
+        engine.addComponent(skierEntity, skier);
+        engine.addComponent(skierEntity, new TransformComponent(10, 0, 12));
+
+        double[] times = { -1, -1 };
+        engine.addWakeListener((entity, wakeTime) -> {
+            assertEquals(SkierComponent.State.SKIING, skier.state);
+            times[0] = wakeTime;
+            times[1] = engine.getTime();
+        });
+        while (times[0] < 0 && engine.getTime() < 200) {
+            engine.update(dt);
+        }
+        assertTrue(times[0] > 0);
+        return times;
+    }
+
+    /**
+     * Queue 600 skiers at a long gondola and count how many have boarded after the steps.
+     */
+    private int countBoarded(double dt, int steps) {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(64, 64);
+        LiftSystem liftSystem = new LiftSystem(engine, new EconomyManager(),
+                new SkierDecisionScheduler(engine, new SnapPointManager(), map, new RandomStreams(1)), map);
+        engine.addSystem(liftSystem);
+
+        Entity top = engine.createEntity();
+        engine.addComponent(top, new LiftComponent(LiftComponent.LiftType.GONDOLA));
+        engine.addComponent(top, new TransformComponent(10, 50, 60));
+
+        Entity base = engine.createEntity();
+        LiftComponent baseLift = new LiftComponent(LiftComponent.LiftType.GONDOLA);
+        baseLift.capacity = 1000; // Cabins leave at the minimum interval; only departures limit throughput
+        baseLift.nextPylonId = top.getId();
+        engine.addComponent(base, baseLift);
+        engine.addComponent(base, new TransformComponent(10, 0, 10));
+
+        SkierComponent[] skiers = new SkierComponent[600];
+        for (int i = 0; i < skiers.length; i++) {
+            Entity skier = engine.createEntity();
+            skiers[i] = new SkierComponent();
+            engine.addComponent(skier, skiers[i]);
+            engine.addComponent(skier, new TransformComponent(10, 0, 12));
+        }
+
+        for (int i = 0; i < steps; i++) {
+            engine.update(dt);
+        }
+
+        int boarded = 0;
+        for (SkierComponent skier : skiers) {
+            if (skier.state != SkierComponent.State.QUEUED) {
+                boarded++;
+            }
+        }
+        return boarded;
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.tycoon.ecs.systems.lift;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiftTelemetryTest {
+
+    @Test
+    void testRidersPerHourOverRollingWindow() {
+        LiftTelemetry telemetry = new LiftTelemetry();
+        telemetry.recordQueueLength(0.0, 0);
+        for (int i = 1; i <= 60; i++) {
+            telemetry.recordBoarding(i, 0f); // One rider per second
+        }
+        assertEquals(3600f, telemetry.getRidersPerHour(), 1f);
+        assertEquals(60, telemetry.getTotalBoardings());
+
+        // After a quiet full window, old boardings have rolled off
+        telemetry.recordQueueLength(60.0 + LiftTelemetry.BUCKETS * LiftTelemetry.BUCKET_SECONDS, 0);
+        assertEquals(0, telemetry.getWindowBoardings());
+        assertEquals(0f, telemetry.getRidersPerHour());
+        assertEquals(60, telemetry.getTotalBoardings());
+    }
+
+    @Test
+    void testQueueLengthHistoryOldestFirst() {
+        LiftTelemetry telemetry = new LiftTelemetry();
+        telemetry.recordQueueLength(0.0, 3);
+        telemetry.recordQueueLength(0.5, 5); // Same bucket: keeps the longest
+        telemetry.recordQueueLength(2.5, 1); // Line was still 5 when this bucket began
+        telemetry.recordQueueLength(7.0, 2); // Skipped buckets carry the last length
+
+        int[] history = new int[LiftTelemetry.BUCKETS];
+        int count = telemetry.getQueueLengthHistory(history);
+        assertArrayEquals(new int[] { 5, 5, 1, 2 }, Arrays.copyOf(history, count));
+        assertEquals(5, telemetry.getMaxQueueLength());
+    }
+
+    @Test
+    void testWaitHistogramPercentiles() {
+        WaitHistogram waits = new WaitHistogram();
+        assertEquals(0f, waits.getPercentile(0.5f));
+        for (int i = 0; i < 100; i++) {
+            waits.record(i); // 0..99 seconds
+        }
+        waits.record(10_000f); // Lands in the overflow bin
+
+        assertEquals(101, waits.getCount());
+        assertEquals(10_000f, waits.getMax());
+        assertEquals(52f, waits.getPercentile(0.5f), WaitHistogram.BIN_SECONDS);
+        assertEquals(10_000f, waits.getPercentile(1f));
+        assertEquals((4950f + 10_000f) / 101f, waits.getMean(), 1e-2f);
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.tycoon.ecs.systems.skier;
+
+import com.project.tycoon.core.RandomStreams;
+import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.Entity;
+import com.project.tycoon.ecs.components.LiftComponent;
+import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.SkillLevel;
+import com.project.tycoon.ecs.components.TransformComponent;
+import com.project.tycoon.world.SnapPointManager;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiftPlannerTest {
+
+    @Test
+    void testCandidatesFollowLiftAndTrailChanges() {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(128, 128);
+        LiftPlanner planner = new LiftPlanner(engine, new SnapPointManager(), map, new RandomStreams(1));
+
+        SkierComponent skier = new SkierComponent();
+        skier.skillLevel = SkillLevel.BEGINNER;
+        TransformComponent pos = new TransformComponent(64, 0, 64);
+        assertNull(planner.chooseNextLift(skier, pos));
+
+        // Only lift: chosen however far away
+        Entity far = createLift(engine, 20, 20);
+        assertEquals(far.getId(), planner.chooseNextLift(skier, pos));
+
+        // No trails anywhere: the closer lift wins
+        Entity near = createLift(engine, 64, 70);
+        assertEquals(near.getId(), planner.chooseNextLift(skier, pos));
+
+        // Greens painted by the far lift outweigh the distance for a beginner
+        for (int z = 10; z <= 30; z++) {
+            map.setTrail(20, z, true);
+            map.setTrailDifficulty(20, z, TrailDifficulty.GREEN);
+        }
+        assertEquals(far.getId(), planner.chooseNextLift(skier, pos));
+
+        engine.removeEntity(far);
+        assertEquals(near.getId(), planner.chooseNextLift(skier, pos));
+    }
+
+    @Test
+    void testScoresTrailsReachableFromLiftTop() {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(128, 128);
+        LiftPlanner planner = new LiftPlanner(engine, new SnapPointManager(), map, new RandomStreams(1));
+
+        // Each base sits among one difficulty, but its top leads onto another
+        Entity left = createLift(engine, 40, 40);
+        Entity right = createLift(engine, 88, 40);
+        paintRun(map, 40, 28, 38, TrailDifficulty.BLACK);
+        paintRun(map, 40, 72, 85, TrailDifficulty.GREEN);
+        paintRun(map, 88, 28, 38, TrailDifficulty.GREEN);
+        paintRun(map, 88, 72, 85, TrailDifficulty.BLACK);
+
+        TransformComponent pos = new TransformComponent(64, 0, 40);
+        SkierComponent beginner = new SkierComponent();
+        beginner.skillLevel = SkillLevel.BEGINNER;
+        SkierComponent expert = new SkierComponent();
+        expert.skillLevel = SkillLevel.EXPERT;
+
+        assertEquals(left.getId(), planner.chooseNextLift(beginner, pos));
+        assertEquals(right.getId(), planner.chooseNextLift(expert, pos));
+    }
+
+    private void paintRun(WorldMap map, int x, int fromZ, int toZ, TrailDifficulty difficulty) {
+        for (int z = fromZ; z <= toZ; z++) {
+            map.setTileHeight(x, z, 100 - z);
+            map.setTrail(x, z, true);
+            map.setTrailDifficulty(x, z, difficulty);
+        }
+    }
+
+    private Entity createLift(Engine engine, float x, float baseZ) {
+        Entity top = engine.createEntity();
+        engine.addComponent(top, new LiftComponent(LiftComponent.LiftType.TBAR));
+        engine.addComponent(top, new TransformComponent(x, 0, baseZ + 30));
+
+        Entity base = engine.createEntity();
+        LiftComponent baseLift = new LiftComponent(LiftComponent.LiftType.TBAR);
+        baseLift.nextPylonId = top.getId();
+        engine.addComponent(base, baseLift);
+        engine.addComponent(base, new TransformComponent(x, 0, baseZ));
+        return base;
+    }
+}
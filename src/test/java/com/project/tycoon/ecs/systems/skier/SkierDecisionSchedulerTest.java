@@ -0,0 +1,105 @@
+package com.project.tycoon.ecs.systems.skier;
+
+import com.project.tycoon.core.RandomStreams;
+import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.Entity;
+import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.TransformComponent;
+import com.project.tycoon.world.SnapPointManager;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkierDecisionSchedulerTest {
+
+    @Test
+    void testServesAtMostBudgetPerTick() {
+        Engine engine = new Engine();
+        SkierDecisionScheduler decisions = new SkierDecisionScheduler(engine, new SnapPointManager(),
+                new WorldMap(32, 32), new RandomStreams(1));
+        decisions.setDecisionsPerTick(10);
+
+        SkierComponent[] skiers = new SkierComponent[25];
+        for (int i = 0; i < skiers.length; i++) {
+            Entity entity = engine.createEntity();
+            skiers[i] = new SkierComponent();
+            engine.addComponent(entity, skiers[i]);
+            engine.addComponent(entity, new TransformComponent(5, 0, 5));
+            decisions.request(entity, skiers[i], SkierDecisionScheduler.CHOOSE_DIFFICULTY);
+            decisions.request(entity, skiers[i], SkierDecisionScheduler.CHOOSE_LIFT); // Merged, not re-queued
+        }
+        assertEquals(25, decisions.getPendingCount());
+
+        decisions.update(0.016);
+        assertEquals(15, decisions.getPendingCount());
+        assertEquals(10, countDecided(skiers));
+
+        decisions.update(0.016);
+        decisions.update(0.016);
+        assertEquals(0, decisions.getPendingCount());
+        assertEquals(25, countDecided(skiers));
+        for (SkierComponent skier : skiers) {
+            assertEquals(0, skier.pendingDecisions);
+        }
+    }
+
+    @Test
+    void testSeekTrailPicksTileOrFallsBackDownhill() {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(32, 32);
+        SkierDecisionScheduler decisions = new SkierDecisionScheduler(engine, new SnapPointManager(), map,
+                new RandomStreams(1));
+
+        Entity entity = engine.createEntity();
+        SkierComponent skier = new SkierComponent();
+        engine.addComponent(entity, skier);
+        engine.addComponent(entity, new TransformComponent(10.5f, 0, 10.5f));
+
+        decisions.request(entity, skier, SkierDecisionScheduler.SEEK_TRAIL);
+        decisions.update(0.016);
+        assertEquals(SkierComponent.SEEK_DOWNHILL, skier.seekTile); // No trails yet
+
+        map.getTile(13, 10).setTrail(true);
+        map.getTile(13, 10).setTrailDifficulty(TrailDifficulty.GREEN);
+        decisions.request(entity, skier, SkierDecisionScheduler.SEEK_TRAIL);
+        decisions.update(0.016);
+        assertEquals(10 * map.getWidth() + 13, skier.seekTile);
+        assertTrue(decisions.isValidSeekTarget(skier.seekTile));
+    }
+
+    @Test
+    void testSkipsDespawnedSkiers() {
+        Engine engine = new Engine();
+        SkierDecisionScheduler decisions = new SkierDecisionScheduler(engine, new SnapPointManager(),
+                new WorldMap(32, 32), new RandomStreams(1));
+        decisions.setDecisionsPerTick(1);
+
+        Entity gone = engine.createEntity();
+        SkierComponent goneSkier = new SkierComponent();
+        engine.addComponent(gone, goneSkier);
+        decisions.request(gone, goneSkier, SkierDecisionScheduler.CHOOSE_DIFFICULTY);
+
+        Entity stays = engine.createEntity();
+        SkierComponent skier = new SkierComponent();
+        engine.addComponent(stays, skier);
+        engine.addComponent(stays, new TransformComponent(5, 0, 5));
+        decisions.request(stays, skier, SkierDecisionScheduler.CHOOSE_DIFFICULTY);
+
+        engine.removeEntity(gone);
+        decisions.update(0.016); // The removed skier does not use up the budget
+        assertNotNull(skier.targetTrailDifficulty);
+        assertEquals(0, decisions.getPendingCount());
+    }
+
+    private static int countDecided(SkierComponent[] skiers) {
+        int decided = 0;
+        for (SkierComponent skier : skiers) {
+            if (skier.targetTrailDifficulty != null) {
+                decided++;
+            }
+        }
+        return decided;
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.tycoon.ecs.systems.skier;
+
+import com.project.tycoon.core.RandomStreams;
+import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.Entity;
+import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.TrailHopComponent;
+import com.project.tycoon.ecs.components.TransformComponent;
+import com.project.tycoon.ecs.components.VelocityComponent;
+import com.project.tycoon.world.SnapPointManager;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkierLodTest {
+
+    @Test
+    void testTiersFollowView() {
+        SkierLod lod = new SkierLod();
+        assertEquals(SkierComponent.Lod.FULL, lod.tierFor(5000, 5000)); // No view: everything FULL
+
+        lod.setView(100, 100, 200, 200);
+        assertEquals(SkierComponent.Lod.FULL, lod.tierFor(150, 150));
+        assertEquals(SkierComponent.Lod.FULL, lod.tierFor(210, 150)); // Just off screen
+        assertEquals(SkierComponent.Lod.MID, lod.tierFor(250, 150));
+        assertEquals(SkierComponent.Lod.FAR, lod.tierFor(400, 150));
+
+        long version = lod.getVersion();
+        lod.setView(0, 0, 400, 400); // Zoomed far out
+        assertTrue(lod.getVersion() > version);
+        assertEquals(SkierComponent.Lod.MID, lod.tierFor(150, 150));
+    }
+
+    @Test
+    void testFarSkiersHopAlongTrailAndWakeWhenSeen() {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(32, 128);
+        for (int z = 0; z < map.getDepth(); z++) {
+            for (int x = 10; x <= 12; x++) {
+                map.getTile(x, z).setTrail(true);
+            }
+        }
+        SkierLod lod = new SkierLod();
+        lod.setView(1000, 1000, 1010, 1010); // Nowhere near the trail
+        engine.addSystem(new SkierBehaviorSystem(engine, map,
+                new SkierDecisionScheduler(engine, new SnapPointManager(), map, new RandomStreams(1)), lod));
+
+        Entity entity = engine.createEntity();
+        SkierComponent skier = new SkierComponent();
+        skier.state = SkierComponent.State.SKIING;
+        TransformComponent pos = new TransformComponent(11.5f, 0, 10.5f);
+        engine.addComponent(entity, skier);
+        engine.addComponent(entity, pos);
+        engine.addComponent(entity, new VelocityComponent());
+
+        engine.update(1.0 / 60.0);
+        assertEquals(SkierComponent.Lod.FAR, skier.lod);
+        assertTrue(engine.isSleeping(entity));
+        TrailHopComponent hop = engine.getComponent(entity, TrailHopComponent.class);
+        assertNotNull(hop);
+        assertTrue(hop.toZ - hop.fromZ > 1f); // Down the trail
+        double duration = hop.endTime - hop.startTime;
+        assertTrue(duration <= 5.0 + 1e-6);
+        // Timed along the flow-field path, which is at least as long as the straight line
+        float straight = (float) Math.hypot(hop.toX - hop.fromX, hop.toZ - hop.fromZ);
+        assertTrue(straight / CarvingPhysics.cruiseSpeed(skier) <= duration + 1e-4);
+
+        // Land, then immediately hop on from the landing spot
+        while (engine.getTime() < hop.endTime + 0.5) {
+            engine.update(0.1);
+        }
+        TrailHopComponent next = engine.getComponent(entity, TrailHopComponent.class);
+        assertNotNull(next);
+        assertEquals(hop.toZ, next.fromZ, 1e-5f);
+
+        // Looking at the skier wakes it where it is along the hop
+        lod.setView(0, 0, 32, 128);
+        engine.update(0.1);
+        assertFalse(engine.isSleeping(entity));
+        assertNull(engine.getComponent(entity, TrailHopComponent.class));
+        assertEquals(SkierComponent.Lod.FULL, skier.lod);
+        assertTrue(pos.z > next.fromZ && pos.z < next.toZ);
+    }
+
+    @Test
+    void testRemovedHopperIsDroppedWhenViewChanges() {
+        Engine engine = new Engine();
+        WorldMap map = new WorldMap(32, 128);
+        for (int z = 0; z < map.getDepth(); z++) {
+            map.getTile(11, z).setTrail(true);
+        }
+        SkierLod lod = new SkierLod();
+        lod.setView(1000, 1000, 1010, 1010);
+        engine.addSystem(new SkierBehaviorSystem(engine, map,
+                new SkierDecisionScheduler(engine, new SnapPointManager(), map, new RandomStreams(1)), lod));
+
+        Entity entity = engine.createEntity();
+        SkierComponent skier = new SkierComponent();
+        skier.state = SkierComponent.State.SKIING;
+        engine.addComponent(entity, skier);
+        engine.addComponent(entity, new TransformComponent(11.5f, 0, 10.5f));
+        engine.addComponent(entity, new VelocityComponent());
+
+        engine.update(1.0 / 60.0);
+        assertTrue(engine.isSleeping(entity));
+
+        // Removed mid-hop (e.g. switching to flow mode), then the camera moves
+        engine.removeEntity(entity);
+        lod.setView(0, 0, 32, 128);
+        assertDoesNotThrow(() -> engine.update(0.1));
+        assertDoesNotThrow(() -> engine.update(0.1));
+    }
+}
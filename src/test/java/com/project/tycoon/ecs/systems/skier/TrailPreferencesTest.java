@@ -0,0 +1,96 @@
+package com.project.tycoon.ecs.systems.skier;
+
+import com.project.tycoon.ecs.components.SkillLevel;
+import com.project.tycoon.world.model.TrailDifficulty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrailPreferencesTest {
+
+    @AfterEach
+    void restoreDefaults() {
+        TrailPreferences.resetToDefaults();
+    }
+
+    @Test
+    void testDefaultTables() {
+        assertEquals(0.70f, TrailPreferences.getPreference(SkillLevel.BEGINNER, TrailDifficulty.GREEN));
+        assertEquals(0.60f, TrailPreferences.getPreference(SkillLevel.EXPERT, TrailDifficulty.DOUBLE_BLACK));
+        assertEquals(15.0f, TrailPreferences.getSatisfactionChange(SkillLevel.INTERMEDIATE, TrailDifficulty.BLUE));
+        assertEquals(8.0f, TrailPreferences.getSatisfactionChange(SkillLevel.ADVANCED, TrailDifficulty.BLUE));
+        assertEquals(-15.0f, TrailPreferences.getSatisfactionChange(SkillLevel.EXPERT, TrailDifficulty.BLUE)); // 0.08 < 0.1
+        assertEquals(-15.0f, TrailPreferences.getSatisfactionChange(SkillLevel.BEGINNER, TrailDifficulty.BLACK));
+        assertFalse(TrailPreferences.willAccept(SkillLevel.BEGINNER, TrailDifficulty.BLACK));
+
+        assertEquals(0.70f, TrailPreferences.getCumulativeProbability(SkillLevel.BEGINNER, TrailDifficulty.GREEN), 1e-6f);
+        assertEquals(1.0f, TrailPreferences.getCumulativeProbability(SkillLevel.BEGINNER, TrailDifficulty.BLUE), 1e-6f);
+        assertEquals(1.0f, TrailPreferences.getCumulativeProbability(SkillLevel.ADVANCED, TrailDifficulty.DOUBLE_BLACK));
+    }
+
+    @Test
+    void testAliasSamplerMatchesDistribution() {
+        int samples = 100_000;
+        for (SkillLevel skill : SkillLevel.values()) {
+            int[] counts = new int[TrailDifficulty.values().length];
+            for (int i = 0; i < samples; i++) {
+                float u = (i + 0.5f) / samples; // Even sweep of [0, 1)
+                counts[TrailPreferences.sampleDifficulty(skill, u).ordinal()]++;
+            }
+
+            float previous = 0f;
+            for (TrailDifficulty difficulty : TrailDifficulty.values()) {
+                float cumulative = TrailPreferences.getCumulativeProbability(skill, difficulty);
+                assertEquals(cumulative - previous, counts[difficulty.ordinal()] / (float) samples, 1e-3f,
+                        skill + " " + difficulty);
+                previous = cumulative;
+            }
+        }
+        // Zero weights are never sampled, even at the edges
+        assertEquals(TrailDifficulty.GREEN, TrailPreferences.sampleDifficulty(SkillLevel.BEGINNER, 0f));
+        assertEquals(TrailDifficulty.BLUE, TrailPreferences.sampleDifficulty(SkillLevel.BEGINNER, 0.99999994f));
+    }
+
+    @Test
+    void testLoadOverridesWeightsAndBumpsVersion(@TempDir Path dir) throws IOException {
+        long version = TrailPreferences.getVersion();
+        Path file = dir.resolve("trail-preferences.properties");
+        Files.write(file, "beginner.green = 0.25\nbeginner.double_black=0.25\n".getBytes());
+
+        TrailPreferences.load(file);
+        assertTrue(TrailPreferences.getVersion() > version);
+        assertEquals(0.25f, TrailPreferences.getPreference(SkillLevel.BEGINNER, TrailDifficulty.GREEN));
+        assertEquals(0.30f, TrailPreferences.getPreference(SkillLevel.BEGINNER, TrailDifficulty.BLUE)); // Default kept
+        assertEquals(8.0f, TrailPreferences.getSatisfactionChange(SkillLevel.BEGINNER, TrailDifficulty.DOUBLE_BLACK));
+        assertEquals(0.25f / 0.80f, TrailPreferences.getCumulativeProbability(SkillLevel.BEGINNER, TrailDifficulty.GREEN), 1e-6f);
+    }
+
+    @Test
+    void testInvalidConfigKeepsCurrentTables() {
+        long version = TrailPreferences.getVersion();
+
+        Properties typo = new Properties();
+        typo.setProperty("begginer.green", "1");
+        assertThrows(IllegalArgumentException.class, () -> TrailPreferences.load(typo));
+
+        Properties negative = new Properties();
+        negative.setProperty("expert.black", "-1");
+        assertThrows(IllegalArgumentException.class, () -> TrailPreferences.load(negative));
+
+        Properties allZero = new Properties();
+        for (TrailDifficulty difficulty : TrailDifficulty.values()) {
+            allZero.setProperty("expert." + difficulty.name().toLowerCase(), "0");
+        }
+        assertThrows(IllegalArgumentException.class, () -> TrailPreferences.load(allZero));
+
+        assertEquals(version, TrailPreferences.getVersion());
+        assertEquals(0.30f, TrailPreferences.getPreference(SkillLevel.EXPERT, TrailDifficulty.BLACK));
+    }
+}
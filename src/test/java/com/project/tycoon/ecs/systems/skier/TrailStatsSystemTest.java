@@ -0,0 +1,56 @@
+package com.project.tycoon.ecs.systems.skier;
+
+import com.badlogic.gdx.math.Vector2;
+import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.Entity;
+import com.project.tycoon.ecs.components.SkierComponent;
+import com.project.tycoon.ecs.components.TransformComponent;
+import com.project.tycoon.ecs.components.VelocityComponent;
+import com.project.tycoon.world.TrailRegistry;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrailStatsSystemTest {
+
+    @Test
+    void testRunCountedOncePerDescent() {
+        Engine engine = new Engine();
+        TrailRegistry registry = new TrailRegistry(new WorldMap(32, 32));
+        TrailRegistry.Trail trail = registry.registerTrail(
+                Arrays.asList(new Vector2(3, 4), new Vector2(3, 5)), TrailDifficulty.BLUE, null, null);
+        engine.addSystem(new TrailStatsSystem(engine, registry));
+
+        Entity entity = engine.createEntity();
+        SkierComponent skier = new SkierComponent();
+        skier.state = SkierComponent.State.SKIING;
+        TransformComponent pos = new TransformComponent(3.5f, 0, 4.5f);
+        engine.addComponent(entity, skier);
+        engine.addComponent(entity, pos);
+        engine.addComponent(entity, new VelocityComponent());
+
+        engine.update(0.1);
+        assertEquals(1, trail.getCurrentSkiers());
+        assertEquals(1, registry.getRunsPerHour(trail.getId()));
+
+        // Drifting off the edge and back on is the same run
+        pos.x = 10.5f;
+        engine.update(0.1);
+        assertEquals(0, trail.getCurrentSkiers());
+        pos.x = 3.5f;
+        engine.update(0.1);
+        assertEquals(1, trail.getCurrentSkiers());
+        assertEquals(1, registry.getRunsPerHour(trail.getId()));
+
+        // Back up the lift and down again is a new run
+        skier.state = SkierComponent.State.RIDING_LIFT;
+        engine.update(0.1);
+        skier.state = SkierComponent.State.SKIING;
+        engine.update(0.1);
+        assertEquals(2, registry.getRunsPerHour(trail.getId()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.project.tycoon.simulation;
+
+import com.project.tycoon.core.RandomStreams;
+import com.project.tycoon.ecs.Engine;
+import com.project.tycoon.ecs.Entity;
+import com.project.tycoon.ecs.components.LiftComponent;
+import com.project.tycoon.ecs.components.TransformComponent;
+import com.project.tycoon.ecs.systems.lift.LiftStatus;
+import com.project.tycoon.ecs.systems.lift.LiftSystem;
+import com.project.tycoon.ecs.systems.skier.SkierDecisionScheduler;
+import com.project.tycoon.ecs.systems.skier.SkierSpawnerSystem;
+import com.project.tycoon.economy.EconomyManager;
+import com.project.tycoon.world.SnapPointManager;
+import com.project.tycoon.world.TrailNetwork;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowSimulationTest {
+
+    private final RandomStreams random = new RandomStreams(1);
+    private final Engine engine = new Engine();
+    private final WorldMap map = new WorldMap(64, 64);
+    private final SnapPointManager snapPoints = new SnapPointManager();
+    private final EconomyManager economy = new EconomyManager();
+    private final VisitorManager visitors = new VisitorManager(random);
+    private final LiftSystem liftSystem = new LiftSystem(engine, economy,
+            new SkierDecisionScheduler(engine, snapPoints, map, random), map);
+    private final SkierSpawnerSystem spawner = new SkierSpawnerSystem(engine, map, random);
+    private final FlowSimulation flow = new FlowSimulation(engine, map, new TrailNetwork(map, snapPoints),
+            liftSystem, spawner, economy, visitors, random);
+
+    @Test
+    void testSkiersLapBaseLiftAndBuyTickets() {
+        // No trails: riders ski the fall line back to the same lift
+        UUID liftId = createLift(map.getBaseX(), map.getBaseZ() - 4, 20);
+        run(300);
+
+        // Spawns follow the agent spawner: one every 2s up to the daily cap
+        assertEquals(visitors.getDailyVisitorCap(), visitors.getVisitorsSpawnedToday());
+        assertEquals(visitors.getDailyVisitorCap(), flow.getPopulation());
+
+        LiftStatus status = liftSystem.getLiftStatus(liftId);
+        long boardings = status.getTelemetry().getTotalBoardings();
+        assertTrue(boardings > visitors.getVisitorsSpawnedToday()); // Repeat rides
+        assertEquals(boardings * EconomyManager.TICKET_PRICE, economy.getPendingDailyRevenue(), 1e-3f);
+        assertEquals(boardings, status.getTelemetry().getWaitTimes().getCount());
+
+        // Maintenance is charged per second as in agent mode
+        assertEquals(300 * new LiftComponent(LiftComponent.LiftType.TBAR).maintenanceCostPerSec,
+                economy.getTotalExpenses(), 1e-2f);
+    }
+
+    @Test
+    void testSkiersLeaveWhenRunEndsAtBase() {
+        // Trail from near the lift top straight down to the base area, far from the lift
+        for (int z = 5; z <= 58; z++) {
+            map.setTileHeight(20, z, 100 - z);
+            map.setTrail(20, z, true);
+            map.setTrailDifficulty(20, z, TrailDifficulty.GREEN);
+        }
+        UUID liftId = createLift(10, 20, 3);
+        run(400);
+
+        // Everyone rode once, skied the trail to the base and went home
+        int spawned = visitors.getVisitorsSpawnedToday();
+        assertEquals(visitors.getDailyVisitorCap(), spawned);
+        assertEquals(0, flow.getPopulation());
+        assertEquals(spawned, liftSystem.getLiftStatus(liftId).getTelemetry().getTotalBoardings());
+
+        // Spawns share the agent spawner's counter, so agent mode carries on after them
+        assertEquals(random.hash(RandomStreams.SPAWNER, spawned), spawner.nextSkierSeed());
+        assertEquals(spawned * EconomyManager.TICKET_PRICE, economy.getPendingDailyRevenue(), 1e-3f);
+        assertEquals(0, liftSystem.getLiftStatus(liftId).getQueueLength());
+    }
+
+    @Test
+    void testRemovedLiftSendsLineBackToBase() {
+        UUID liftId = createLift(map.getBaseX(), map.getBaseZ() - 4, 20);
+        run(30);
+        int population = flow.getPopulation();
+        assertTrue(population > 0);
+
+        for (Entity entity : engine.getEntities().toArray(new Entity[0])) {
+            engine.removeEntity(entity);
+        }
+        run(30);
+
+        // Nobody is lost; with no lift they wait at the base
+        assertNull(liftSystem.getLiftStatus(liftId));
+        assertTrue(flow.getPopulation() >= population);
+    }
+
+    @Test
+    void testRunToRemovedLiftEndsAtBase() {
+        // Base lift, then a trail from its top down to a second lift mid-mountain
+        for (int z = 22; z <= 40; z++) {
+            map.setTileHeight(map.getBaseX(), z, 100 - z);
+            map.setTrail(map.getBaseX(), z, true);
+            map.setTrailDifficulty(map.getBaseX(), z, TrailDifficulty.GREEN);
+        }
+        createLift(map.getBaseX(), map.getBaseZ() - 4, 20);
+        UUID midLiftId = createLift(map.getBaseX(), 42, 30);
+        run(400);
+        int population = flow.getPopulation();
+        assertEquals(visitors.getDailyVisitorCap(), population);
+
+        Entity midBase = engine.getEntity(midLiftId);
+        engine.removeEntity(engine.getEntity(engine.getComponent(midBase, LiftComponent.class).nextPylonId));
+        engine.removeEntity(midBase);
+        run(60);
+
+        // Skiers already on the run come back to the base lift instead of leaving
+        assertEquals(population, flow.getPopulation());
+    }
+
+    private void run(int seconds) {
+        for (int i = 0; i < seconds; i++) {
+            flow.update(1.0);
+            engine.advanceTime(1.0);
+        }
+    }
+
+    private UUID createLift(float x, float baseZ, float topZ) {
+        Entity top = engine.createEntity();
+        engine.addComponent(top, new LiftComponent(LiftComponent.LiftType.TBAR));
+        engine.addComponent(top, new TransformComponent(x, 0, topZ));
+
+        Entity base = engine.createEntity();
+        LiftComponent baseLift = new LiftComponent(LiftComponent.LiftType.TBAR);
+        baseLift.nextPylonId = top.getId();
+        engine.addComponent(base, baseLift);
+        engine.addComponent(base, new TransformComponent(x, 0, baseZ));
+        return base.getId();
+    }
+}
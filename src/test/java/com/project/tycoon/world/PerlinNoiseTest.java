@@ -0,0 +1,28 @@
+package com.project.tycoon.world;
+
+import com.project.tycoon.world.model.PerlinNoise;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerlinNoiseTest {
+
+    @Test
+    void testRowMatchesPointSamples() {
+        PerlinNoise perlin = new PerlinNoise(42L);
+        double[] row = new double[70];
+
+        double[][] layers = { { 0.01, 1, 0.5 }, { 0.03, 3, 0.5 }, { 0.1, 2, 0.6 } };
+        for (double[] layer : layers) {
+            double scale = layer[0];
+            int octaves = (int) layer[1];
+            double persistence = layer[2];
+
+            int z = 37;
+            perlin.fillOctaveRow(row, 250, row.length, scale, z * scale, octaves, persistence);
+            for (int i = 0; i < row.length; i++) {
+                double expected = perlin.octaveNoise((250 + i) * scale, z * scale, octaves, persistence);
+                assertEquals(expected, row[i], 0.0); // Bit-identical
+            }
+        }
+    }
+}
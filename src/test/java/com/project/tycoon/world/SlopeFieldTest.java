@@ -0,0 +1,33 @@
+package com.project.tycoon.world;
+
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlopeFieldTest {
+
+    @Test
+    void testGradientFollowsEdits() {
+        WorldMap map = new WorldMap(100, 100);
+        SlopeField slopes = new SlopeField(map);
+        assertEquals(0f, slopes.getSlopeAngle(70, 70));
+
+        // Ramp rising along +X across a chunk border
+        for (int x = 60; x < 70; x++) {
+            map.setTileHeight(x, 70, x - 60);
+        }
+        slopes.refresh();
+
+        assertEquals(1f, slopes.getGradientX(64, 70), 1e-6);
+        assertEquals(0f, slopes.getGradientZ(64, 70), 1e-6);
+        assertEquals(45f, slopes.getSlopeAngle(64, 70), 1e-4);
+
+        // Neighbour of the last edited tile picks up the change too
+        assertEquals(-4.5f, slopes.getGradientX(70, 70), 1e-6);
+
+        // Bilinear sample halfway between two tile centers
+        float[] g = new float[2];
+        slopes.sampleGradient(65.0f, 70.5f, g);
+        assertEquals(1f, g[0], 1e-6);
+    }
+}
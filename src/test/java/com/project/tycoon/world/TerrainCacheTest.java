@@ -0,0 +1,87 @@
+package com.project.tycoon.world;
+
+import com.project.tycoon.world.model.BaseCampLocation;
+import com.project.tycoon.world.model.TerrainCache;
+import com.project.tycoon.world.model.Decoration;
+import com.project.tycoon.world.model.TerrainGenerator;
+import com.project.tycoon.world.model.TerrainStream;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TerrainCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void testRoundTrip() {
+        long seed = 4242L;
+        WorldMap generated = new WorldMap(130, 90);
+        BaseCampLocation expected = TerrainGenerator.generateMountain(generated, seed);
+
+        TerrainCache cache = new TerrainCache(cacheDir);
+        assertNull(cache.load(new WorldMap(130, 90), seed)); // Miss before saving
+        assertTrue(cache.save(generated, seed));
+
+        WorldMap loaded = new WorldMap(130, 90);
+        long before = loaded.getVersion();
+        BaseCampLocation baseCamp = cache.load(loaded, seed);
+
+        assertNotNull(baseCamp);
+        assertEquals(expected.x, baseCamp.x);
+        assertEquals(expected.z, baseCamp.z);
+        assertNotNull(loaded.getChangesSince(before, WorldMap.CHANGE_HEIGHT));
+        for (int z = 0; z < 90; z++) {
+            for (int x = 0; x < 130; x++) {
+                assertEquals(generated.getHeight(x, z), loaded.getHeight(x, z));
+                assertEquals(generated.getTerrainType(x, z), loaded.getTerrainType(x, z));
+                assertEquals(generated.getDecoration(x, z), loaded.getDecoration(x, z));
+            }
+        }
+    }
+
+    @Test
+    void testStreamedSnapshotIgnoresGameplayEdits() {
+        long seed = 99L;
+        WorldMap blocking = new WorldMap(130, 90);
+        TerrainGenerator.generateMountain(blocking, seed);
+
+        WorldMap streamed = new WorldMap(130, 90);
+        TerrainCache.Snapshot snapshot = new TerrainCache.Snapshot(130, 90);
+        TerrainStream stream = TerrainGenerator.startMountain(streamed, seed, snapshot);
+        stream.awaitCompletion();
+
+        // Edits made during play never reach the cache
+        streamed.setTileHeight(10, 10, 500);
+        streamed.setDecoration(20, 20, Decoration.ROCK);
+
+        TerrainCache cache = new TerrainCache(cacheDir);
+        assertTrue(cache.save(snapshot, seed));
+        WorldMap loaded = new WorldMap(130, 90);
+        assertNotNull(cache.load(loaded, seed));
+        for (int z = 0; z < 90; z++) {
+            for (int x = 0; x < 130; x++) {
+                assertEquals(blocking.getHeight(x, z), loaded.getHeight(x, z));
+                assertEquals(blocking.getDecoration(x, z), loaded.getDecoration(x, z));
+            }
+        }
+    }
+
+    @Test
+    void testKeyedBySeedAndSize() {
+        WorldMap generated = new WorldMap(64, 64);
+        TerrainGenerator.generateMountain(generated, 1L);
+
+        TerrainCache cache = new TerrainCache(cacheDir);
+        assertTrue(cache.save(generated, 1L));
+
+        assertNull(cache.load(new WorldMap(64, 64), 2L));
+        assertNull(cache.load(new WorldMap(64, 65), 1L));
+        assertNotNull(cache.load(new WorldMap(64, 64), 1L));
+    }
+}
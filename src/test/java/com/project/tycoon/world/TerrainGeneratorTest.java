@@ -0,0 +1,76 @@
+package com.project.tycoon.world;
+
+import com.project.tycoon.world.model.BaseCampLocation;
+import com.project.tycoon.world.model.Decoration;
+import com.project.tycoon.world.model.TerrainGenerator;
+import com.project.tycoon.world.model.TerrainStream;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TerrainGeneratorTest {
+
+    @Test
+    void testGenerationIsIndependentOfThreadCount() {
+        long seed = 12345L;
+        WorldMap single = new WorldMap(200, 150);
+        WorldMap parallel = new WorldMap(200, 150);
+
+        ForkJoinPool onePool = new ForkJoinPool(1);
+        ForkJoinPool fourPool = new ForkJoinPool(4);
+        try {
+            TerrainGenerator.generateMountain(single, seed, onePool);
+            TerrainGenerator.generateMountain(parallel, seed, fourPool);
+        } finally {
+            onePool.shutdown();
+            fourPool.shutdown();
+        }
+
+        boolean anyDecoration = false;
+        for (int z = 0; z < 150; z++) {
+            for (int x = 0; x < 200; x++) {
+                assertEquals(single.getHeight(x, z), parallel.getHeight(x, z));
+                assertEquals(single.getTerrainType(x, z), parallel.getTerrainType(x, z));
+                assertEquals(single.getDecoration(x, z), parallel.getDecoration(x, z));
+                anyDecoration |= single.getDecoration(x, z) != Decoration.NONE;
+            }
+        }
+        assertTrue(anyDecoration);
+    }
+
+    @Test
+    void testStreamedGenerationMatchesBlocking() {
+        long seed = 777L;
+        WorldMap blocking = new WorldMap(300, 260);
+        WorldMap streamed = new WorldMap(300, 260);
+
+        BaseCampLocation expected = TerrainGenerator.generateMountain(blocking, seed);
+        long startVersion = streamed.getVersion();
+        TerrainStream stream = TerrainGenerator.startMountain(streamed, seed);
+        stream.setFocus(0, 0);
+
+        BaseCampLocation baseCamp = stream.awaitBaseCamp();
+        assertTrue(stream.isReady(streamed.getBaseX(), streamed.getBaseZ()));
+        assertTrue(streamed.isGenerated(streamed.getBaseX(), streamed.getBaseZ()));
+        assertEquals(expected.x, baseCamp.x);
+        assertEquals(expected.z, baseCamp.z);
+
+        stream.awaitCompletion();
+        assertTrue(stream.isComplete());
+        assertEquals(1f, stream.getProgress());
+        assertNotNull(streamed.getChangesSince(startVersion, WorldMap.CHANGE_HEIGHT));
+        assertNull(streamed.getChangesSince(startVersion, WorldMap.CHANGE_TRAIL));
+        assertTrue(streamed.isGenerated(0, 0) && streamed.isGenerated(299, 259));
+
+        for (int z = 0; z < 260; z++) {
+            for (int x = 0; x < 300; x++) {
+                assertEquals(blocking.getHeight(x, z), streamed.getHeight(x, z));
+                assertEquals(blocking.getTerrainType(x, z), streamed.getTerrainType(x, z));
+                assertEquals(blocking.getDecoration(x, z), streamed.getDecoration(x, z));
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.tycoon.world;
+
+import com.project.tycoon.world.model.Tile;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrailDensityMapTest {
+
+    private static void paint(WorldMap map, int x, int z, TrailDifficulty difficulty) {
+        Tile t = map.getTile(x, z);
+        t.setTrail(true);
+        t.setTrailDifficulty(difficulty);
+        map.setTile(x, z, t);
+    }
+
+    @Test
+    void testCountsMatchBruteForce() {
+        WorldMap map = new WorldMap(20, 20);
+        paint(map, 2, 3, TrailDifficulty.GREEN);
+        paint(map, 5, 5, TrailDifficulty.BLUE);
+        paint(map, 6, 5, TrailDifficulty.BLUE);
+        paint(map, 19, 19, TrailDifficulty.BLACK);
+
+        TrailDensityMap density = new TrailDensityMap(map);
+
+        assertEquals(1, density.count(TrailDifficulty.GREEN, 0, 0, 19, 19));
+        assertEquals(2, density.count(TrailDifficulty.BLUE, 5, 5, 6, 5));
+        assertEquals(1, density.count(TrailDifficulty.BLUE, 6, 0, 19, 19));
+        assertEquals(0, density.count(TrailDifficulty.GREEN, 3, 3, 19, 19));
+        assertEquals(4, density.countAny(0, 0, 19, 19));
+
+        int[] counts = new int[TrailDifficulty.values().length];
+        density.countAll(-10, -10, 100, 100, counts); // Clamped to map bounds
+        assertArrayEquals(new int[] { 1, 2, 1, 0 }, counts);
+    }
+
+    @Test
+    void testDominantDifficulty() {
+        WorldMap map = new WorldMap(40, 40);
+        TrailDensityMap density = new TrailDensityMap(map);
+
+        assertNull(density.dominantDifficulty(20, 20, 15));
+
+        paint(map, 20, 20, TrailDifficulty.BLACK);
+        paint(map, 21, 20, TrailDifficulty.GREEN);
+        paint(map, 22, 20, TrailDifficulty.GREEN);
+
+        // Tables rebuild after edits
+        assertEquals(TrailDifficulty.GREEN, density.dominantDifficulty(20, 20, 15));
+        assertEquals(TrailDifficulty.BLACK, density.dominantDifficulty(20, 20, 0));
+    }
+
+    @Test
+    void testQueriesSpanChunks() {
+        WorldMap map = new WorldMap(200, 150); // Partial chunks on both edges
+        paint(map, 63, 63, TrailDifficulty.BLUE);
+        paint(map, 64, 64, TrailDifficulty.BLUE);
+        paint(map, 199, 149, TrailDifficulty.GREEN);
+
+        TrailDensityMap density = new TrailDensityMap(map);
+
+        assertEquals(2, density.count(TrailDifficulty.BLUE, 60, 60, 70, 70));
+        assertEquals(1, density.count(TrailDifficulty.BLUE, 64, 0, 199, 149));
+        assertEquals(3, density.countAny(0, 0, 199, 149));
+
+        // Removing the only trail in a chunk drops it from the counts
+        map.setTrail(199, 149, false);
+        assertEquals(2, density.countAny(0, 0, 199, 149));
+    }
+}
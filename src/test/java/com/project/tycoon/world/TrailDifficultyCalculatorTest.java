@@ -0,0 +1,40 @@
+package com.project.tycoon.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrailDifficultyCalculatorTest {
+
+    @Test
+    void testRatesSlopeAlongTheTrail() {
+        // Face dropping one height unit every two tiles along +X (about 27 degrees)
+        WorldMap map = new WorldMap(64, 64);
+        for (int z = 0; z < 64; z++) {
+            for (int x = 0; x < 64; x++) {
+                map.setTileHeight(x, z, 100 - x / 2);
+            }
+        }
+        SlopeField slopes = new SlopeField(map);
+
+        List<Vector2> fallLine = new ArrayList<>();
+        List<Vector2> traverse = new ArrayList<>();
+        List<Vector2> diagonal = new ArrayList<>();
+        for (int i = 10; i < 50; i++) {
+            fallLine.add(new Vector2(i, 30));
+            traverse.add(new Vector2(30, i));
+            diagonal.add(new Vector2(i, i));
+        }
+
+        // Same face, rated by the pitch along each path
+        assertEquals(TrailDifficulty.BLACK, TrailDifficultyCalculator.calculate(map, slopes, fallLine));
+        assertEquals(TrailDifficulty.BLUE, TrailDifficultyCalculator.calculate(map, slopes, diagonal));
+        assertEquals(TrailDifficulty.GREEN, TrailDifficultyCalculator.calculate(map, slopes, traverse));
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.tycoon.world;
+
+import com.project.tycoon.world.model.SnapPoint;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrailNetworkTest {
+
+    @Test
+    void testExtractsRegionsJunctionsAndDownhillEdges() {
+        WorldMap map = new WorldMap(64, 64);
+        SnapPointManager snapPoints = new SnapPointManager();
+
+        // Straight run down the mountain: green top half, blue bottom half
+        for (int z = 10; z <= 50; z++) {
+            map.setTileHeight(10, z, 100 - z);
+            map.setTrail(10, z, true);
+            map.setTrailDifficulty(10, z, z <= 30 ? TrailDifficulty.GREEN : TrailDifficulty.BLUE);
+        }
+
+        SnapPoint top = new SnapPoint(10, 10, SnapPoint.SnapPointType.LIFT_TOP, null);
+        SnapPoint bottom = new SnapPoint(11, 51, SnapPoint.SnapPointType.LIFT_BOTTOM, null);
+        snapPoints.registerSnapPoint(top);
+        snapPoints.registerSnapPoint(bottom);
+
+        TrailNetwork network = new TrailNetwork(map, snapPoints);
+
+        assertEquals(2, network.getRegionCount());
+        assertEquals(TrailDifficulty.GREEN, network.getRegionDifficulty(network.getRegionAt(10, 15)));
+        assertEquals(-1, network.getRegionAt(11, 15));
+
+        TrailNetwork.Node topNode = network.getNodeForSnapPoint(top.getId());
+        TrailNetwork.Node bottomNode = network.getNodeForSnapPoint(bottom.getId());
+        assertNotNull(topNode);
+        assertNotNull(bottomNode);
+        assertEquals(50, bottomNode.z); // Attached to the nearest trail tile
+
+        // Two snap points plus one junction between the regions
+        assertEquals(3, network.getNodes().size());
+        assertEquals(1, network.getNodes().stream()
+                .filter(n -> n.type == TrailNetwork.NodeType.JUNCTION).count());
+
+        assertTrue(network.canReach(topNode.id, bottomNode.id));
+        assertFalse(network.canReach(bottomNode.id, topNode.id));
+
+        int totalDrop = 0;
+        for (TrailNetwork.Edge edge : network.getEdges()) {
+            assertTrue(edge.drop >= 0);
+            totalDrop += edge.drop;
+        }
+        assertEquals(40, totalDrop); // Top (90) -> junction -> bottom (50)
+
+        // Graph follows trail edits
+        map.setTrail(10, 30, false);
+        map.setTrail(10, 31, false);
+        assertFalse(network.canReach(network.getNodeForSnapPoint(top.getId()).id,
+                network.getNodeForSnapPoint(bottom.getId()).id));
+    }
+}
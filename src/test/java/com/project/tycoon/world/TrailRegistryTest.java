@@ -0,0 +1,49 @@
+package com.project.tycoon.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.project.tycoon.world.model.TrailDifficulty;
+import com.project.tycoon.world.model.WorldMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrailRegistryTest {
+
+    @Test
+    void testIdsAndLiveCounters() {
+        WorldMap map = new WorldMap(32, 32);
+        TrailRegistry registry = new TrailRegistry(map);
+
+        TrailRegistry.Trail trail = registry.registerTrail(
+                Arrays.asList(new Vector2(3, 4), new Vector2(3, 5)), TrailDifficulty.BLUE, null, null);
+
+        assertEquals(1, trail.getId());
+        assertEquals(1, registry.getTrailIdAt(3, 5));
+        assertEquals(TrailRegistry.NO_TRAIL, registry.getTrailIdAt(4, 5));
+        assertEquals(TrailRegistry.NO_TRAIL, registry.getTrailIdAt(-1, 5));
+
+        registry.setClock(0.1);
+        registry.onSkierEnter(1);
+        registry.onSkierEnter(1);
+        registry.onSkierExit(1);
+        assertEquals(1, trail.getCurrentSkiers());
+        assertEquals(0, registry.getRunsPerHour(1)); // Entering alone is not a run
+        registry.recordRun(1);
+        registry.recordRun(1);
+
+        registry.setClock(0.9);
+        registry.recordRun(1);
+        assertEquals(3, registry.getRunsPerHour(1));
+
+        // Runs older than an hour drop out of the window
+        registry.setClock(1.5);
+        assertEquals(1, registry.getRunsPerHour(1));
+
+        registry.recordSpeed(1, 4f);
+        assertEquals(4f, trail.getAverageSpeed(), 1e-6);
+        registry.recordSpeed(1, 8f);
+        assertTrue(trail.getAverageSpeed() > 4f && trail.getAverageSpeed() < 8f);
+    }
+}
@@ -1,7 +1,10 @@
 package com.project.tycoon.world;
 
+import com.project.tycoon.world.model.Decoration;
+import com.project.tycoon.world.model.DirtyRegion;
 import com.project.tycoon.world.model.TerrainType;
 import com.project.tycoon.world.model.Tile;
+import com.project.tycoon.world.model.TrailDifficulty;
 import com.project.tycoon.world.model.WorldMap;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -48,5 +51,118 @@ class WorldMapTest {
         assertEquals(3, t2.getHeight());
         assertEquals(TerrainType.SNOW, t2.getType());
     }
-}
 
+    @Test
+    void testDirectAccessorsAndTileViews() {
+        WorldMap map = new WorldMap(10, 10);
+
+        // Standalone tiles are copied into the map
+        Tile standalone = new Tile(TerrainType.ROCK, 42);
+        standalone.setDecoration(Decoration.TREE);
+        map.setTile(3, 4, standalone);
+
+        assertEquals(42, map.getHeight(3, 4));
+        assertEquals(TerrainType.ROCK, map.getTerrainType(3, 4));
+        assertEquals(Decoration.TREE, map.getDecoration(3, 4));
+
+        // Trail flag and difficulty share a packed byte but are independent
+        Tile view = map.getTile(3, 4);
+        view.setTrailDifficulty(TrailDifficulty.DOUBLE_BLACK);
+        assertFalse(map.isTrail(3, 4));
+        view.setTrail(true);
+        assertTrue(map.isTrail(3, 4));
+        assertEquals(TrailDifficulty.DOUBLE_BLACK, map.getTrailDifficulty(3, 4));
+        view.setTrail(false);
+        assertEquals(TrailDifficulty.DOUBLE_BLACK, map.getTrailDifficulty(3, 4));
+
+        // Neighbours untouched
+        assertEquals(0, map.getHeight(4, 4));
+        assertFalse(map.isTrail(2, 4));
+    }
+
+    @Test
+    void testChangeLogPerConsumer() {
+        WorldMap map = new WorldMap(100, 100);
+
+        // A consumer that never built gets the full map
+        DirtyRegion initial = map.getChangesSince(-1, WorldMap.CHANGE_ALL);
+        assertNotNull(initial);
+        assertEquals(99, initial.maxX);
+
+        long rendererVersion = map.getVersion();
+        long trailVersion = map.getVersion();
+        assertNull(map.getChangesSince(rendererVersion, WorldMap.CHANGE_ALL));
+
+        map.setTileHeight(10, 20, 5);
+        map.setTrail(12, 21, true);
+
+        // Trail consumers only see the trail edit
+        DirtyRegion trails = map.getChangesSince(trailVersion, WorldMap.CHANGE_TRAIL);
+        assertNotNull(trails);
+        assertTrue(trails.contains(12, 21));
+        assertFalse(trails.contains(10, 20));
+
+        // Consumers keep independent cursors
+        DirtyRegion all = map.getChangesSince(rendererVersion, WorldMap.CHANGE_ALL);
+        assertTrue(all.contains(10, 20));
+        assertTrue(all.contains(12, 21));
+        rendererVersion = map.getVersion();
+        assertNull(map.getChangesSince(rendererVersion, WorldMap.CHANGE_ALL));
+        assertNotNull(map.getChangesSince(trailVersion, WorldMap.CHANGE_TRAIL));
+
+        // Setting a detached tile with identical data logs nothing
+        Tile copy = new Tile(map.getTerrainType(50, 50), map.getHeight(50, 50));
+        map.setTile(50, 50, copy);
+        assertNull(map.getChangesSince(rendererVersion, WorldMap.CHANGE_ALL));
+    }
+
+    @Test
+    void testChunkedStorageIsLazy() {
+        WorldMap map = new WorldMap(4096, 4096);
+        assertEquals(0, map.getAllocatedChunkCount());
+        assertEquals(TerrainType.GRASS, map.getTerrainType(4095, 4095));
+
+        // Writes allocate only the touched chunk, and only the touched layer
+        map.setTileHeight(63, 64, 7);
+        map.setTileHeight(64, 64, 8);
+        assertEquals(2, map.getAllocatedChunkCount());
+        assertEquals(7, map.getHeight(63, 64));
+        assertEquals(8, map.getHeight(64, 64));
+        assertEquals(0, map.getHeight(64, 63));
+        assertEquals(2L * 64 * 64 * 2, map.getAllocatedLayerBytes());
+
+        map.setTrail(100, 100, true);
+        assertTrue(map.hasTrailsInChunk(1, 1));
+        assertFalse(map.hasTrailsInChunk(0, 1));
+
+        // Reverting to defaults lets compaction drop the chunks again
+        map.setTileHeight(63, 64, 0);
+        map.setTileHeight(64, 64, 0);
+        map.setTrail(100, 100, false);
+        map.compact();
+        assertEquals(0, map.getAllocatedChunkCount());
+
+        // Base location is derived from the map size
+        assertEquals(2048, map.getBaseX());
+        assertTrue(map.getBaseZ() > 4000);
+    }
+
+    @Test
+    void testMaxHeightFollowsLoggedHeights() {
+        WorldMap map = new WorldMap(128, 128);
+        assertEquals(0, map.getMaxHeight());
+
+        map.setTileHeight(10, 10, 140);
+        assertEquals(140, map.getMaxHeight());
+
+        // Bulk writes count once they are logged
+        map.getTile(70, 70).setHeight(200);
+        assertEquals(140, map.getMaxHeight());
+        map.markChanged(64, 64, 127, 127, WorldMap.CHANGE_HEIGHT);
+        assertEquals(200, map.getMaxHeight());
+
+        // Still an upper bound after the peak is lowered
+        map.setTileHeight(70, 70, 5);
+        assertEquals(200, map.getMaxHeight());
+    }
+}